@@ -0,0 +1,66 @@
+package kexamprint.bench;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kexamprint.model.QuestionAssignment;
+import kexamprint.model.TaramaQuestion;
+import kexamprint.model.WrittenExamAnnouncement;
+import kexamprint.service.QuestionAssignmentService;
+
+/**
+ * QuestionAssignmentService throughput: one op assigns one room session;
+ * the assignments counter gives students/sec
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AssignmentBenchmark {
+
+    @Param({ "30", "300" })
+    public int students;
+
+    @Param({ "4", "40" })
+    public int questions;
+
+    private QuestionAssignmentService service;
+    private List<WrittenExamAnnouncement> announcements;
+    private List<TaramaQuestion> available;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Assignments {
+        public long assignments;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            assignments = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        BenchData.quiet();
+        service = new QuestionAssignmentService();
+        announcements = BenchData.announcements(students);
+        available = BenchData.questions(questions);
+    }
+
+    @Benchmark
+    public List<QuestionAssignment> assignSession(Assignments counter) {
+        List<QuestionAssignment> assignments = service.assignQuestionsForSession(announcements, available);
+        counter.assignments += assignments.size();
+        return assignments;
+    }
+}
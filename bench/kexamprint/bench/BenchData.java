@@ -0,0 +1,146 @@
+package kexamprint.bench;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import kexamprint.model.ExamPaperData;
+import kexamprint.model.SignatureFormData;
+import kexamprint.model.StudentSeatInfo;
+import kexamprint.model.TaramaQuestion;
+import kexamprint.model.WrittenExamAnnouncement;
+
+/**
+ * Synthetic benchmark inputs shaped like a real exam day: question scans at
+ * 150 dpi page width, 30-seat room sessions, Uzbek names and codes
+ */
+final class BenchData {
+
+    static final LocalDate EXAM_DATE = LocalDate.of(2025, 11, 15);
+
+    private BenchData() {
+    }
+
+    /**
+     * Question scan covering most of an A4 (1240 px) or A3 (1754 px) page
+     */
+    static File questionImage(File dir, int index, boolean a4) throws IOException {
+        int width = a4 ? 1240 : 1754;
+        int height = a4 ? 1400 : 2000;
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        g.setColor(Color.BLACK);
+        for (int y = 100; y < height - 100; y += 40) {
+            g.drawString("Savol " + index + " matni " + y, 100, y);
+            g.drawLine(100, y + 5, width - 100, y + 5);
+        }
+        g.dispose();
+        File file = new File(dir, "question-" + (a4 ? "a4-" : "a3-") + index + ".png");
+        ImageIO.write(img, "png", file);
+        return file;
+    }
+
+    /**
+     * One room session of papers, questions assigned round-robin
+     */
+    static List<ExamPaperData> papers(int seats, List<File> images, boolean a4, File outputDir) {
+        List<ExamPaperData> papers = new ArrayList<>();
+        for (int seat = 1; seat <= seats; seat++) {
+            ExamPaperData paper = new ExamPaperData();
+            paper.setExamCode("MAT101");
+            paper.setExamName("1-Oraliq nazorati");
+            paper.setLanguage("uz");
+            paper.setQuestionId(String.valueOf(100000 + seat * 37));
+            paper.setCourseName("Oliy matematika");
+            paper.setBuilding("A");
+            paper.setRoomNumber("101");
+            paper.setSeatNumber(seat);
+            paper.setExamDate(EXAM_DATE);
+            paper.setDayOfWeekUz("Shanba");
+            paper.setTimeSlot("09:00-11:00");
+            paper.setCurriculumInfo("Matematika / kunduzi");
+            paper.setExamType(a4 ? "normal" : "drawing");
+            paper.setExamImagePath(images.get(seat % images.size()).getPath());
+            paper.setOutputFolder(outputDir.getPath());
+            papers.add(paper);
+        }
+        return papers;
+    }
+
+    static SignatureFormData signatureForm(int students, File outputDir) {
+        SignatureFormData form = new SignatureFormData();
+        form.setExamName("1-Oraliq nazorati");
+        form.setBuilding("A");
+        form.setRoomNumber("101");
+        form.setExamDate(EXAM_DATE);
+        form.setDayOfWeekUz("Shanba");
+        form.setTimeSlot("09:00-11:00");
+        form.setOutputFolder(outputDir.getPath());
+        for (int seat = 1; seat <= students; seat++) {
+            form.addStudent(new StudentSeatInfo(seat, String.valueOf(2400000 + seat),
+                "Talaba" + seat, "Familiyaev", "Matematika-" + (seat % 3 + 1)));
+        }
+        return form;
+    }
+
+    static List<WrittenExamAnnouncement> announcements(int students) {
+        List<WrittenExamAnnouncement> announcements = new ArrayList<>();
+        for (int seat = 1; seat <= students; seat++) {
+            WrittenExamAnnouncement announcement = new WrittenExamAnnouncement();
+            announcement.setId(seat);
+            announcement.setDay(1);
+            announcement.setSeatNo(seat);
+            announcement.setSessionKey("1-101-09:00");
+            announcement.setExamCode("MAT101");
+            announcement.setExamName("1-Oraliq nazorati");
+            announcement.setCurriculumLanguage("uz");
+            announcement.setStudentId(2400000 + seat);
+            announcement.setStudentName("Talaba" + seat);
+            announcement.setStudentSurname("Familiyaev");
+            announcement.setRoom("101");
+            announcement.setStartTime(LocalTime.of(9, 0));
+            announcement.setEndTime(LocalTime.of(11, 0));
+            announcements.add(announcement);
+        }
+        return announcements;
+    }
+
+    /**
+     * Questions of one exam/language; each question id has two images
+     */
+    static List<TaramaQuestion> questions(int count) {
+        List<TaramaQuestion> questions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            for (int image = 0; image < 2; image++) {
+                TaramaQuestion question = new TaramaQuestion();
+                question.setId("Q" + (1000 + i));
+                question.setRealId(500000 + i * 2 + image);
+                question.setImagePath("MAT101/uz/q" + i + "-" + image + ".png");
+                question.setExamCode("MAT101");
+                question.setLanguage("uz");
+                questions.add(question);
+            }
+        }
+        return questions;
+    }
+
+    /**
+     * Silences System.out in the benchmark JVM (the printers log every
+     * document); JMH reports through its own channel
+     */
+    static void quiet() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+}
@@ -0,0 +1,127 @@
+package kexamprint.bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares two JMH CSV result files benchmark by benchmark
+ *
+ * Usage:
+ *   java kexamprint.bench.BenchmarkCompare baseline.csv current.csv
+ *
+ * A change is marked significant ("*") when the scores differ by more than
+ * the sum of their 99.9% error margins.
+ */
+public class BenchmarkCompare {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkCompare <baseline.csv> <current.csv>");
+            System.exit(1);
+        }
+        print(Paths.get(args[0]), Paths.get(args[1]));
+    }
+
+    static void print(Path baselineFile, Path currentFile) throws IOException {
+        Map<String, Score> baseline = read(baselineFile);
+        Map<String, Score> current = read(currentFile);
+
+        System.out.println("=== Compared with " + baselineFile + " ===");
+        System.out.println(String.format("%-70s %14s %14s %9s  %s", "Benchmark", "Baseline", "Current", "Change",
+            "Unit"));
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.println(String.format("%-70s %14s %14.3f %9s  %s", entry.getKey(), "-", now.score,
+                    "new", now.unit));
+                continue;
+            }
+            double change = before.score == 0 ? 0 : (now.score - before.score) / before.score * 100;
+            boolean significant = Math.abs(now.score - before.score) > before.error + now.error;
+            System.out.println(String.format("%-70s %14.3f %14.3f %+8.1f%%%s %s", entry.getKey(), before.score,
+                now.score, change, significant ? "*" : " ", now.unit));
+        }
+        long notRun = baseline.keySet().stream().filter(key -> !current.containsKey(key)).count();
+        if (notRun > 0) {
+            System.out.println(notRun + " baseline results not in this run");
+        }
+    }
+
+    /**
+     * Reads a JMH CSV result file, keyed by benchmark name plus parameters
+     */
+    static Map<String, Score> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        Map<String, Score> scores = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return scores;
+        }
+        List<String> header = split(lines.get(0));
+        int benchmark = header.indexOf("Benchmark");
+        int score = header.indexOf("Score");
+        int error = header.indexOf("Score Error (99.9%)");
+        int unit = header.indexOf("Unit");
+        for (String line : lines.subList(1, lines.size())) {
+            List<String> fields = split(line);
+            if (fields.size() < header.size()) {
+                continue;
+            }
+            StringBuilder key = new StringBuilder(fields.get(benchmark).replace("kexamprint.bench.", ""));
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).startsWith("Param: ") && !fields.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).substring(7)).append('=').append(fields.get(i));
+                }
+            }
+            scores.put(key.toString(), new Score(parse(fields.get(score)), parse(fields.get(error)),
+                fields.get(unit)));
+        }
+        return scores;
+    }
+
+    private static double parse(String value) {
+        try {
+            double number = Double.parseDouble(value);
+            return Double.isNaN(number) ? 0 : number; // NaN error for single-iteration runs
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (char c : line.toCharArray()) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static class Score {
+        final double score;
+        final double error;
+        final String unit;
+
+        Score(double score, double error, String unit) {
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+        }
+    }
+}
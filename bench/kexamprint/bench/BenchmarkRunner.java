@@ -0,0 +1,67 @@
+package kexamprint.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the JMH benchmarks and keeps the results comparable
+ *
+ * Usage:
+ *   mvn -Pbench compile exec:exec@bench -Dbench.args="[jmh options] [-baseline file] [-save-baseline]"
+ *
+ * Every run writes bench-results/&lt;timestamp&gt;.csv (JMH CSV format) and is
+ * compared against bench-results/baseline.csv (or -baseline file) when it
+ * exists. -save-baseline makes the run the new baseline. Other arguments
+ * are JMH options, e.g. "ExamPaper -f 1 -wi 2 -i 3".
+ */
+public class BenchmarkRunner {
+
+    private static final Path RESULTS_DIR = Paths.get("bench-results");
+
+    public static void main(String[] args) throws Exception {
+        Path baseline = RESULTS_DIR.resolve("baseline.csv");
+        boolean saveBaseline = false;
+        List<String> jmhArgs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("-baseline".equals(args[i]) && i + 1 < args.length) {
+                baseline = Paths.get(args[++i]);
+            } else if ("-save-baseline".equals(args[i])) {
+                saveBaseline = true;
+            } else {
+                jmhArgs.add(args[i]);
+            }
+        }
+
+        Files.createDirectories(RESULTS_DIR);
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path result = RESULTS_DIR.resolve(stamp + ".csv");
+
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(jmhArgs.toArray(new String[0])))
+            .resultFormat(ResultFormatType.CSV)
+            .result(result.toString())
+            .build();
+        new Runner(options).run();
+        System.out.println("Results written to " + result);
+
+        if (saveBaseline) {
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Saved as baseline " + baseline);
+        } else if (Files.exists(baseline)) {
+            System.out.println();
+            BenchmarkCompare.print(baseline, result);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package kexamprint.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kexamprint.db.CopyAnnouncementReader;
+import kexamprint.db.JdbcWrittenExamRepository;
+import kexamprint.db.WrittenExamRepository;
+import kexamprint.model.WrittenExamAnnouncement;
+
+/**
+ * Written announcements through binary COPY decoding versus the
+ * repository's ResultSet mapping, over the same rows; one op reads them
+ * all and the rows counter gives rows/sec
+ *
+ * Both paths read from memory: the COPY path decodes a prepared binary
+ * COPY stream, the ResultSet path maps a StubDatabase result whose values
+ * are already Java objects. The stub leaves out the driver's own text and
+ * time decoding, so the gap against a real server is larger than shown.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CopyReaderBenchmark {
+
+    @Param({ "100000", "1000000" })
+    public int rows;
+
+    private byte[] copyData;
+    private WrittenExamRepository writtenRepo;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        BenchData.quiet();
+        Object[][] data = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            data[i] = new Object[] {
+                i, 1 + i / 30 / 120 % 6, 1 + i % 30, "1-" + (100 + i / 30) + "-09:00", "MAT101",
+                "1-Oraliq nazorati", null, "uz", 2400000 + i, "Talaba" + i, "Familiyaev",
+                "2025-11-15", "Shanba", Time.valueOf("09:00:00"), Time.valueOf("11:00:00"),
+                String.valueOf(100 + i / 30), "auditoriya", "A", "Matematika", "kunduzi", i % 200 == 0 };
+        }
+        writtenRepo = new JdbcWrittenExamRepository(new StubDatabase(new String[] {
+            "id", "day", "seat_no", "session_key", "exam_code", "exam_name", "variant",
+            "curriculum_language", "student_id", "student_name", "student_surname",
+            "exam_date", "day_name", "start_time", "end_time",
+            "room", "room_type", "building", "program_name", "education_type", "has_disability" }, data));
+        copyData = encode(data);
+    }
+
+    @Benchmark
+    public List<WrittenExamAnnouncement> resultSetMapping(Rows counter) throws Exception {
+        List<WrittenExamAnnouncement> result = writtenRepo.findAll();
+        counter.rows += result.size();
+        return result;
+    }
+
+    @Benchmark
+    public List<WrittenExamAnnouncement> binaryCopy(Rows counter) throws Exception {
+        List<WrittenExamAnnouncement> result = CopyAnnouncementReader.readWritten(new ByteArrayInputStream(copyData));
+        counter.rows += result.size();
+        return result;
+    }
+
+    /**
+     * The rows as PostgreSQL sends them for COPY ... TO STDOUT (FORMAT binary)
+     */
+    private static byte[] encode(Object[][] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length * 200);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(new byte[] { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 });
+        out.writeInt(0);
+        out.writeInt(0);
+        for (Object[] row : data) {
+            out.writeShort(row.length);
+            for (Object value : row) {
+                if (value == null) {
+                    out.writeInt(-1);
+                } else if (value instanceof Integer) {
+                    out.writeInt(4);
+                    out.writeInt((Integer) value);
+                } else if (value instanceof Boolean) {
+                    out.writeInt(1);
+                    out.writeByte((Boolean) value ? 1 : 0);
+                } else if (value instanceof Time) {
+                    LocalTime time = ((Time) value).toLocalTime();
+                    out.writeInt(8);
+                    out.writeLong(time.toNanoOfDay() / 1000);
+                } else {
+                    byte[] text = value.toString().getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(text.length);
+                    out.write(text);
+                }
+            }
+        }
+        out.writeShort(-1);
+        out.flush();
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,92 @@
+package kexamprint.bench;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import kexamprint.model.ExamPaperData;
+import kexamprint.printer.ExamPaperHeaderTemplate;
+import kexamprint.printer.ExamPaperPrinter;
+import kexamprint.printer.QuestionMasterPages;
+import kexamprint.util.RenderContext;
+
+/**
+ * ExamPaperPrinter throughput on A4 and A3 papers: one op renders one
+ * seat's paper to a discarding stream; the pages counter gives pages/sec
+ *
+ * "layout" builds the header table per paper, "template" reuses the
+ * session header template (pdf.header.template), "master" also stamps the
+ * question image from a shared master page (pdf.master.pages).
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ExamPaperBenchmark {
+
+    @Param({ "A4", "A3" })
+    public String pageSize;
+
+    @Param({ "layout", "template", "master" })
+    public String header;
+
+    private List<ExamPaperData> papers;
+    private ExamPaperHeaderTemplate template;
+    private QuestionMasterPages masterPages;
+    private RenderContext context;
+    private int next;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Pages {
+        public long pages;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            pages = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchData.quiet();
+        boolean a4 = "A4".equals(pageSize);
+        File dir = Files.createTempDirectory("kprint-jmh").toFile();
+        List<File> images = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            images.add(BenchData.questionImage(dir, i, a4));
+        }
+        papers = BenchData.papers(30, images, a4, dir);
+        context = RenderContext.current();
+        template = "layout".equals(header) ? null : ExamPaperHeaderTemplate.build(papers.get(0));
+        masterPages = "master".equals(header) ? new QuestionMasterPages() : null;
+    }
+
+    @Benchmark
+    public void render(Pages pages) throws Exception {
+        ExamPaperData paper = papers.get(next++ % papers.size());
+        new ExamPaperPrinter(paper, context, template, masterPages) {
+            @Override
+            public void onEndPage(PdfWriter writer, Document document) {
+                super.onEndPage(writer, document);
+                pages.pages++;
+            }
+        }.render(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,51 @@
+package kexamprint.bench;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import kexamprint.model.ExamPaperData;
+
+/**
+ * ExamPaperData header string building: one op builds the four header
+ * lines and the file name of one paper
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class HeaderBenchmark {
+
+    private List<ExamPaperData> papers;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        papers = BenchData.papers(30, Collections.singletonList(new File("question.png")), true,
+            new File("out"));
+    }
+
+    @Benchmark
+    public void headerLines(Blackhole blackhole) {
+        ExamPaperData paper = papers.get(next++ % papers.size());
+        blackhole.consume(paper.getHeaderLine1());
+        blackhole.consume(paper.getHeaderLine2());
+        blackhole.consume(paper.getHeaderLine3());
+        blackhole.consume(paper.getHeaderLine4());
+        blackhole.consume(paper.getFileName());
+    }
+
+    @Benchmark
+    public String sessionHeaderKey() {
+        return papers.get(next++ % papers.size()).getSessionHeaderKey();
+    }
+}
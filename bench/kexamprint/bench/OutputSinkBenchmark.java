@@ -0,0 +1,91 @@
+package kexamprint.bench;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kexamprint.model.ExamPaperData;
+import kexamprint.output.FileChannelSink;
+import kexamprint.output.MemorySink;
+import kexamprint.output.OutputSink;
+import kexamprint.printer.ExamPaperHeaderTemplate;
+import kexamprint.printer.ExamPaperPrinter;
+import kexamprint.util.RenderContext;
+
+/**
+ * Writing rendered papers out: one op renders one A4 paper (session header
+ * template) into its file through the sink
+ *
+ * "unbuffered" is the old path, a mkdirs and raw FileOutputStream per
+ * paper; "file" and "atomic" are FileChannelSink without and with the
+ * temp file, forced to disk and renamed (output.fsync off); "memory"
+ * keeps the bytes.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OutputSinkBenchmark {
+
+    @Param({ "unbuffered", "file", "atomic", "memory" })
+    public String sink;
+
+    private List<ExamPaperData> papers;
+    private ExamPaperHeaderTemplate template;
+    private RenderContext context;
+    private OutputSink outputSink;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchData.quiet();
+        File dir = Files.createTempDirectory("kprint-jmh").toFile();
+        List<File> images = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            images.add(BenchData.questionImage(dir, i, true));
+        }
+        papers = BenchData.papers(30, images, true, new File(dir, "out"));
+        template = ExamPaperHeaderTemplate.build(papers.get(0));
+        context = RenderContext.current();
+        if ("memory".equals(sink)) {
+            outputSink = new MemorySink();
+        } else if (!"unbuffered".equals(sink)) {
+            outputSink = new FileChannelSink("atomic".equals(sink), 64 * 1024, false);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clearMemory() {
+        if (outputSink instanceof MemorySink) {
+            ((MemorySink) outputSink).clear();
+        }
+    }
+
+    @Benchmark
+    public void render() throws Exception {
+        ExamPaperData paper = papers.get(next++ % papers.size());
+        ExamPaperPrinter printer = new ExamPaperPrinter(paper, context, template);
+        if (outputSink != null) {
+            printer.render(outputSink);
+            return;
+        }
+        File folder = new File(paper.getOutputFolder());
+        folder.mkdirs();
+        try (OutputStream out = new FileOutputStream(new File(folder, paper.getFileName()))) {
+            printer.render(out);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package kexamprint.bench;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kexamprint.model.ExamPaperData;
+import kexamprint.model.SignatureFormData;
+import kexamprint.printer.DirectExamPaperPrinter;
+import kexamprint.printer.DirectSignatureFormPrinter;
+import kexamprint.render.RenderBackend;
+import kexamprint.util.RenderContext;
+
+/**
+ * Direct render engine on each backend: one op renders one A4 paper or one
+ * 30-student signature form to a counting stream
+ *
+ * The bytes counter divided by ops gives the output size per document;
+ * run with -prof gc to compare allocation per document.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RenderBackendBenchmark {
+
+    @Param({ RenderBackend.ITEXT, RenderBackend.PDFBOX })
+    public String backend;
+
+    @Param({ "paper", "form" })
+    public String document;
+
+    private RenderBackend renderBackend;
+    private List<ExamPaperData> papers;
+    private SignatureFormData form;
+    private RenderContext context;
+    private int next;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Bytes {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchData.quiet();
+        File dir = Files.createTempDirectory("kprint-jmh").toFile();
+        List<File> images = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            images.add(BenchData.questionImage(dir, i, true));
+        }
+        papers = BenchData.papers(30, images, true, dir);
+        form = BenchData.signatureForm(30, dir);
+        context = RenderContext.current();
+        renderBackend = RenderBackend.forName(backend);
+    }
+
+    @Benchmark
+    public void render(Bytes counter) throws Exception {
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                counter.bytes++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                counter.bytes += len;
+            }
+        };
+        if ("paper".equals(document)) {
+            new DirectExamPaperPrinter(papers.get(next++ % papers.size()), context, renderBackend).render(out);
+        } else {
+            new DirectSignatureFormPrinter(form, context, renderBackend).render(out);
+        }
+    }
+}
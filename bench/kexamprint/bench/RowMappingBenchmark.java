@@ -0,0 +1,112 @@
+package kexamprint.bench;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kexamprint.db.JdbcQuestionAssignmentRepository;
+import kexamprint.db.JdbcTaramaRepository;
+import kexamprint.db.JdbcWrittenExamRepository;
+import kexamprint.db.QuestionAssignmentRepository;
+import kexamprint.db.TaramaRepository;
+import kexamprint.db.WrittenExamRepository;
+import kexamprint.model.QuestionAssignment;
+import kexamprint.model.TaramaQuestion;
+import kexamprint.model.WrittenExamAnnouncement;
+
+/**
+ * Repository row mapping on a stub ResultSet: one op runs findAll() over
+ * the given number of rows; the rows counter gives rows/sec (100000 rows
+ * for a large result set, where per-row column lookups dominate)
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RowMappingBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int rows;
+
+    private WrittenExamRepository writtenRepo;
+    private TaramaRepository taramaRepo;
+    private QuestionAssignmentRepository assignmentRepo;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rows {
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        BenchData.quiet();
+        writtenRepo = new JdbcWrittenExamRepository(new StubDatabase(new String[] {
+            "id", "day", "seat_no", "session_key", "exam_code", "exam_name", "variant",
+            "curriculum_language", "student_id", "student_name", "student_surname",
+            "exam_date", "day_name", "start_time", "end_time",
+            "room", "room_type", "building", "program_name", "education_type", "has_disability" },
+            rows(i -> new Object[] {
+                i, 1 + i % 6, 1 + i % 30, "1-" + (100 + i / 30) + "-09:00", "MAT101", "1-Oraliq nazorati", null,
+                "uz", 2400000 + i, "Talaba" + i, "Familiyaev",
+                "2025-11-15", "Shanba", Time.valueOf("09:00:00"), Time.valueOf("11:00:00"),
+                String.valueOf(100 + i / 30), "auditoriya", "A", "Matematika", "kunduzi", false })));
+        taramaRepo = new JdbcTaramaRepository(new StubDatabase(new String[] {
+            "id", "real_id", "images", "derskodu", "dersdili" },
+            rows(i -> new Object[] { "Q" + (1000 + i / 2), 500000 + i, "MAT101/uz/q" + i + ".png", "MAT101", "uz" })));
+        assignmentRepo = new JdbcQuestionAssignmentRepository(new StubDatabase(new String[] {
+            "id", "placement_id", "student_id", "room_code", "exam_code", "curriculum_language",
+            "tarama_question_id", "question_id", "paper_code", "session_key", "assigned_at" },
+            rows(i -> new Object[] {
+                i, i, 2400000 + i, "A-" + (100 + i / 30), "MAT101", "uz",
+                "Q" + (1000 + i % 40), 500000 + i % 80, 202511150000L + i, "1-" + (100 + i / 30) + "-09:00",
+                Timestamp.valueOf(LocalDateTime.of(2025, 11, 1, 12, 0)) })));
+    }
+
+    private Object[][] rows(IntFunction<Object[]> row) {
+        Object[][] data = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            data[i] = row.apply(i);
+        }
+        return data;
+    }
+
+    @Benchmark
+    public List<WrittenExamAnnouncement> writtenExams(Rows counter) throws Exception {
+        List<WrittenExamAnnouncement> result = writtenRepo.findAll();
+        counter.rows += result.size();
+        return result;
+    }
+
+    @Benchmark
+    public List<TaramaQuestion> questions(Rows counter) throws Exception {
+        List<TaramaQuestion> result = taramaRepo.findAll();
+        counter.rows += result.size();
+        return result;
+    }
+
+    @Benchmark
+    public List<QuestionAssignment> assignments(Rows counter) throws Exception {
+        List<QuestionAssignment> result = assignmentRepo.findAll();
+        counter.rows += result.size();
+        return result;
+    }
+}
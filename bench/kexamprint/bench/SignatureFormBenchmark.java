@@ -0,0 +1,72 @@
+package kexamprint.bench;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import kexamprint.model.SignatureFormData;
+import kexamprint.printer.SignatureFormPrinter;
+import kexamprint.util.RenderContext;
+
+/**
+ * SignatureFormPrinter throughput: one op renders one room's form
+ *
+ * Forms are always A4, so the parameter is the room size instead (30
+ * students fit one page, 120 run over four).
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SignatureFormBenchmark {
+
+    @Param({ "30", "120" })
+    public int students;
+
+    private SignatureFormData form;
+    private RenderContext context;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Pages {
+        public long pages;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            pages = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchData.quiet();
+        File dir = Files.createTempDirectory("kprint-jmh").toFile();
+        form = BenchData.signatureForm(students, dir);
+        context = RenderContext.current();
+    }
+
+    @Benchmark
+    public void render(Pages pages) throws Exception {
+        new SignatureFormPrinter(form, context) {
+            @Override
+            public void onEndPage(PdfWriter writer, Document document) {
+                super.onEndPage(writer, document);
+                pages.pages++;
+            }
+        }.render(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,105 @@
+package kexamprint.bench;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import kexamprint.db.DatabaseConfig;
+
+/**
+ * DatabaseConfig whose connections answer every query with the same
+ * in-memory rows, so repository methods run their row mapping without a
+ * server
+ *
+ * Columns are read by 1-based index or looked up by label through a hash
+ * map, like the PostgreSQL driver's findColumn.
+ */
+class StubDatabase extends DatabaseConfig {
+
+    private final String[] columns;
+    private final Object[][] rows;
+
+    StubDatabase(String[] columns, Object[][] rows) {
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    @Override
+    public Connection getConnection() {
+        return proxy(Connection.class, (method, args) -> {
+            if (method.equals("prepareStatement") || method.equals("createStatement")) {
+                return statement();
+            }
+            return null;
+        });
+    }
+
+    private PreparedStatement statement() {
+        return proxy(PreparedStatement.class, (method, args) -> {
+            if (method.equals("executeQuery")) {
+                return resultSet();
+            }
+            return method.equals("executeUpdate") ? 0 : null;
+        });
+    }
+
+    private ResultSet resultSet() {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < columns.length; i++) {
+            index.put(columns[i], i);
+        }
+        return proxy(ResultSet.class, new Handler() {
+            int row = -1;
+            boolean wasNull;
+
+            @Override
+            public Object invoke(String method, Object[] args) throws SQLException {
+                switch (method) {
+                case "next":
+                    return ++row < rows.length;
+                case "wasNull":
+                    return wasNull;
+                case "close":
+                    return null;
+                default:
+                    break;
+                }
+                Integer column = args[0] instanceof Integer
+                    ? (Integer) args[0] - 1 : index.get(String.valueOf(args[0]));
+                if (column == null || column < 0 || column >= columns.length) {
+                    throw new SQLException("Unknown column " + args[0]);
+                }
+                if (method.equals("findColumn")) {
+                    return column + 1;
+                }
+                Object value = rows[row][column];
+                wasNull = value == null;
+                switch (method) {
+                case "getInt":
+                    return value == null ? 0 : ((Number) value).intValue();
+                case "getLong":
+                    return value == null ? 0L : ((Number) value).longValue();
+                case "getBoolean":
+                    return value != null && (Boolean) value;
+                case "getString":
+                    return value == null ? null : value.toString();
+                default:
+                    return value;
+                }
+            }
+        });
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args) throws SQLException;
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(StubDatabase.class.getClassLoader(), new Class<?>[] { type },
+            (proxy, method, args) -> handler.invoke(method.getName(), args)));
+    }
+}
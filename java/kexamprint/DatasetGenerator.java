@@ -0,0 +1,63 @@
+package kexamprint;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import kexamprint.dataset.DatasetSpec;
+import kexamprint.dataset.DatasetWriter;
+import kexamprint.dataset.QuestionScans;
+import kexamprint.dataset.SyntheticDataset;
+
+/**
+ * Generates a synthetic exam term for load testing (no database needed)
+ *
+ * Usage:
+ *   java kexamprint.DatasetGenerator outputDir [name=value ...] [noimages]
+ *
+ * Parameters (see DatasetSpec): days, sessions, rooms, seats, exams,
+ * examsPerRoom, questions, images, oral, drawing, jpeg, assigned, dpi,
+ * seed. E.g. "days=10 sessions=4 rooms=420" gives ~500k seats.
+ *
+ * Writes the table CSVs with schema.sql/load.sql (psql -f schema.sql -f
+ * load.sql from outputDir) and the question scans into outputDir/images;
+ * point exam.images.dir there to print the dataset.
+ */
+public class DatasetGenerator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: DatasetGenerator <outputDir> [name=value ...] [noimages]");
+            System.exit(1);
+        }
+        Path dir = Paths.get(args[0]);
+        DatasetSpec spec = new DatasetSpec();
+        boolean images = true;
+        for (int i = 1; i < args.length; i++) {
+            if ("noimages".equals(args[i])) {
+                images = false;
+            } else {
+                spec.set(args[i]);
+            }
+        }
+
+        System.out.println("=== Synthetic Dataset ===");
+        System.out.println(spec);
+        long start = System.nanoTime();
+        SyntheticDataset dataset = SyntheticDataset.generate(spec);
+        System.out.println(String.format("Generated %d written seats, %d oral students, %d question rows, "
+            + "%d assignments (%.1fs)", dataset.getWrittenAnnouncements().size(),
+            dataset.getOralAnnouncements().size(), dataset.getQuestions().size(),
+            dataset.getAssignments().size(), (System.nanoTime() - start) / 1e9));
+
+        start = System.nanoTime();
+        new DatasetWriter().write(dataset, dir);
+        System.out.println(String.format("CSV and SQL written to %s (%.1fs)", dir, (System.nanoTime() - start) / 1e9));
+
+        if (images) {
+            start = System.nanoTime();
+            int count = new QuestionScans(spec.getDpi()).writeAll(dataset, dir.resolve("images"));
+            System.out.println(String.format("%d question scans written to %s (%.1fs)", count,
+                dir.resolve("images"), (System.nanoTime() - start) / 1e9));
+        }
+    }
+}
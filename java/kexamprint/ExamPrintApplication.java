@@ -1,13 +1,30 @@
 package kexamprint;
 
+import kexamprint.daemon.PrintDaemon;
+import kexamprint.dataset.DatasetSpec;
+import kexamprint.dataset.SyntheticDataset;
 import kexamprint.db.*;
+import kexamprint.metrics.FlightRecording;
+import kexamprint.metrics.Metrics;
 import kexamprint.model.*;
 import kexamprint.service.*;
+import kexamprint.util.IntMap;
+import kexamprint.util.Logging;
 import kexamprint.util.ResourceLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.sql.SQLException;
+import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 /**
  * Main application for generating exam papers and signature forms
@@ -25,9 +42,40 @@ import java.util.*;
  *    - Generate PDFs for specified days only
  *    - Uses existing assignments from database
  *    - Controlled by DAYS_TO_PRINT constant
+ *    - Journals each finished room session; an interrupted run resumes
+ *      from the first unfinished one
+ *
+ * 3. RETRY MODE:
+ *    - Re-renders only the papers/forms the print journal lists as failed
+ *
+ * 4. REPRINT MODE:
+ *    - Re-renders one paper (by seat, student or paper code) or room
+ *      session, found through the reprint index the print run writes
+ *
+ * 5. WATCH MODE:
+ *    - Watches exam.images.dir and re-renders only the papers whose
+ *      question image changed (debounced, coalesced per batch)
+ *
+ * 6. DELTA MODE:
+ *    - After announcements were edited: compares each paper (announcement
+ *      row + assignment) and signature form (room session student set)
+ *      with the state of the last print run
+ *    - Re-renders only what changed and writes the list of sheets to
+ *      physically reprint or discard
+ *
+ * 7. MIGRATE MODE:
+ *    - Applies the versioned index migrations of kexamprint/sql/migrations
+ *
+ * 8. DAEMON MODE:
+ *    - Loads the data once and keeps it, the assignment index and the
+ *      render caches warm
+ *    - Renders a seat, room session or day on request (PrintDaemon HTTP
+ *      API on localhost), for reprints without a JVM start or full load
  */
 public class ExamPrintApplication {
 
+    private static final Logger log = LogManager.getLogger(ExamPrintApplication.class);
+
     // Configuration: Which days to generate PDFs for
     private static final int[] DAYS_TO_PRINT = {6}; // Modify this as needed
 //    private static final int[] DAYS_TO_PRINT = {1, 2, 3}; // Modify this as needed
@@ -36,7 +84,13 @@ public class ExamPrintApplication {
     // Operation mode
     public enum Mode {
         ASSIGN,    // Assign questions to students
-        PRINT      // Generate PDFs for specified days
+        PRINT,     // Generate PDFs for specified days
+        RETRY,     // Re-render failed PDFs from the print journal
+        DAEMON,    // Keep data warm and render on request over local HTTP
+        REPRINT,   // Re-render one seat, student, paper code or room session
+        WATCH,     // Re-render papers whose question image changes
+        DELTA,     // Re-render papers and forms whose data changed since the last print
+        MIGRATE    // Apply the schema index migrations
     }
 
     private final DatabaseConfig dbConfig;
@@ -52,14 +106,30 @@ public class ExamPrintApplication {
 
     private String outputDir;
     private Mode mode = Mode.PRINT; // Default mode
+    private boolean cachedRepositories;
+    private final Map<String, String> reprintSelector = new HashMap<>();
 
     public ExamPrintApplication() {
-        // Initialize database
-        this.dbConfig = new DatabaseConfig();
-        this.writtenExamRepo = new WrittenExamRepository(dbConfig);
-        this.oralExamRepo = new OralExamRepository(dbConfig);
-        this.taramaRepo = new TaramaRepository(dbConfig);
-        this.assignmentRepo = new QuestionAssignmentRepository(dbConfig);
+        this(new DatabaseConfig());
+    }
+
+    private ExamPrintApplication(DatabaseConfig dbConfig) {
+        this(dbConfig, new JdbcWrittenExamRepository(dbConfig), new JdbcOralExamRepository(dbConfig),
+            new JdbcTaramaRepository(dbConfig), new JdbcQuestionAssignmentRepository(dbConfig));
+    }
+
+    /**
+     * Runs on the given repositories; dbConfig is null for in-memory
+     * repositories, which skips the connection test
+     */
+    public ExamPrintApplication(DatabaseConfig dbConfig, WrittenExamRepository writtenExamRepo,
+            OralExamRepository oralExamRepo, TaramaRepository taramaRepo,
+            QuestionAssignmentRepository assignmentRepo) {
+        this.dbConfig = dbConfig;
+        this.writtenExamRepo = writtenExamRepo;
+        this.oralExamRepo = oralExamRepo;
+        this.taramaRepo = taramaRepo;
+        this.assignmentRepo = assignmentRepo;
 
         // Initialize services
         this.validationService = new ValidationService();
@@ -71,6 +141,57 @@ public class ExamPrintApplication {
         this.outputDir = ResourceLoader.getOutputBaseDir();
     }
 
+    /**
+     * Application on in-memory repositories holding a synthetic dataset (no
+     * database needed)
+     */
+    public static ExamPrintApplication forDataset(SyntheticDataset dataset) {
+        return new ExamPrintApplication(null,
+            new InMemoryWrittenExamRepository(dataset.getWrittenAnnouncements()),
+            new InMemoryOralExamRepository(dataset.getOralAnnouncements()),
+            new InMemoryTaramaRepository(dataset.getQuestions()),
+            new InMemoryQuestionAssignmentRepository(dataset.getAssignments(), dataset.getQuestions()));
+    }
+
+    /**
+     * Application on JDBC repositories behind read-through caches, which a
+     * TableChangeMonitor invalidates per table (LISTEN/NOTIFY, or polling
+     * for tables without the notify trigger)
+     */
+    private static ExamPrintApplication withRepositoryCache(DatabaseConfig dbConfig) {
+        TableChangeMonitor monitor = new TableChangeMonitor(dbConfig,
+            ResourceLoader.getConfigInt("repository.cache.poll.ms", 5000));
+        monitor.start();
+        ExamPrintApplication app = new ExamPrintApplication(dbConfig,
+            new CachingWrittenExamRepository(new JdbcWrittenExamRepository(dbConfig), monitor),
+            new CachingOralExamRepository(new JdbcOralExamRepository(dbConfig), monitor),
+            new CachingTaramaRepository(new JdbcTaramaRepository(dbConfig), monitor),
+            new CachingQuestionAssignmentRepository(new JdbcQuestionAssignmentRepository(dbConfig), monitor));
+        app.cachedRepositories = true;
+        return app;
+    }
+
+    /**
+     * Application for the configured data.source: the database, or a
+     * synthetic dataset generated from data.synthetic.spec
+     */
+    private static ExamPrintApplication create() {
+        if (!"synthetic".equals(ResourceLoader.getConfig("data.source", "database"))) {
+            if (Boolean.parseBoolean(ResourceLoader.getConfig("repository.cache", "false"))) {
+                return withRepositoryCache(new DatabaseConfig());
+            }
+            return new ExamPrintApplication();
+        }
+        DatasetSpec spec = new DatasetSpec();
+        for (String argument : ResourceLoader.getConfig("data.synthetic.spec", "").trim().split("\\s+")) {
+            if (!argument.isEmpty()) {
+                spec.set(argument);
+            }
+        }
+        System.out.println("Data source: synthetic dataset (" + spec + ")");
+        return forDataset(SyntheticDataset.generate(spec));
+    }
+
     /**
      * Main execution method - dispatches to appropriate mode
      */
@@ -79,16 +200,47 @@ public class ExamPrintApplication {
         System.out.println("Mode: " + mode);
         System.out.println();
 
+        FlightRecording recording = FlightRecording.startIfEnabled(outputDir);
+        try {
+            runMode();
+        } finally {
+            if (recording != null) {
+                recording.close();
+            }
+        }
+    }
+
+    private void runMode() throws Exception {
         // Test database connection
-        if (!testDatabaseConnection()) {
+        if (dbConfig != null && !testDatabaseConnection()) {
             System.err.println("ERROR: Database connection failed. Exiting.");
             return;
         }
+        if (dbConfig != null && mode != Mode.MIGRATE
+                && Boolean.parseBoolean(ResourceLoader.getConfig("db.plan.check", "true"))) {
+            checkQueryPlans();
+        }
 
         if (mode == Mode.ASSIGN) {
             runAssignmentMode();
         } else if (mode == Mode.PRINT) {
             runPrintMode();
+        } else if (mode == Mode.RETRY) {
+            runRetryMode();
+        } else if (mode == Mode.DAEMON) {
+            runDaemonMode();
+        } else if (mode == Mode.REPRINT) {
+            runReprintMode();
+        } else if (mode == Mode.WATCH) {
+            runWatchMode();
+        } else if (mode == Mode.DELTA) {
+            runDeltaMode();
+        } else if (mode == Mode.MIGRATE) {
+            runMigrateMode();
+        }
+
+        if (Boolean.parseBoolean(ResourceLoader.getConfig("metrics.dump", "true"))) {
+            Metrics.dump(outputDir);
         }
     }
 
@@ -249,38 +401,568 @@ public class ExamPrintApplication {
             daysToPrint.add(day);
         }
 
+        // Resume an interrupted run of the same job from its journal
+        PrintJournal journal = openJournal();
+        journal.begin(Arrays.toString(DAYS_TO_PRINT) + "|" + printService.getRenderSettings());
+        if (journal.isResumed()) {
+            System.out.println("  Resuming interrupted run: " + journal.getCompletedCount() +
+                " units already complete, " + journal.getFailures().size() + " failed");
+        }
+
         // Generate PDFs for specified days
         System.out.println("[Phase 2] Generating PDFs...");
         int successfulDays = 0;
 
-        for (Integer day : new TreeSet<>(dataByDay.keySet())) {
-            if (!daysToPrint.contains(day)) {
-                continue; // Skip days not in DAYS_TO_PRINT
-            }
+        try {
+            for (Integer day : new TreeSet<>(dataByDay.keySet())) {
+                if (!daysToPrint.contains(day)) {
+                    continue; // Skip days not in DAYS_TO_PRINT
+                }
 
-            DayData dayData = dataByDay.get(day);
-            System.out.println("=== Day " + day + " ===");
+                DayData dayData = dataByDay.get(day);
+                System.out.println("=== Day " + day + " ===");
+
+                // Validate before printing
+                ValidationResult validation = validateDay(dayData, day);
+//                if (!validation.isValid()) {
+//                    System.err.println("  Day " + day + " has validation errors:");
+//                    reportWriter.printSummary(validation);
+//                    System.err.println("  Skipping PDF generation for Day " + day);
+//                    System.out.println();
+//                    continue;
+//                }
+
+                // Generate PDFs
+                generatePDFsForDay(dayData, day, journal, null);
+                System.out.println("  Day " + day + " PDFs generated successfully");
+                System.out.println();
+                successfulDays++;
+            }
 
-            // Validate before printing
-            ValidationResult validation = validateDay(dayData, day);
-//            if (!validation.isValid()) {
-//                System.err.println("  Day " + day + " has validation errors:");
-//                reportWriter.printSummary(validation);
-//                System.err.println("  Skipping PDF generation for Day " + day);
-//                System.out.println();
-//                continue;
-//            }
-
-            // Generate PDFs
-            generatePDFsForDay(dayData, day);
-            System.out.println("  Day " + day + " PDFs generated successfully");
-            System.out.println();
-            successfulDays++;
+            journal.finish();
+        } finally {
+            // Not finished after an exception: the next run resumes
+            journal.close();
         }
 
         System.out.println("=== COMPLETE ===");
         System.out.println("PDFs generated for " + successfulDays + " days");
         System.out.println("Output directory: " + outputDir);
+        if (!journal.getFailures().isEmpty()) {
+            System.out.println(journal.getFailures().size() +
+                " PDFs failed; run: java ExamPrintApplication retry");
+        }
+    }
+
+    /**
+     * RETRY MODE: Re-render only the PDFs that failed in the last print run
+     */
+    private void runRetryMode() throws Exception {
+        System.out.println("[RETRY MODE] Re-rendering failed PDFs...");
+        PrintJournal journal = openJournal();
+        Set<String> failures = new HashSet<>(journal.getFailures());
+        if (failures.isEmpty()) {
+            System.out.println("No failed PDFs in the print journal.");
+            return;
+        }
+        System.out.println("  Failed PDFs in journal: " + failures.size());
+        System.out.println();
+
+        DataSnapshot data = loadData();
+        Map<Integer, DayData> dataByDay = groupDataByDay(data);
+
+        journal.beginRetry();
+        try {
+            for (int day : DAYS_TO_PRINT) {
+                DayData dayData = dataByDay.get(day);
+                if (dayData != null) {
+                    System.out.println("=== Day " + day + " ===");
+                    generatePDFsForDay(dayData, day, journal, failures);
+                }
+            }
+            journal.finishRetry();
+        } finally {
+            journal.close();
+        }
+
+        System.out.println("=== COMPLETE ===");
+        System.out.println("Still failing: " + journal.getFailures().size());
+    }
+
+    /**
+     * DAEMON MODE: Keep the data snapshot, assignment index and render caches
+     * in memory and render seats, room sessions or days on HTTP request
+     */
+    private void runDaemonMode() throws Exception {
+        System.out.println("[DAEMON MODE] Loading data...");
+        DaemonBackend backend = new DaemonBackend();
+        System.out.println("  " + backend.reload());
+        printService.setRetainCaches(true);
+
+        new PrintDaemon(backend, ResourceLoader.getConfigInt("daemon.port", 8765),
+            ResourceLoader.getConfig("daemon.token", "")).run();
+    }
+
+    /**
+     * Warm data of the daemon: everything generatePDFsForDay loads per run
+     */
+    private class DaemonBackend implements PrintDaemon.Backend {
+        private Map<Integer, DayData> dataByDay;
+        private Map<Integer, QuestionAssignment> assignmentsByAnnouncementId;
+        private Map<Integer, TaramaQuestion> questionsByRealId;
+        private String summary;
+
+        @Override
+        public String reload() throws Exception {
+            long start = System.nanoTime();
+            DataSnapshot data = loadData();
+            dataByDay = groupDataByDay(data);
+            assignmentsByAnnouncementId = loadAssignmentsByAnnouncementId();
+            questionsByRealId = indexQuestionsByRealId(data.allQuestions);
+            printService.clearCaches();
+            summary = String.format("%d days, %d written, %d oral, %d assignments, %d questions (loaded in %d ms)",
+                dataByDay.size(), data.writtenAnnouncements.size(), data.oralAnnouncements.size(),
+                assignmentsByAnnouncementId.size(), questionsByRealId.size(), (System.nanoTime() - start) / 1_000_000);
+            return summary;
+        }
+
+        @Override
+        public String status() {
+            return summary;
+        }
+
+        @Override
+        public PrintDaemon.Reprint render(int day, String room, String time, Integer seat) {
+            DayData dayData = dataByDay.get(day);
+            if (dayData == null) {
+                throw new IllegalArgumentException("No exams on day " + day);
+            }
+            String dayDir = outputDir + "/day-" + day;
+
+            List<ExamPaperData> papers = new ArrayList<>();
+            Map<Integer, WrittenExamAnnouncement> paperIdToAnnouncement = new HashMap<>();
+            for (WrittenExamAnnouncement announcement : dayData.writtenAnnouncements) {
+                if ((room == null || room.equals(announcement.getRoom()))
+                        && (time == null || time.equals(String.valueOf(announcement.getStartTime())))
+                        && (seat == null || seat.equals(announcement.getSeatNo()))) {
+                    paperIdToAnnouncement.put(papers.size(), announcement);
+                    papers.add(createExamPaperData(announcement,
+                        assignmentsByAnnouncementId.get(announcement.getId()), questionsByRealId, dayDir));
+                }
+            }
+            if (papers.isEmpty() && (room != null || dayData.oralAnnouncements.isEmpty())) {
+                throw new IllegalArgumentException("No seats match day=" + day + " room=" + room
+                    + " time=" + time + " seat=" + seat);
+            }
+
+            // A seat only gets its paper; a session or day also its signature forms
+            List<SignatureFormData> forms = new ArrayList<>();
+            if (seat == null) {
+                forms.addAll(generateSignatureFormsFromPapers(papers, paperIdToAnnouncement,
+                    ResourceLoader.getWrittenExamName()));
+                if (room == null && time == null) {
+                    forms.addAll(generateOralSignatureForms(dayData.oralAnnouncements,
+                        ResourceLoader.getOralExamName(), dayDir));
+                }
+            }
+
+            PrintDaemon.Reprint reprint = new PrintDaemon.Reprint();
+            PrintResult paperResult = printService.printExamPapers(papers);
+            reprint.addPapers(paperResult.getPrinted());
+            reprint.addFailed(paperResult.getFailed());
+            for (ExamPaperData paper : papers) {
+                reprint.addFile(new File(paper.getOutputFolder(), paper.getFileName()).getPath());
+            }
+            PrintResult formResult = printService.printSignatureForms(forms);
+            reprint.addForms(formResult.getPrinted());
+            reprint.addFailed(formResult.getFailed());
+            for (SignatureFormData form : forms) {
+                reprint.addFile(new File(form.getOutputFolder(), form.getFileName()).getPath());
+            }
+            return reprint;
+        }
+    }
+
+    /**
+     * REPRINT MODE: Re-render the papers the reprint index finds for the
+     * selector, loading only their room sessions from the database
+     *
+     * Selectors: code=PAPER_CODE, student=STUDENT_ID, or day=D room=R
+     * time=HH:mm [seat=S]. A room session also gets its signature form.
+     */
+    private void runReprintMode() throws Exception {
+        long start = System.nanoTime();
+        ReprintIndex index = ReprintIndex.load(outputDir);
+        if (index.size() == 0) {
+            System.err.println("ERROR: No reprint index in " + outputDir + "; run print mode first.");
+            return;
+        }
+        List<ReprintIndex.Entry> entries = new ArrayList<>();
+        boolean wholeSession = false;
+        String code = reprintSelector.get("code");
+        String student = reprintSelector.get("student");
+        if (code != null) {
+            ReprintIndex.Entry entry = index.findPaperCode(Long.parseLong(code));
+            if (entry != null) {
+                entries.add(entry);
+            }
+        } else if (student != null) {
+            entries.addAll(index.findStudent(Integer.parseInt(student)));
+        } else if (reprintSelector.containsKey("day") && reprintSelector.containsKey("room")
+                && reprintSelector.containsKey("time")) {
+            int day = Integer.parseInt(reprintSelector.get("day"));
+            String room = reprintSelector.get("room");
+            String time = reprintSelector.get("time");
+            String seat = reprintSelector.get("seat");
+            if (seat != null) {
+                ReprintIndex.Entry entry = index.findSeat(day, room, time, Integer.parseInt(seat));
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            } else {
+                entries.addAll(index.findSession(day, room, time));
+                wholeSession = true;
+            }
+        } else {
+            System.err.println("ERROR: Reprint needs code=..., student=... or day=... room=... time=HH:mm [seat=...]");
+            return;
+        }
+        if (entries.isEmpty()) {
+            System.err.println("ERROR: No paper found for " + reprintSelector);
+            return;
+        }
+        long found = System.nanoTime();
+
+        // Group the wanted placements by room session
+        Map<String, Set<Integer>> placementsBySession = new LinkedHashMap<>();
+        Map<String, Integer> dayBySession = new HashMap<>();
+        for (ReprintIndex.Entry entry : entries) {
+            System.out.println("  " + entry);
+            placementsBySession.computeIfAbsent(entry.getSessionKey(), k -> new HashSet<>()).add(entry.getPlacementId());
+            dayBySession.put(entry.getSessionKey(), entry.getDay());
+        }
+
+        // Assignments of every wanted paper in one query
+        IntMap<QuestionAssignment> assignments;
+        if (wholeSession) {
+            assignments = assignmentRepo.findBySessionKeys(new ArrayList<>(placementsBySession.keySet()));
+        } else {
+            assignments = assignmentRepo.findByPlacementIds(
+                entries.stream().mapToInt(ReprintIndex.Entry::getPlacementId).toArray());
+        }
+
+        List<ExamPaperData> papers = new ArrayList<>();
+        List<SignatureFormData> forms = new ArrayList<>();
+        for (Map.Entry<String, Set<Integer>> session : placementsBySession.entrySet()) {
+            String sessionKey = session.getKey();
+            String dayDir = outputDir + "/day-" + dayBySession.get(sessionKey);
+            List<WrittenExamAnnouncement> announcements = writtenExamRepo.findBySessionKey(sessionKey);
+            Set<String> examPairs = new LinkedHashSet<>();
+            for (WrittenExamAnnouncement announcement : announcements) {
+                examPairs.add(announcement.getExamCode() + "\t" + announcement.getCurriculumLanguage());
+            }
+            List<TaramaQuestion> questions = new ArrayList<>();
+            for (String pair : examPairs) {
+                String[] parts = pair.split("\t");
+                questions.addAll(taramaRepo.findByExamCodeAndLanguage(parts[0], parts[1]));
+            }
+            Map<Integer, TaramaQuestion> questionsByRealId = indexQuestionsByRealId(questions);
+
+            List<ExamPaperData> sessionPapers = new ArrayList<>();
+            Map<Integer, WrittenExamAnnouncement> paperIdToAnnouncement = new HashMap<>();
+            for (WrittenExamAnnouncement announcement : announcements) {
+                if (wholeSession || session.getValue().contains(announcement.getId())) {
+                    paperIdToAnnouncement.put(sessionPapers.size(), announcement);
+                    sessionPapers.add(createExamPaperData(announcement, assignments.get(announcement.getId()),
+                        questionsByRealId, dayDir));
+                }
+            }
+            papers.addAll(sessionPapers);
+            if (wholeSession) {
+                forms.addAll(generateSignatureFormsFromPapers(sessionPapers, paperIdToAnnouncement,
+                    ResourceLoader.getWrittenExamName()));
+            }
+        }
+        long loaded = System.nanoTime();
+
+        PrintResult paperResult = printService.printExamPapers(papers);
+        PrintResult formResult = printService.printSignatureForms(forms);
+        long done = System.nanoTime();
+        System.out.println(String.format("Reprinted %d papers, %d forms (%d failed): index %d ms, load %d ms, render %d ms",
+            paperResult.getPrinted(), formResult.getPrinted(),
+            paperResult.getFailedCount() + formResult.getFailedCount(),
+            (found - start) / 1_000_000, (loaded - found) / 1_000_000, (done - loaded) / 1_000_000));
+        for (String failed : paperResult.getFailed()) {
+            System.err.println("  FAILED: " + failed);
+        }
+        for (String failed : formResult.getFailed()) {
+            System.err.println("  FAILED: " + failed);
+        }
+    }
+
+    /**
+     * WATCH MODE: Watch exam.images.dir and re-render the papers (of the
+     * days to print) whose question image was added, changed or removed
+     */
+    private void runWatchMode() throws Exception {
+        System.out.println("[WATCH MODE] Loading data...");
+        DataSnapshot data = loadData();
+        Map<Integer, DayData> dataByDay = groupDataByDay(data);
+        Map<Integer, QuestionAssignment> assignmentsByAnnouncementId = loadAssignmentsByAnnouncementId();
+        Map<Integer, TaramaQuestion> questionsByRealId = indexQuestionsByRealId(data.allQuestions);
+
+        // Image file name -> announcements whose assigned question prints it
+        // (same lookup as createExamPaperData)
+        Map<String, List<WrittenExamAnnouncement>> announcementsByImage = new HashMap<>();
+        for (int day : DAYS_TO_PRINT) {
+            DayData dayData = dataByDay.get(day);
+            if (dayData == null) {
+                continue;
+            }
+            for (WrittenExamAnnouncement announcement : dayData.writtenAnnouncements) {
+                QuestionAssignment assignment = assignmentsByAnnouncementId.get(announcement.getId());
+                TaramaQuestion question = assignment != null ? questionsByRealId.get(assignment.getQuestionId()) : null;
+                if (question != null && question.getFileName() != null) {
+                    announcementsByImage.computeIfAbsent(question.getFileName(), k -> new ArrayList<>())
+                        .add(announcement);
+                }
+            }
+        }
+
+        Path imagesDir = Path.of(ResourceLoader.getExamImagesDir());
+        long debounceMillis = ResourceLoader.getConfigInt("watch.debounce.ms", 2000);
+        System.out.println("  Watching " + imagesDir + ": " + announcementsByImage.size()
+            + " images used by papers of days " + Arrays.toString(DAYS_TO_PRINT));
+        System.out.println("  Press Ctrl+C to stop");
+
+        new ImageWatcher(imagesDir, debounceMillis).run(files -> {
+            long start = System.nanoTime();
+            Collection<String> changed = files != null ? files : announcementsByImage.keySet();
+            Map<Integer, List<ExamPaperData>> papersByDay = new TreeMap<>();
+            int unused = 0;
+            for (String file : changed) {
+                List<WrittenExamAnnouncement> announcements = announcementsByImage.get(file);
+                if (announcements == null) {
+                    unused++;
+                    continue;
+                }
+                for (WrittenExamAnnouncement announcement : announcements) {
+                    papersByDay.computeIfAbsent(announcement.getDay(), k -> new ArrayList<>())
+                        .add(createExamPaperData(announcement, assignmentsByAnnouncementId.get(announcement.getId()),
+                            questionsByRealId, outputDir + "/day-" + announcement.getDay()));
+                }
+            }
+
+            int papers = 0;
+            int printed = 0;
+            int failed = 0;
+            for (Map.Entry<Integer, List<ExamPaperData>> entry : papersByDay.entrySet()) {
+                // The manifest skips papers whose image bytes did not actually change
+                BuildManifest manifest = BuildManifest.load(outputDir + "/day-" + entry.getKey(),
+                    printService.getRenderSettings());
+                PrintResult result = printService.printExamPapers(entry.getValue(), manifest);
+                manifest.keepUntouched();
+                manifest.save();
+                papers += entry.getValue().size();
+                printed += result.getPrinted();
+                failed += result.getFailedCount();
+                for (String path : result.getFailed()) {
+                    log.error("Watch re-render failed: {}", path);
+                }
+            }
+            System.out.println(String.format("%s: %d images changed (%d unused) -> %d papers, %d re-rendered, "
+                + "%d failed (%d ms)", LocalTime.now().withNano(0),
+                files != null ? files.size() : changed.size(), unused, papers, printed, failed,
+                (System.nanoTime() - start) / 1_000_000));
+        });
+    }
+
+    /**
+     * DELTA MODE: Compare the days to print with the state of their last
+     * print run and re-render only the papers whose PDF would change (new,
+     * moved, or a printed field, question or image changed) and the
+     * signature forms whose student set changed
+     *
+     * Each day directory gets reprint-yyyyMMdd-HHmmss.tsv listing the sheets
+     * to print (new, changed, moved or missing) and to discard (removed, or
+     * the old place of a moved paper).
+     */
+    private void runDeltaMode() throws Exception {
+        System.out.println("[DELTA MODE] Comparing with the last print run...");
+        DataSnapshot data = loadData();
+        Map<Integer, DayData> dataByDay = groupDataByDay(data);
+        Map<Integer, QuestionAssignment> assignmentsByAnnouncementId = loadAssignmentsByAnnouncementId();
+        Map<Integer, TaramaQuestion> questionsByRealId = indexQuestionsByRealId(data.allQuestions);
+        String settings = printService.getRenderSettings();
+        String stamp = java.time.LocalDateTime.now()
+            .format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+
+        for (int day : DAYS_TO_PRINT) {
+            long start = System.nanoTime();
+            String dayDir = outputDir + "/day-" + day;
+            PrintState previous = PrintState.load(dayDir, settings);
+            if (previous.isEmpty()) {
+                System.out.println("  Day " + day + ": no print state in " + dayDir + "; run print mode first");
+                continue;
+            }
+            DayData dayData = dataByDay.getOrDefault(day, new DayData(day));
+
+            // Same papers and forms as a full print run of the day
+            List<ExamPaperData> examPapers = new ArrayList<>();
+            Map<Integer, WrittenExamAnnouncement> paperIdToAnnouncement = new HashMap<>();
+            for (WrittenExamAnnouncement announcement : dayData.writtenAnnouncements) {
+                paperIdToAnnouncement.put(examPapers.size(), announcement);
+                examPapers.add(createExamPaperData(announcement, assignmentsByAnnouncementId.get(announcement.getId()),
+                    questionsByRealId, dayDir));
+            }
+            List<SignatureFormData> writtenForms = generateSignatureFormsFromPapers(examPapers,
+                paperIdToAnnouncement, ResourceLoader.getWrittenExamName());
+            List<SignatureFormData> oralForms = dayData.oralAnnouncements.isEmpty()
+                ? Collections.emptyList()
+                : generateOralSignatureForms(dayData.oralAnnouncements, ResourceLoader.getOralExamName(), dayDir);
+            BuildManifest manifest = BuildManifest.load(dayDir, settings);
+            PrintState current = buildPrintState(dayDir, manifest, examPapers, paperIdToAnnouncement,
+                writtenForms, oralForms);
+
+            // Unchanged outputs are kept as they are; the rest is re-rendered.
+            // A paper is printed again only if its PDF would differ: a fix in
+            // a column the paper does not show re-renders nothing
+            List<String[]> reprints = new ArrayList<>();
+            List<ExamPaperData> papers = new ArrayList<>();
+            for (int i = 0; i < examPapers.size(); i++) {
+                ExamPaperData paper = examPapers.get(i);
+                PrintState.Paper now = current.getPaper(paperIdToAnnouncement.get(i).getId());
+                PrintState.Paper was = previous.getPaper(now.getPlacementId());
+                String reason = was == null ? "new"
+                    : !was.isSameFile(now) ? "moved"
+                    : manifest.isUpToDate(paper.getOutputFolder(), paper.getFileName(), now.getFingerprint()) ? null
+                    : new File(paper.getOutputFolder(), paper.getFileName()).exists() ? "changed" : "missing";
+                if (reason != null) {
+                    papers.add(paper);
+                    reprints.add(reprintRow("print", now, reason));
+                }
+                if ("moved".equals(reason)) {
+                    reprints.add(reprintRow("discard", was, reason));
+                }
+            }
+            for (PrintState.Paper was : previous.getPapers()) {
+                if (current.getPaper(was.getPlacementId()) == null) {
+                    reprints.add(reprintRow("discard", was, "removed"));
+                }
+            }
+
+            List<SignatureFormData> forms = new ArrayList<>(writtenForms);
+            forms.addAll(oralForms);
+            List<SignatureFormData> changedForms = new ArrayList<>();
+            for (SignatureFormData form : forms) {
+                PrintState.Form now = current.getForm(form.getOutputFolder(), form.getFileName());
+                PrintState.Form was = previous.getForm(form.getOutputFolder(), form.getFileName());
+                String reason = was == null ? "new"
+                    : !was.getFingerprint().equals(now.getFingerprint()) ? "changed"
+                    : manifest.keep(form.getOutputFolder(), form.getFileName()) ? null : "missing";
+                if (reason != null) {
+                    changedForms.add(form);
+                    reprints.add(reprintRow("print", now, reason));
+                }
+            }
+            for (PrintState.Form was : previous.getForms()) {
+                if (!current.hasFormFile(was)) {
+                    reprints.add(reprintRow("discard", was, "removed"));
+                }
+            }
+
+            PrintResult paperResult = printService.printExamPapers(papers, manifest);
+            PrintResult formResult = printService.printSignatureForms(changedForms, manifest);
+            int orphans = manifest.deleteOrphans();
+            manifest.save();
+            ReprintIndex.write(dayDir, day, examPapers, paperIdToAnnouncement, assignmentsByAnnouncementId);
+            current.save();
+
+            System.out.println(String.format("  Day %d: %d of %d papers and %d of %d forms changed, "
+                    + "%d re-rendered, %d failed, %d orphans deleted (%d ms)",
+                day, papers.size(), examPapers.size(), changedForms.size(), forms.size(),
+                paperResult.getPrinted() + formResult.getPrinted(),
+                paperResult.getFailedCount() + formResult.getFailedCount(), orphans,
+                (System.nanoTime() - start) / 1_000_000));
+            for (String failed : paperResult.getFailed()) {
+                log.error("Delta re-render failed: {}", failed);
+            }
+            for (String failed : formResult.getFailed()) {
+                log.error("Delta re-render failed: {}", failed);
+            }
+            if (!reprints.isEmpty()) {
+                System.out.println("    Reprint list: " + writeReprintList(dayDir, stamp, reprints));
+            }
+        }
+    }
+
+    private static String[] reprintRow(String action, PrintState.Paper paper, String reason) {
+        return new String[] { action, "paper", paper.getRoom(), paper.getTime(),
+            paper.getSeat() != null ? String.valueOf(paper.getSeat()) : "",
+            paper.getStudentId() != null ? String.valueOf(paper.getStudentId()) : "",
+            reason, paper.getFolder() + "/" + paper.getFile() };
+    }
+
+    private static String[] reprintRow(String action, PrintState.Form form, String reason) {
+        return new String[] { action, "form", form.getRoom(), form.getTime(), "", "", reason,
+            form.getFolder() + "/" + form.getFile() };
+    }
+
+    /**
+     * Writes the sheets to reprint or discard, ordered by session, room and
+     * seat so they can be handled room by room
+     */
+    private static String writeReprintList(String dayDir, String stamp, List<String[]> rows) throws IOException {
+        rows.sort(Comparator.<String[], String>comparing(r -> r[3])
+            .thenComparing(r -> r[2])
+            .thenComparing(r -> r[1])
+            .thenComparingInt(r -> r[4].isEmpty() ? 0 : Integer.parseInt(r[4]))
+            .thenComparing(r -> r[0]));
+        java.nio.file.Path path = java.nio.file.Paths.get(dayDir, "reprint-" + stamp + ".tsv");
+        try (java.io.BufferedWriter writer = java.nio.file.Files.newBufferedWriter(path)) {
+            writer.write("action\tkind\troom\ttime\tseat\tstudent\treason\tfile");
+            writer.newLine();
+            for (String[] row : rows) {
+                writer.write(String.join("\t", row));
+                writer.newLine();
+            }
+        }
+        return path.toString();
+    }
+
+    /**
+     * MIGRATE MODE: Apply the pending schema migrations, then check that
+     * the repository queries use their indexes
+     */
+    private void runMigrateMode() throws Exception {
+        if (dbConfig == null) {
+            System.err.println("ERROR: Migrations need data.source=database");
+            return;
+        }
+        System.out.println("[MIGRATE MODE] Applying schema migrations...");
+        int applied = new SchemaMigrator(dbConfig).migrate();
+        System.out.println("  " + applied + " migrations applied");
+        checkQueryPlans();
+    }
+
+    /**
+     * Warns about repository queries that sequentially scan a large table
+     */
+    private void checkQueryPlans() {
+        try {
+            int pending = new SchemaMigrator(dbConfig).pendingCount();
+            if (pending > 0) {
+                log.warn("{} schema migrations pending; run: java ExamPrintApplication migrate", pending);
+            }
+            new QueryPlanCheck(dbConfig, ResourceLoader.getConfigInt("db.plan.check.min.rows", 10000)).run();
+        } catch (SQLException e) {
+            log.warn("Query plan check failed: {}", e.getMessage());
+        }
+    }
+
+    private PrintJournal openJournal() throws IOException {
+        return PrintJournal.open(outputDir,
+            ResourceLoader.getConfigInt("journal.fsync.interval.ms", 1000));
     }
 
     /**
@@ -670,15 +1352,94 @@ public class ExamPrintApplication {
      * Loads all data from database
      */
     private DataSnapshot loadData() throws SQLException {
+        long start = System.nanoTime();
         DataSnapshot data = new DataSnapshot();
 
-        data.writtenAnnouncements = writtenExamRepo.findAll();
-        data.oralAnnouncements = oralExamRepo.findAll();
-        data.allQuestions = taramaRepo.findAll();
+        // Cached repositories answer unchanged tables without a query, so
+        // they are read directly rather than in a fresh snapshot
+        if (dbConfig != null && !cachedRepositories
+                && Boolean.parseBoolean(ResourceLoader.getConfig("load.parallel", "true"))) {
+            loadDataInSnapshot(data);
+        } else {
+            data.writtenAnnouncements = writtenExamRepo.findAll();
+            data.oralAnnouncements = oralExamRepo.findAll();
+            data.allQuestions = findScheduledQuestions(taramaRepo, data);
+        }
 
+        Metrics.phase("load", start);
         return data;
     }
 
+    /**
+     * Runs the announcement loads concurrently, each on its own connection,
+     * all reading one exported REPEATABLE READ snapshot; the questions of
+     * the scheduled exams follow on a third connection in the same
+     * snapshot, so written, oral and question rows are mutually consistent
+     * even while they are edited
+     */
+    private void loadDataInSnapshot(DataSnapshot data) throws SQLException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (SnapshotDatabaseConfig snapshot = SnapshotDatabaseConfig.open(dbConfig)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Loading in snapshot {}", snapshot.getSnapshotId());
+            }
+            Future<List<WrittenExamAnnouncement>> written;
+            Future<List<OralExamAnnouncement>> oral;
+            if (Boolean.parseBoolean(ResourceLoader.getConfig("load.binary.copy", "false"))) {
+                CopyAnnouncementReader reader = new CopyAnnouncementReader(snapshot);
+                written = executor.submit(reader::findAllWritten);
+                oral = executor.submit(reader::findAllOral);
+            } else {
+                written = executor.submit(() -> new JdbcWrittenExamRepository(snapshot).findAll());
+                oral = executor.submit(() -> new JdbcOralExamRepository(snapshot).findAll());
+            }
+
+            data.writtenAnnouncements = await(written);
+            data.oralAnnouncements = await(oral);
+            data.allQuestions = findScheduledQuestions(new JdbcTaramaRepository(snapshot), data);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Questions of the exam code/language pairs on the loaded written and
+     * oral announcements only, instead of the whole question bank
+     */
+    private static List<TaramaQuestion> findScheduledQuestions(TaramaRepository repo, DataSnapshot data)
+            throws SQLException {
+        Set<String> seen = new HashSet<>();
+        List<String> examCodes = new ArrayList<>();
+        List<String> languages = new ArrayList<>();
+        for (WrittenExamAnnouncement a : data.writtenAnnouncements) {
+            if (seen.add(a.getExamCode() + "|" + a.getCurriculumLanguage())) {
+                examCodes.add(a.getExamCode());
+                languages.add(a.getCurriculumLanguage());
+            }
+        }
+        for (OralExamAnnouncement a : data.oralAnnouncements) {
+            if (seen.add(a.getExamCode() + "|" + a.getCurriculumLanguage())) {
+                examCodes.add(a.getExamCode());
+                languages.add(a.getCurriculumLanguage());
+            }
+        }
+        return repo.findByExamCodesAndLanguages(examCodes, languages);
+    }
+
+    private static <T> T await(Future<T> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while loading data", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Loading data failed", e.getCause());
+        }
+    }
+
     /**
      * Groups all data by day
      */
@@ -715,6 +1476,7 @@ public class ExamPrintApplication {
      * Validates data for a single day
      */
     private ValidationResult validateDay(DayData dayData, Integer day) {
+        long start = System.nanoTime();
         System.out.println("  Validating " + dayData.writtenAnnouncements.size() + " written exams...");
         System.out.println("  Validating " + dayData.oralAnnouncements.size() + " oral exams...");
 
@@ -750,12 +1512,14 @@ public class ExamPrintApplication {
         ValidationResult fileValidation = new ValidationResult();
 
         // Combine all results
-        return validationService.combineResults(
+        ValidationResult result = validationService.combineResults(
             writtenValidation,
             oralValidation,
             questionValidation,
             fileValidation
         );
+        Metrics.phase("validate", start);
+        return result;
     }
 
     /**
@@ -763,6 +1527,7 @@ public class ExamPrintApplication {
      */
     private int assignQuestionsForDay(DayData dayData, Integer day,
                                       Map<String, MissingQuestionInfo> missingQuestions) throws SQLException {
+        long start = System.nanoTime();
         // Group questions by exam+language
         Map<String, List<TaramaQuestion>> questionGroups =
             assignmentService.groupQuestionsByExamAndLanguage(dayData.allQuestions);
@@ -852,13 +1617,17 @@ public class ExamPrintApplication {
             assignmentRepo.saveAll(allAssignments);
         }
 
+        Metrics.assigned(allAssignments.size());
+        Metrics.phase("assign", start);
         return allAssignments.size();
     }
 
     /**
      * Generates PDFs for a single day
      */
-    private void generatePDFsForDay(DayData dayData, Integer day) throws Exception {
+    private void generatePDFsForDay(DayData dayData, Integer day, PrintJournal journal,
+                                    Set<String> retryOnly) throws Exception {
+        long start = System.nanoTime();
         String dayDir = outputDir + "/day-" + day;
         System.out.println("  Generating PDFs to: " + dayDir);
 
@@ -868,19 +1637,14 @@ public class ExamPrintApplication {
         System.out.println("    - Written exams: " + writtenCount);
         System.out.println("    - Oral exams: " + oralCount);
 
+        // Unchanged papers and forms from the previous run are reused
+        BuildManifest manifest = BuildManifest.load(dayDir, printService.getRenderSettings());
+
         // Load all assignments
-        Map<Integer, QuestionAssignment> assignmentsByAnnouncementId = new HashMap<>();
-        for (QuestionAssignment assignment : assignmentRepo.findAll()) {
-            assignmentsByAnnouncementId.put(assignment.getAnnouncementId(), assignment);
-        }
+        Map<Integer, QuestionAssignment> assignmentsByAnnouncementId = loadAssignmentsByAnnouncementId();
 
         // Load all questions for lookup - use realId as key for printing
-        Map<Integer, TaramaQuestion> questionsByRealId = new HashMap<>();
-        for (TaramaQuestion question : dayData.allQuestions) {
-            if (question.getRealId() != null) {
-                questionsByRealId.put(question.getRealId(), question);
-            }
-        }
+        Map<Integer, TaramaQuestion> questionsByRealId = indexQuestionsByRealId(dayData.allQuestions);
 
         // Generate exam papers for written exams
         // Create explicit pairing using announcement ID
@@ -899,36 +1663,159 @@ public class ExamPrintApplication {
             paperIdToAnnouncement.put(paperId, announcement);
             paperId++;
 
-            System.out.println("DEBUG: Created paper #" + (paperId-1) +
-                " for student " + announcement.getStudentId() +
-                " room=" + announcement.getRoom() +
-                " seat=" + announcement.getSeatNo() +
-                " time=" + announcement.getStartTime() + "-" + announcement.getEndTime() +
-                " folder=" + paperData.getOutputFolder());
+            if (log.isDebugEnabled()) {
+                log.debug("Created paper #{} for student {} room={} seat={} time={}-{} folder={}",
+                    paperId - 1, announcement.getStudentId(), announcement.getRoom(), announcement.getSeatNo(),
+                    announcement.getStartTime(), announcement.getEndTime(), paperData.getOutputFolder());
+            }
         }
 
-        // Print exam papers
-        System.out.println("    Printing exam papers...");
-        printService.printExamPapers(examPapers);
+        // Lookup for single-seat and room-session reprints
+        ReprintIndex.write(dayDir, day, examPapers, paperIdToAnnouncement, assignmentsByAnnouncementId);
 
-        // Generate signature forms - use explicit paper-to-announcement mapping
-        System.out.println("    Generating signature forms for written exams...");
+        // Signature forms are built up front so progress knows the day's total
+        // Written forms use explicit paper-to-announcement mapping
         List<SignatureFormData> writtenSignatureForms = generateSignatureFormsFromPapers(
             examPapers,
             paperIdToAnnouncement,
             ResourceLoader.getWrittenExamName()
         );
-        printService.printSignatureForms(writtenSignatureForms);
-
-        // Generate signature forms for oral exams
-        if (!dayData.oralAnnouncements.isEmpty()) {
-            System.out.println("    Generating signature forms for oral exams...");
-            List<SignatureFormData> oralSignatureForms = generateOralSignatureForms(
-                dayData.oralAnnouncements,
-                ResourceLoader.getOralExamName(),
-                dayDir
-            );
-            printService.printSignatureForms(oralSignatureForms);
+        List<SignatureFormData> oralSignatureForms = dayData.oralAnnouncements.isEmpty()
+            ? Collections.emptyList()
+            : generateOralSignatureForms(dayData.oralAnnouncements, ResourceLoader.getOralExamName(), dayDir);
+        PrintProgress progress = new PrintProgress("Day " + day,
+            examPapers.size() + writtenSignatureForms.size() + oralSignatureForms.size());
+
+        // Print exam papers, one room session (output folder) per journal unit
+        System.out.println("    Printing exam papers...");
+        Map<String, List<ExamPaperData>> paperSessions = new LinkedHashMap<>();
+        for (ExamPaperData paper : examPapers) {
+            paperSessions.computeIfAbsent(paper.getOutputFolder(), k -> new ArrayList<>()).add(paper);
+        }
+        printUnits("papers:", paperSessions, ExamPaperData::getOutputFolder, ExamPaperData::getFileName,
+            papers -> printService.printExamPapers(papers, manifest), manifest, journal, retryOnly, progress);
+
+        System.out.println("    Printing signature forms for written exams...");
+        printFormUnits(writtenSignatureForms, manifest, journal, retryOnly, progress);
+
+        if (!oralSignatureForms.isEmpty()) {
+            System.out.println("    Printing signature forms for oral exams...");
+            printFormUnits(oralSignatureForms, manifest, journal, retryOnly, progress);
+        }
+        progress.finish();
+
+        // A retry only sees the failed PDFs, so it must not delete the rest
+        int orphans = retryOnly == null ? manifest.deleteOrphans() : 0;
+        manifest.save();
+        if (retryOnly == null) {
+            buildPrintState(dayDir, manifest, examPapers, paperIdToAnnouncement, writtenSignatureForms,
+                oralSignatureForms).save();
+        }
+        System.out.println(String.format("    Incremental build: %d rebuilt, %d reused, %d orphans deleted",
+            manifest.getRebuiltCount(), manifest.getReusedCount(), orphans));
+        Metrics.phase("render", start);
+    }
+
+    /**
+     * Fingerprints of a day's papers and forms, for the next delta run
+     */
+    private PrintState buildPrintState(String dayDir, BuildManifest manifest, List<ExamPaperData> examPapers,
+                                       Map<Integer, WrittenExamAnnouncement> paperIdToAnnouncement,
+                                       List<SignatureFormData> writtenForms, List<SignatureFormData> oralForms)
+            throws IOException {
+        PrintState state = new PrintState(dayDir, printService.getRenderSettings(), manifest);
+        for (int i = 0; i < examPapers.size(); i++) {
+            state.addPaper(paperIdToAnnouncement.get(i), examPapers.get(i));
+        }
+        for (SignatureFormData form : writtenForms) {
+            state.addForm(form);
+        }
+        for (SignatureFormData form : oralForms) {
+            state.addForm(form);
+        }
+        return state;
+    }
+
+    private Map<Integer, QuestionAssignment> loadAssignmentsByAnnouncementId() throws SQLException {
+        Map<Integer, QuestionAssignment> assignmentsByAnnouncementId = new HashMap<>();
+        for (QuestionAssignment assignment : assignmentRepo.findAll()) {
+            assignmentsByAnnouncementId.put(assignment.getAnnouncementId(), assignment);
+        }
+        return assignmentsByAnnouncementId;
+    }
+
+    private static Map<Integer, TaramaQuestion> indexQuestionsByRealId(List<TaramaQuestion> questions) {
+        Map<Integer, TaramaQuestion> questionsByRealId = new HashMap<>();
+        for (TaramaQuestion question : questions) {
+            if (question.getRealId() != null) {
+                questionsByRealId.put(question.getRealId(), question);
+            }
+        }
+        return questionsByRealId;
+    }
+
+    /**
+     * Prints signature forms, one form (room session) per journal unit
+     */
+    private void printFormUnits(List<SignatureFormData> forms, BuildManifest manifest,
+                                PrintJournal journal, Set<String> retryOnly,
+                                PrintProgress progress) throws IOException {
+        Map<String, List<SignatureFormData>> units = new LinkedHashMap<>();
+        for (SignatureFormData form : forms) {
+            units.computeIfAbsent(form.getOutputFolder() + "/" + form.getFileName(), k -> new ArrayList<>()).add(form);
+        }
+        printUnits("form:", units, SignatureFormData::getOutputFolder, SignatureFormData::getFileName,
+            batch -> printService.printSignatureForms(batch, manifest), manifest, journal, retryOnly, progress);
+    }
+
+    /**
+     * Prints render units in order and journals each finished one
+     *
+     * Print run: a unit the journal has as complete is skipped if its files
+     * are still in the manifest. Retry run (retryOnly != null): only the
+     * listed outputs are rendered, and each success is journaled as fixed.
+     * The manifest is saved once, at the end of the day: after a crash a
+     * journaled unit missing from the saved manifest fails keep() and is
+     * simply rendered again.
+     */
+    private <T> void printUnits(String unitPrefix, Map<String, List<T>> units,
+                                Function<T, String> folderOf, Function<T, String> fileOf,
+                                Function<List<T>, PrintResult> printer, BuildManifest manifest,
+                                PrintJournal journal, Set<String> retryOnly,
+                                PrintProgress progress) throws IOException {
+        for (Map.Entry<String, List<T>> entry : units.entrySet()) {
+            String unit = unitPrefix + entry.getKey();
+            boolean complete = journal.isComplete(unit);
+            List<T> todo = new ArrayList<>();
+            for (T item : entry.getValue()) {
+                String folder = folderOf.apply(item);
+                String file = fileOf.apply(item);
+                boolean render = retryOnly != null
+                    ? retryOnly.contains(new File(folder, file).getPath())
+                    : !(complete && manifest.keep(folder, file));
+                if (render) {
+                    todo.add(item);
+                } else if (retryOnly != null) {
+                    manifest.keep(folder, file);
+                }
+            }
+            progress.skipped(entry.getValue().size() - todo.size());
+            if (todo.isEmpty()) {
+                continue;
+            }
+
+            PrintResult result = printer.apply(todo);
+            progress.add(result);
+            if (retryOnly != null) {
+                for (T item : todo) {
+                    String path = new File(folderOf.apply(item), fileOf.apply(item)).getPath();
+                    if (!result.getFailed().contains(path)) {
+                        journal.fixed(unit, path);
+                    }
+                }
+            } else {
+                journal.completed(unit, result);
+            }
         }
     }
 
@@ -1056,7 +1943,7 @@ public class ExamPrintApplication {
             sessionGroups.computeIfAbsent(parentFolder, k -> new ArrayList<>()).add(pair);
         }
 
-        System.out.println("DEBUG: Generated " + sessionGroups.size() + " signature form groups from " + examPapers.size() + " papers");
+        log.debug("Generated {} signature form groups from {} papers", sessionGroups.size(), examPapers.size());
 
         List<SignatureFormData> signatureForms = new ArrayList<>();
 
@@ -1102,14 +1989,13 @@ public class ExamPrintApplication {
                 form.addStudent(student);
             }
 
-            System.out.println("DEBUG: Signature form for " + parentFolder +
-                ": " + pairs.size() + " students");
-            for (PaperAnnouncementPair p : pairs) {
-                System.out.println("  Paper#" + p.paperId +
-                    " Student=" + p.announcement.getStudentId() +
-                    " Seat=" + p.announcement.getSeatNo() +
-                    " Room=" + p.announcement.getRoom() +
-                    " Time=" + p.announcement.getStartTime() + "-" + p.announcement.getEndTime());
+            if (log.isDebugEnabled()) {
+                log.debug("Signature form for {}: {} students", parentFolder, pairs.size());
+                for (PaperAnnouncementPair p : pairs) {
+                    log.debug("  Paper#{} Student={} Seat={} Room={} Time={}-{}", p.paperId,
+                        p.announcement.getStudentId(), p.announcement.getSeatNo(), p.announcement.getRoom(),
+                        p.announcement.getStartTime(), p.announcement.getEndTime());
+                }
             }
 
             // Set output folder - use same parent folder as exam papers
@@ -1233,6 +2119,18 @@ public class ExamPrintApplication {
         this.mode = mode;
     }
 
+    /**
+     * Adds a name=value selector of reprint mode (code, student, day, room,
+     * time, seat)
+     */
+    public void addReprintSelector(String argument) {
+        int eq = argument.indexOf('=');
+        if (eq <= 0) {
+            throw new IllegalArgumentException("Expected name=value: " + argument);
+        }
+        reprintSelector.put(argument.substring(0, eq).trim(), argument.substring(eq + 1).trim());
+    }
+
     /**
      * Pairs exam paper with its announcement for signature form generation
      */
@@ -1328,7 +2226,8 @@ public class ExamPrintApplication {
      *   java ExamPrintApplication [mode] [outputDir]
      *
      * Arguments:
-     *   mode       - Optional: "assign" (default) or "print"
+     *   mode       - Optional: "assign" (default), "print", "retry", "daemon", "reprint", "watch", "delta"
+     *                or "migrate"
      *   outputDir  - Optional: custom output directory (default: "output")
      *
      * Examples:
@@ -1337,23 +2236,37 @@ public class ExamPrintApplication {
      *   java ExamPrintApplication print              # Print mode, default output
      *   java ExamPrintApplication assign /tmp/out    # Assign mode, custom output
      *   java ExamPrintApplication print /tmp/out     # Print mode, custom output
+     *   java ExamPrintApplication retry              # Re-render failed PDFs of the last print run
+     *   java ExamPrintApplication daemon             # Serve reprints on localhost:daemon.port
+     *   java ExamPrintApplication reprint code=123456789
+     *   java ExamPrintApplication reprint student=2400123
+     *   java ExamPrintApplication reprint day=6 room=101 time=09:00 [seat=4]
+     *   java ExamPrintApplication watch              # Re-render papers when their image changes
+     *   java ExamPrintApplication delta              # Re-render what changed since the last print run
+     *   java ExamPrintApplication migrate            # Create the indexes the repository queries need
      */
     public static void main(String[] args) {
         try {
-            ExamPrintApplication app = new ExamPrintApplication();
+            Logging.configure();
+            ExamPrintApplication app = create();
 
             // Parse command line arguments
             if (args.length > 0) {
                 String firstArg = args[0].toLowerCase();
 
                 // Check if first argument is mode
-                if (firstArg.equals("assign") || firstArg.equals("print")) {
-                    Mode mode = firstArg.equals("print") ? Mode.PRINT : Mode.ASSIGN;
-                    app.setMode(mode);
-
-                    // Second argument is output directory
-                    if (args.length > 1) {
-                        app.setOutputDir(args[1]);
+                if (firstArg.equals("assign") || firstArg.equals("print") || firstArg.equals("retry")
+                        || firstArg.equals("daemon") || firstArg.equals("reprint") || firstArg.equals("watch")
+                        || firstArg.equals("delta") || firstArg.equals("migrate")) {
+                    app.setMode(Mode.valueOf(firstArg.toUpperCase()));
+
+                    // Reprint selectors are name=value; the other argument is the output directory
+                    for (int i = 1; i < args.length; i++) {
+                        if (args[i].indexOf('=') > 0) {
+                            app.addReprintSelector(args[i]);
+                        } else {
+                            app.setOutputDir(args[i]);
+                        }
                     }
                 } else {
                     // First argument is output directory (backward compatibility)
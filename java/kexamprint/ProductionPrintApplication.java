@@ -1,8 +1,11 @@
 package kexamprint;
 
 import kexamprint.db.*;
+import kexamprint.metrics.FlightRecording;
+import kexamprint.metrics.Metrics;
 import kexamprint.model.*;
 import kexamprint.service.*;
+import kexamprint.util.Logging;
 import kexamprint.util.ResourceLoader;
 
 import java.sql.Connection;
@@ -30,7 +33,7 @@ public class ProductionPrintApplication {
 
     public ProductionPrintApplication() {
         this.dbConfig = new DatabaseConfig();
-        this.taramaRepo = new TaramaRepository(dbConfig);
+        this.taramaRepo = new JdbcTaramaRepository(dbConfig);
         this.printService = new PrintService();
         this.outputDir = ResourceLoader.getOutputBaseDir();
     }
@@ -44,8 +47,19 @@ public class ProductionPrintApplication {
             return;
         }
 
-        // Generate exam papers and signature forms
-        generateExamPapers();
+        FlightRecording recording = FlightRecording.startIfEnabled(outputDir);
+        try {
+            // Generate exam papers and signature forms
+            generateExamPapers();
+        } finally {
+            if (recording != null) {
+                recording.close();
+            }
+        }
+
+        if (Boolean.parseBoolean(ResourceLoader.getConfig("metrics.dump", "true"))) {
+            Metrics.dump(outputDir);
+        }
     }
 
     private boolean testDatabaseConnection() {
@@ -69,30 +83,36 @@ public class ProductionPrintApplication {
         System.out.println("Found " + byRoomSession.size() + " unique room-sessions");
         System.out.println();
 
-        // Generate exam papers
-        System.out.println("Generating exam papers...");
+        long renderStart = System.nanoTime();
         List<ExamPaperData> examPapers = new ArrayList<>();
         for (ProductionExamRow row : examRows) {
             ExamPaperData paper = createExamPaper(row);
             examPapers.add(paper);
         }
-        printService.printExamPapers(examPapers);
-        System.out.println();
-
-        // Generate signature forms
-        System.out.println("Generating signature forms...");
         List<SignatureFormData> signatureForms = new ArrayList<>();
         for (Map.Entry<String, List<ProductionExamRow>> entry : byRoomSession.entrySet()) {
             SignatureFormData form = createSignatureForm(entry.getValue());
             signatureForms.add(form);
         }
-        printService.printSignatureForms(signatureForms);
+        PrintProgress progress = new PrintProgress("Print", examPapers.size() + signatureForms.size());
+
+        // Generate exam papers
+        System.out.println("Generating exam papers...");
+        progress.add(printService.printExamPapers(examPapers));
+        System.out.println();
+
+        // Generate signature forms
+        System.out.println("Generating signature forms...");
+        progress.add(printService.printSignatureForms(signatureForms));
+        progress.finish();
+        Metrics.phase("render", renderStart);
         System.out.println();
 
         System.out.println("=== PRODUCTION PRINT COMPLETE ===");
     }
 
     private List<ProductionExamRow> fetchProductionData() throws SQLException {
+        long start = System.nanoTime();
         String sql =
             "SELECT " +
             "  p.id, p.exam_code, p.exam_name, p.student_number, p.student_name, " +
@@ -112,46 +132,68 @@ public class ProductionPrintApplication {
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
+            RowMapper<ProductionExamRow> mapper = PRODUCTION_ROW_MAPPER.create(rs);
             while (rs.next()) {
-                ProductionExamRow row = new ProductionExamRow();
-
-                row.id = rs.getInt("id");
-                row.examCode = rs.getString("exam_code");
-                row.examName = rs.getString("exam_name");
-                row.studentNumber = rs.getString("student_number");
-                row.studentName = rs.getString("student_name");
-                row.roomName = rs.getString("room_name");
-                row.roomType = rs.getString("room_type");
-                row.seatId = rs.getInt("seat_id");
-
-                long paperCodeVal = rs.getLong("paper_code");
-                if (!rs.wasNull()) {
-                    row.paperCode = paperCodeVal;
-                }
-
-                row.language = rs.getString("language");
-                row.day = rs.getInt("day");
-                row.date = rs.getDate("date").toLocalDate();
-                row.lessonStart = rs.getInt("lesson_start");
-                row.lessonEnd = rs.getInt("lesson_end");
-                row.startTime = rs.getTime("start_time").toLocalTime();
-                row.endTime = rs.getTime("end_time").toLocalTime();
-
-                int questionId = rs.getInt("question_id");
-                if (!rs.wasNull()) {
-                    row.questionId = questionId;
-                }
-
-                row.taramaQuestionId = rs.getString("tarama_question_id");
-                row.questionImagePath = rs.getString("question_image_path");
-
-                rows.add(row);
+                rows.add(mapper.map(rs));
             }
         }
 
+        Metrics.query("ProductionPrintApplication.fetchProductionData", start, rows.size());
+        Metrics.phase("load", start);
         return rows;
     }
 
+    /**
+     * Maps production schedule rows, column indexes resolved once per query
+     */
+    private static final RowMapper.Factory<ProductionExamRow> PRODUCTION_ROW_MAPPER = rs -> {
+        int id = rs.findColumn("id");
+        int examCode = rs.findColumn("exam_code");
+        int examName = rs.findColumn("exam_name");
+        int studentNumber = rs.findColumn("student_number");
+        int studentName = rs.findColumn("student_name");
+        int roomName = rs.findColumn("room_name");
+        int roomType = rs.findColumn("room_type");
+        int seatId = rs.findColumn("seat_id");
+        int paperCode = rs.findColumn("paper_code");
+        int language = rs.findColumn("language");
+        int day = rs.findColumn("day");
+        int date = rs.findColumn("date");
+        int lessonStart = rs.findColumn("lesson_start");
+        int lessonEnd = rs.findColumn("lesson_end");
+        int startTime = rs.findColumn("start_time");
+        int endTime = rs.findColumn("end_time");
+        int questionId = rs.findColumn("question_id");
+        int taramaQuestionId = rs.findColumn("tarama_question_id");
+        int questionImagePath = rs.findColumn("question_image_path");
+
+        return r -> {
+            ProductionExamRow row = new ProductionExamRow();
+
+            row.id = r.getInt(id);
+            row.examCode = r.getString(examCode);
+            row.examName = r.getString(examName);
+            row.studentNumber = r.getString(studentNumber);
+            row.studentName = r.getString(studentName);
+            row.roomName = r.getString(roomName);
+            row.roomType = r.getString(roomType);
+            row.seatId = r.getInt(seatId);
+            row.paperCode = Columns.getLong(r, paperCode);
+            row.language = r.getString(language);
+            row.day = r.getInt(day);
+            row.date = r.getDate(date).toLocalDate();
+            row.lessonStart = r.getInt(lessonStart);
+            row.lessonEnd = r.getInt(lessonEnd);
+            row.startTime = r.getTime(startTime).toLocalTime();
+            row.endTime = r.getTime(endTime).toLocalTime();
+            row.questionId = Columns.getInteger(r, questionId);
+            row.taramaQuestionId = r.getString(taramaQuestionId);
+            row.questionImagePath = r.getString(questionImagePath);
+
+            return row;
+        };
+    };
+
     private ExamPaperData createExamPaper(ProductionExamRow row) {
         ExamPaperData paper = new ExamPaperData();
 
@@ -299,6 +341,7 @@ public class ProductionPrintApplication {
 
     public static void main(String[] args) {
         try {
+            Logging.configure();
             ProductionPrintApplication app = new ProductionPrintApplication();
             app.run();
         } catch (Exception e) {
@@ -1,9 +1,8 @@
 package kexamprint;
 
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 
 import org.apache.pdfbox.pdmodel.PDPage;
 
@@ -12,6 +11,9 @@ import com.itextpdf.text.PageSize;
 import com.itextpdf.text.Rectangle;
 import com.itextpdf.text.pdf.PdfPageEventHelper;
 import com.itextpdf.text.pdf.PdfWriter;
+
+import kexamprint.metrics.RenderStageEvent;
+import kexamprint.output.OutputSink;
 public abstract class RecurringPageDocument extends PdfPageEventHelper {
 
 	public enum PageSizeType {
@@ -50,14 +52,41 @@ public abstract class RecurringPageDocument extends PdfPageEventHelper {
 
 	public abstract void addPageHeader(PdfWriter writer, Document document);
 
+	/**
+	 * Sink used by render() when the caller does not pass one (output.sink)
+	 */
+	private static class DefaultSink {
+		static final OutputSink INSTANCE = OutputSink.fromConfig();
+	}
+
 	public void render() throws Exception {
+		render(DefaultSink.INSTANCE);
+	}
+
+	/**
+	 * Renders the document into getFolder()/getFile() of the sink; the file
+	 * is only published if rendering completes
+	 */
+	public void render(OutputSink sink) throws Exception {
+		RenderStageEvent event = new RenderStageEvent(getClass().getSimpleName(), "render");
+		event.begin();
+		try (OutputSink.Entry entry = sink.open(getFolder(), getFile())) {
+			render(entry.getStream());
+			entry.commit();
+		}
+		event.end(getFile());
+	}
+
+	/**
+	 * Renders the document to a stream (the stream is not closed)
+	 */
+	public void render(OutputStream out) throws Exception {
 		this.pageSizeType=isA4()?PageSizeType.A4:PageSizeType.A3;
 
 		Document document = new Document(pageSizeType.getSize());
 		
-		File folder = new File(getFolder());
-		folder.mkdirs();
-		PdfWriter writer = PdfWriter.getInstance(document, new FileOutputStream(new File(folder, getFile())));
+		PdfWriter writer = PdfWriter.getInstance(document, out);
+		writer.setCloseStream(false);
 		writer.setPageEvent(this);
 
 		document.open();
@@ -83,9 +112,16 @@ public abstract class RecurringPageDocument extends PdfPageEventHelper {
 
 	public abstract boolean next();
 
+	/**
+	 * Page handle passed to the add* hooks; none of the iText printers use it,
+	 * so no PDFBox page is allocated (render backends are in kexamprint.render)
+	 */
 	public PDPage setUpPage(Document document) {
-		PDPage page = new PDPage();
-		return page;
+		return null;
+	}
+
+	public PageSizeType getPageSizeType() {
+		return isA4() ? PageSizeType.A4 : PageSizeType.A3;
 	}
 
 	public abstract void addHeader(PdfWriter writer, Document doc, PDPage page) throws Exception;
@@ -0,0 +1,241 @@
+package kexamprint.daemon;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local HTTP API of the print daemon
+ *
+ *   GET  /status                                   loaded data and cache state
+ *   POST /render?day=6                             whole day (papers and forms)
+ *   POST /render?day=6&room=101&time=09:00         one room session
+ *   POST /render?day=6&room=101&time=09:00&seat=4  one seat's paper
+ *   POST /reload                                   reload data, drop caches
+ *   POST /shutdown
+ *
+ * Binds to the loopback address only. Every request must carry the shared
+ * token in an X-Kprint-Token header (daemon.token, or a random one printed
+ * at startup), and requests with an Origin header are refused: a web page
+ * in a browser on the print machine can reach the loopback port, but can
+ * neither send a custom header without a CORS preflight nor hide its
+ * origin. Requests run one at a time on the server thread, so renders
+ * never overlap; responses are JSON.
+ */
+public class PrintDaemon {
+
+    private static final Logger log = LogManager.getLogger(PrintDaemon.class);
+
+    static final String TOKEN_HEADER = "X-Kprint-Token";
+
+    /**
+     * What the daemon asks of the application holding the warm data
+     */
+    public interface Backend {
+
+        /**
+         * Renders the selected papers; null room/time/seat select all
+         *
+         * @throws IllegalArgumentException if nothing matches
+         */
+        Reprint render(int day, String room, String time, Integer seat) throws Exception;
+
+        /**
+         * Reloads the data snapshot and returns a one-line summary
+         */
+        String reload() throws Exception;
+
+        /**
+         * One-line summary of the loaded data
+         */
+        String status();
+    }
+
+    /**
+     * Outcome of one render request
+     */
+    public static class Reprint {
+        private final List<String> files = new ArrayList<>();
+        private final List<String> failed = new ArrayList<>();
+        private int papers;
+        private int forms;
+
+        public void addPapers(int count) { papers += count; }
+        public void addForms(int count) { forms += count; }
+        public void addFile(String path) { files.add(path); }
+        public void addFailed(List<String> paths) { failed.addAll(paths); }
+    }
+
+    private final Backend backend;
+    private final byte[] token;
+    private final boolean tokenGenerated;
+    private final HttpServer server;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    /**
+     * @param token shared secret clients send in X-Kprint-Token; null or
+     *              blank generates a random one
+     */
+    public PrintDaemon(Backend backend, int port, String token) throws IOException {
+        this.backend = backend;
+        this.tokenGenerated = token == null || token.isBlank();
+        this.token = (tokenGenerated ? randomToken() : token.trim()).getBytes(StandardCharsets.UTF_8);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/status", exchange -> handle(exchange, "GET", this::status));
+        server.createContext("/render", exchange -> handle(exchange, "POST", this::render));
+        server.createContext("/reload", exchange -> handle(exchange, "POST",
+            e -> "{\"reloaded\": \"" + escape(backend.reload()) + "\"}"));
+        server.createContext("/shutdown", exchange -> handle(exchange, "POST", e -> {
+            stopped.countDown();
+            return "{\"stopping\": true}";
+        }));
+    }
+
+    /**
+     * Serves requests until POST /shutdown
+     */
+    public void run() throws InterruptedException {
+        server.start();
+        System.out.println("Print daemon listening on http://" + server.getAddress().getHostString()
+            + ":" + server.getAddress().getPort());
+        if (tokenGenerated) {
+            System.out.println("  " + TOKEN_HEADER + ": " + new String(token, StandardCharsets.UTF_8)
+                + " (set daemon.token to fix it)");
+        }
+        stopped.await();
+        server.stop(1);
+        System.out.println("Print daemon stopped");
+    }
+
+    private interface Action {
+        String apply(HttpExchange exchange) throws Exception;
+    }
+
+    private void handle(HttpExchange exchange, String method, Action action) throws IOException {
+        int status = 200;
+        String body;
+        String sent = exchange.getRequestHeaders().getFirst(TOKEN_HEADER);
+        if (exchange.getRequestHeaders().containsKey("Origin")) {
+            status = 403;
+            body = error("browser requests are not accepted");
+            log.warn("Refused daemon request {} from origin {}", exchange.getRequestURI(),
+                exchange.getRequestHeaders().getFirst("Origin"));
+        } else if (sent == null || !MessageDigest.isEqual(token, sent.getBytes(StandardCharsets.UTF_8))) {
+            status = 401;
+            body = error(TOKEN_HEADER + " missing or wrong");
+        } else if (!method.equals(exchange.getRequestMethod())) {
+            status = 405;
+            body = error(method + " required");
+        } else {
+            try {
+                body = action.apply(exchange);
+            } catch (IllegalArgumentException e) {
+                status = 400;
+                body = error(e.getMessage());
+            } catch (Exception e) {
+                log.error("Daemon request {} failed", exchange.getRequestURI(), e);
+                status = 500;
+                body = error(String.valueOf(e.getMessage()));
+            }
+        }
+        byte[] bytes = (body + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String randomToken() {
+        byte[] bytes = new byte[16];
+        new SecureRandom().nextBytes(bytes);
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    private String status(HttpExchange exchange) {
+        return "{\"status\": \"" + escape(backend.status()) + "\"}";
+    }
+
+    private String render(HttpExchange exchange) throws Exception {
+        Map<String, String> params = query(exchange);
+        String day = params.get("day");
+        if (day == null) {
+            throw new IllegalArgumentException("day is required");
+        }
+        String seat = params.get("seat");
+        if (seat != null && params.get("room") == null) {
+            throw new IllegalArgumentException("seat needs room");
+        }
+
+        long start = System.nanoTime();
+        Reprint reprint;
+        try {
+            reprint = backend.render(Integer.parseInt(day), params.get("room"), params.get("time"),
+                seat != null ? Integer.valueOf(seat) : null);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("day and seat must be numbers");
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Rendered {} papers, {} forms for {} in {} ms ({} failed)", reprint.papers, reprint.forms,
+            exchange.getRequestURI().getQuery(), millis, reprint.failed.size());
+
+        return "{\"papers\": " + reprint.papers + ", \"forms\": " + reprint.forms
+            + ", \"millis\": " + millis + ", \"files\": " + array(reprint.files)
+            + ", \"failed\": " + array(reprint.failed) + "}";
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static String array(List<String> values) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append('"').append(escape(values.get(i))).append('"');
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String error(String message) {
+        return "{\"error\": \"" + escape(message) + "\"}";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
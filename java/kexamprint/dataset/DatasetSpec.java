@@ -0,0 +1,93 @@
+package kexamprint.dataset;
+
+/**
+ * Size and shape of a synthetic exam term
+ *
+ * Written seats = days x sessionsPerDay x rooms x seatsPerRoom; the default
+ * is a 21,600-seat week, and e.g. days=10 sessions=4 rooms=420 gives
+ * ~500k seats.
+ */
+public class DatasetSpec {
+
+    private int days = 6;
+    private int sessionsPerDay = 3;
+    private int rooms = 40;
+    private int seatsPerRoom = 30;
+    /** Distinct exam code + curriculum language pairs */
+    private int examPairs = 60;
+    private int examsPerRoom = 2;
+    private int questionsPerExam = 20;
+    private int imagesPerQuestion = 1;
+    /** Share of oral-exam students, relative to written seats per day */
+    private double oralShare = 0.05;
+    /** Share of exam pairs that are drawing exams (A3 papers) */
+    private double drawingShare = 0.05;
+    /** Share of question images stored as JPEG instead of PNG */
+    private double jpegShare = 0.5;
+    /** Share of room sessions that already have question assignments */
+    private double assignedShare = 1.0;
+    /** Question scan resolution */
+    private int dpi = 200;
+    private long seed = 42;
+
+    /**
+     * Sets one parameter from a name=value argument
+     *
+     * @throws IllegalArgumentException for an unknown name or bad value
+     */
+    public void set(String argument) {
+        int eq = argument.indexOf('=');
+        if (eq <= 0) {
+            throw new IllegalArgumentException("Expected name=value: " + argument);
+        }
+        String name = argument.substring(0, eq).trim();
+        String value = argument.substring(eq + 1).trim();
+        switch (name) {
+            case "days": days = Integer.parseInt(value); break;
+            case "sessions": sessionsPerDay = Integer.parseInt(value); break;
+            case "rooms": rooms = Integer.parseInt(value); break;
+            case "seats": seatsPerRoom = Integer.parseInt(value); break;
+            case "exams": examPairs = Integer.parseInt(value); break;
+            case "examsPerRoom": examsPerRoom = Integer.parseInt(value); break;
+            case "questions": questionsPerExam = Integer.parseInt(value); break;
+            case "images": imagesPerQuestion = Integer.parseInt(value); break;
+            case "oral": oralShare = Double.parseDouble(value); break;
+            case "drawing": drawingShare = Double.parseDouble(value); break;
+            case "jpeg": jpegShare = Double.parseDouble(value); break;
+            case "assigned": assignedShare = Double.parseDouble(value); break;
+            case "dpi": dpi = Integer.parseInt(value); break;
+            case "seed": seed = Long.parseLong(value); break;
+            default: throw new IllegalArgumentException("Unknown dataset parameter: " + name);
+        }
+        if (sessionsPerDay > SyntheticDataset.TIME_SLOTS.length) {
+            throw new IllegalArgumentException("At most " + SyntheticDataset.TIME_SLOTS.length + " sessions per day");
+        }
+    }
+
+    public long getWrittenSeats() {
+        return (long) days * sessionsPerDay * rooms * seatsPerRoom;
+    }
+
+    public int getDays() { return days; }
+    public int getSessionsPerDay() { return sessionsPerDay; }
+    public int getRooms() { return rooms; }
+    public int getSeatsPerRoom() { return seatsPerRoom; }
+    public int getExamPairs() { return examPairs; }
+    public int getExamsPerRoom() { return examsPerRoom; }
+    public int getQuestionsPerExam() { return questionsPerExam; }
+    public int getImagesPerQuestion() { return imagesPerQuestion; }
+    public double getOralShare() { return oralShare; }
+    public double getDrawingShare() { return drawingShare; }
+    public double getJpegShare() { return jpegShare; }
+    public double getAssignedShare() { return assignedShare; }
+    public int getDpi() { return dpi; }
+    public long getSeed() { return seed; }
+
+    @Override
+    public String toString() {
+        return String.format("days=%d sessions=%d rooms=%d seats=%d exams=%d examsPerRoom=%d questions=%d "
+            + "images=%d oral=%.2f drawing=%.2f jpeg=%.2f assigned=%.2f dpi=%d seed=%d",
+            days, sessionsPerDay, rooms, seatsPerRoom, examPairs, examsPerRoom, questionsPerExam,
+            imagesPerQuestion, oralShare, drawingShare, jpegShare, assignedShare, dpi, seed);
+    }
+}
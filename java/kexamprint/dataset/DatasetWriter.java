@@ -0,0 +1,172 @@
+package kexamprint.dataset;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+
+import kexamprint.model.OralExamAnnouncement;
+import kexamprint.model.QuestionAssignment;
+import kexamprint.model.TaramaQuestion;
+import kexamprint.model.WrittenExamAnnouncement;
+import kexamprint.util.ResourceLoader;
+
+/**
+ * Writes a synthetic dataset as PostgreSQL-loadable CSV files
+ *
+ * Besides one CSV per table, writes schema.sql (CREATE TABLE IF NOT EXISTS
+ * for the four tables the repositories read, plus their change-notify
+ * triggers) and load.sql (TRUNCATE + \copy), so a local database is filled
+ * with:
+ *
+ *   psql -d k5 -f schema.sql -f load.sql
+ */
+public class DatasetWriter {
+
+    static final String WRITTEN_COLUMNS = "id, day, seat_no, session_key, exam_code, exam_name, variant, "
+        + "curriculum_language, student_id, student_name, student_surname, exam_date, day_name, "
+        + "start_time, end_time, room, room_type, building, program_name, education_type, has_disability";
+    static final String ORAL_COLUMNS = "id, day, exam_code, exam_name, variant, building, room, student_id, "
+        + "student_name, student_surname, curriculum_year, curriculum_language, program_name, "
+        + "education_type, has_disability";
+    static final String TARAMA_COLUMNS = "id, real_id, images, derskodu, dersdili";
+    static final String ASSIGNMENT_COLUMNS = "id, placement_id, student_id, room_code, exam_code, "
+        + "curriculum_language, tarama_question_id, question_id, paper_code, session_key, assigned_at";
+
+    private static final String SCHEMA =
+        "CREATE SCHEMA IF NOT EXISTS kexam;\n"
+        + "CREATE SCHEMA IF NOT EXISTS kexamprint;\n"
+        + "CREATE SCHEMA IF NOT EXISTS vg12526;\n\n"
+        + "CREATE TABLE IF NOT EXISTS kexam.written_exam_announcements (\n"
+        + "    id integer PRIMARY KEY, day integer, seat_no integer, session_key text, exam_code text,\n"
+        + "    exam_name text, variant text, curriculum_language text, student_id integer,\n"
+        + "    student_name text, student_surname text, exam_date text, day_name text,\n"
+        + "    start_time time, end_time time, room text, room_type text, building text,\n"
+        + "    program_name text, education_type text, has_disability boolean\n"
+        + ");\n\n"
+        + "CREATE TABLE IF NOT EXISTS kexam.oral_exam_announcements (\n"
+        + "    id integer PRIMARY KEY, day integer, exam_code text, exam_name text, variant text,\n"
+        + "    building text, room text, student_id integer, student_name text, student_surname text,\n"
+        + "    curriculum_year text, curriculum_language text, program_name text,\n"
+        + "    education_type text, has_disability boolean\n"
+        + ");\n\n"
+        + "CREATE TABLE IF NOT EXISTS vg12526.tarama (\n"
+        + "    id text, real_id serial PRIMARY KEY, images text, derskodu text, dersdili text\n"
+        + ");\n\n"
+        + "CREATE TABLE IF NOT EXISTS kexamprint.question_assignments (\n"
+        + "    id serial PRIMARY KEY, placement_id integer UNIQUE, student_id integer, room_code text,\n"
+        + "    exam_code text, curriculum_language text, tarama_question_id text, question_id integer,\n"
+        + "    paper_code bigint, session_key text, assigned_at timestamp DEFAULT now()\n"
+        + ");\n";
+
+    /**
+     * Writes the CSV files, schema.sql and load.sql into the directory
+     */
+    public void write(SyntheticDataset dataset, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        writeCsv(dir.resolve("written_exam_announcements.csv"), dataset.getWrittenAnnouncements(),
+            DatasetWriter::writtenRow);
+        writeCsv(dir.resolve("oral_exam_announcements.csv"), dataset.getOralAnnouncements(),
+            DatasetWriter::oralRow);
+        writeCsv(dir.resolve("tarama.csv"), dataset.getQuestions(), DatasetWriter::taramaRow);
+        writeCsv(dir.resolve("question_assignments.csv"), dataset.getAssignments(), DatasetWriter::assignmentRow);
+
+        String schema = SCHEMA + "\n" + changeNotifyTriggers();
+        Files.write(dir.resolve("schema.sql"), schema.getBytes(StandardCharsets.UTF_8));
+        String load = "-- " + dataset.getSpec() + "\n"
+            + "TRUNCATE kexam.written_exam_announcements, kexam.oral_exam_announcements, vg12526.tarama, "
+            + "kexamprint.question_assignments;\n"
+            + copy("kexam.written_exam_announcements", WRITTEN_COLUMNS, "written_exam_announcements.csv")
+            + copy("kexam.oral_exam_announcements", ORAL_COLUMNS, "oral_exam_announcements.csv")
+            + copy("vg12526.tarama", TARAMA_COLUMNS, "tarama.csv")
+            + copy("kexamprint.question_assignments", ASSIGNMENT_COLUMNS, "question_assignments.csv")
+            + "SELECT setval(pg_get_serial_sequence('vg12526.tarama', 'real_id'), "
+            + "(SELECT COALESCE(MAX(real_id), 1) FROM vg12526.tarama));\n"
+            + "SELECT setval(pg_get_serial_sequence('kexamprint.question_assignments', 'id'), "
+            + "(SELECT COALESCE(MAX(id), 1) FROM kexamprint.question_assignments));\n"
+            + "ANALYZE kexam.written_exam_announcements, kexam.oral_exam_announcements, vg12526.tarama, "
+            + "kexamprint.question_assignments;\n";
+        Files.write(dir.resolve("load.sql"), load.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The repository cache's NOTIFY triggers, so a local database gets them too
+     */
+    private static String changeNotifyTriggers() throws IOException {
+        try (InputStream in = ResourceLoader.getResourceAsStream("kexamprint/sql/table_change_notify.sql")) {
+            return in == null ? "" : new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String copy(String table, String columns, String file) {
+        return "\\copy " + table + " (" + columns + ") FROM '" + file + "' WITH (FORMAT csv)\n";
+    }
+
+    private static <T> void writeCsv(Path file, List<T> rows, Function<T, Object[]> columns) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            StringBuilder line = new StringBuilder(256);
+            for (T row : rows) {
+                line.setLength(0);
+                Object[] values = columns.apply(row);
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        line.append(',');
+                    }
+                    appendField(line, values[i]);
+                }
+                line.append('\n');
+                writer.append(line);
+            }
+        }
+    }
+
+    /**
+     * CSV field as PostgreSQL COPY reads it: unquoted empty is NULL, so
+     * empty strings and text with separators are quoted
+     */
+    private static void appendField(StringBuilder line, Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.isEmpty() || text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0) {
+            line.append('"').append(text.replace("\"", "\"\"")).append('"');
+        } else {
+            line.append(text);
+        }
+    }
+
+    private static Object[] writtenRow(WrittenExamAnnouncement a) {
+        return new Object[] {
+            a.getId(), a.getDay(), a.getSeatNo(), a.getSessionKey(), a.getExamCode(), a.getExamName(),
+            a.getVariant(), a.getCurriculumLanguage(), a.getStudentId(), a.getStudentName(),
+            a.getStudentSurname(), a.getExamDate(), a.getDayName(), a.getStartTime(), a.getEndTime(),
+            a.getRoom(), a.getRoomType(), a.getBuilding(), a.getProgramName(), a.getEducationType(),
+            a.getHasDisability()
+        };
+    }
+
+    private static Object[] oralRow(OralExamAnnouncement a) {
+        return new Object[] {
+            a.getId(), a.getDay(), a.getExamCode(), a.getExamName(), a.getVariant(), a.getBuilding(),
+            a.getRoom(), a.getStudentId(), a.getStudentName(), a.getStudentSurname(), a.getCurriculumYear(),
+            a.getCurriculumLanguage(), a.getProgramName(), a.getEducationType(), a.getHasDisability()
+        };
+    }
+
+    private static Object[] taramaRow(TaramaQuestion q) {
+        return new Object[] { q.getId(), q.getRealId(), q.getImagePath(), q.getExamCode(), q.getLanguage() };
+    }
+
+    private static Object[] assignmentRow(QuestionAssignment a) {
+        return new Object[] {
+            a.getId(), a.getPlacementId(), a.getStudentId(), a.getRoomCode(), a.getExamCode(),
+            a.getCurriculumLanguage(), a.getTaramaQuestionId(), a.getQuestionId(), a.getPaperCode(),
+            a.getSessionKey(), a.getAssignedAt()
+        };
+    }
+}
@@ -0,0 +1,133 @@
+package kexamprint.dataset;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import kexamprint.model.TaramaQuestion;
+
+/**
+ * Writes dummy question scans for a synthetic dataset: PNG or JPEG (by
+ * file extension) at A4 or A3 page width for the configured dpi
+ *
+ * Encoding a 200 dpi scan takes far longer than writing it, so a few
+ * variants per format and page size are encoded once and every question
+ * file gets a copy of one of them.
+ */
+public class QuestionScans {
+
+    private static final int VARIANTS = 8;
+
+    private final int dpi;
+    private final Map<String, byte[]> encoded = new HashMap<>();
+
+    public QuestionScans(int dpi) {
+        this.dpi = dpi;
+    }
+
+    /**
+     * Writes the image file of every question row into the directory
+     *
+     * @return number of files written
+     */
+    public int writeAll(SyntheticDataset dataset, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        int written = 0;
+        for (TaramaQuestion question : dataset.getQuestions()) {
+            String fileName = question.getFileName();
+            boolean jpeg = fileName.endsWith(".jpg");
+            boolean a3 = dataset.isDrawing(question);
+            byte[] bytes = variant(jpeg, a3, question.getRealId() % VARIANTS);
+            Files.write(dir.resolve(fileName), bytes);
+            written++;
+        }
+        return written;
+    }
+
+    private byte[] variant(boolean jpeg, boolean a3, int variant) throws IOException {
+        String key = (jpeg ? "jpg" : "png") + (a3 ? "-a3-" : "-a4-") + variant;
+        byte[] bytes = encoded.get(key);
+        if (bytes == null) {
+            bytes = encode(render(a3, variant), jpeg ? "jpg" : "png");
+            encoded.put(key, bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * Scan of a question sheet: page-width image, most of the page height,
+     * with text lines, a formula box and a figure
+     */
+    private BufferedImage render(boolean a3, int variant) {
+        // A4 210 x 297 mm, A3 297 x 420 mm; the scan covers ~80% of the height
+        double widthMm = a3 ? 297 : 210;
+        double heightMm = (a3 ? 420 : 297) * 0.8;
+        int width = (int) Math.round(widthMm / 25.4 * dpi);
+        int height = (int) Math.round(heightMm / 25.4 * dpi);
+
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+
+        Random random = new Random(variant * 31L + (a3 ? 7 : 0));
+        int margin = width / 12;
+        int lineHeight = dpi / 4;
+        g.setColor(Color.BLACK);
+        g.setFont(new Font(Font.SERIF, Font.PLAIN, dpi / 8));
+        g.drawString("Savol " + (variant + 1), margin, margin);
+        g.setStroke(new BasicStroke(Math.max(1, dpi / 100f)));
+        for (int y = margin + lineHeight; y < height / 2; y += lineHeight) {
+            int length = width - 2 * margin - random.nextInt(width / 3);
+            g.drawString(randomText(random, length / (dpi / 16)), margin, y);
+        }
+        // Figure: axes and a curve, as in most math/physics questions
+        int top = height / 2 + lineHeight;
+        int size = Math.min(width - 2 * margin, height - top - margin);
+        g.drawRect(margin, top, size, size);
+        int previous = top + size / 2;
+        for (int x = 1; x < size; x += 4) {
+            int y = top + size / 2 - (int) (Math.sin((x + variant * 20) / (double) size * 6) * size / 3);
+            g.drawLine(margin + x - 4, previous, margin + x, y);
+            previous = y;
+        }
+        // Scanner noise, so the images do not compress unrealistically well
+        g.setColor(new Color(200, 200, 200));
+        for (int i = 0; i < width * height / 2000; i++) {
+            g.fillRect(random.nextInt(width), random.nextInt(height), 1 + random.nextInt(2), 1);
+        }
+        g.dispose();
+        return img;
+    }
+
+    private static String randomText(Random random, int chars) {
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < chars) {
+            int word = 2 + random.nextInt(8);
+            for (int i = 0; i < word; i++) {
+                sb.append((char) ('a' + random.nextInt(26)));
+            }
+            sb.append(' ');
+        }
+        return sb.toString();
+    }
+
+    private static byte[] encode(BufferedImage img, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(img, format, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,257 @@
+package kexamprint.dataset;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import kexamprint.model.OralExamAnnouncement;
+import kexamprint.model.QuestionAssignment;
+import kexamprint.model.TaramaQuestion;
+import kexamprint.model.WrittenExamAnnouncement;
+
+/**
+ * Generated exam term: written and oral announcements, tarama questions and
+ * question assignments shaped like the production tables
+ *
+ * Every room session holds {@link DatasetSpec#getExamsPerRoom()} exam pairs
+ * seated alternately; assignments are round-robin per session and exam
+ * pair, like QuestionAssignmentService (without the reserve). The same
+ * spec and seed always give the same data.
+ */
+public class SyntheticDataset {
+
+    static final String[][] TIME_SLOTS = {
+        { "09:00", "11:00" }, { "11:30", "13:30" }, { "14:00", "16:00" }, { "16:30", "18:30" }
+    };
+
+    private static final String[] LANGUAGES = { "uz", "ru", "en" };
+    private static final String[] EXAM_PREFIXES = { "MAT", "FIZ", "KIM", "INF", "IQT", "TAR", "BIO", "ING" };
+    private static final String[] COURSE_NAMES = {
+        "Oliy matematika", "Fizika", "Umumiy kimyo", "Informatika", "Iqtisodiyot nazariyasi",
+        "O'zbekiston tarixi", "Biologiya", "Ingliz tili"
+    };
+    private static final String[] PROGRAMS = { "Matematika", "Fizika", "Kimyo", "Iqtisodiyot", "Pedagogika" };
+    private static final String[] BUILDINGS = { "A", "B", "C", "D" };
+    private static final String[] NAMES = {
+        "Aziz", "Bekzod", "Dilnoza", "Farrux", "Gulnora", "Jasur", "Kamola", "Laylo", "Madina", "Nodir",
+        "Otabek", "Ravshan", "Sardor", "Shahzoda", "Timur", "Umida", "Xurshid", "Yulduz", "Zafar", "Nilufar"
+    };
+    private static final String[] SURNAMES = {
+        "Abdullayev", "Karimov", "Rahimova", "Tursunov", "Yusupova", "Aliyev", "Ergasheva", "Qodirov",
+        "Saidova", "Ismoilov", "Nazarova", "Xolmatov"
+    };
+    private static final String[] DAY_NAMES = {
+        "Dushanba", "Seshanba", "Chorshanba", "Payshanba", "Juma", "Shanba", "Yakshanba"
+    };
+
+    static final LocalDate FIRST_DAY = LocalDate.of(2025, 11, 10);
+    private static final LocalDateTime ASSIGNED_AT = LocalDateTime.of(2025, 11, 1, 12, 0);
+
+    private final DatasetSpec spec;
+    private final List<ExamPair> pairs = new ArrayList<>();
+    private final Set<String> drawingExams = new HashSet<>();
+    private final List<WrittenExamAnnouncement> writtenAnnouncements = new ArrayList<>();
+    private final List<OralExamAnnouncement> oralAnnouncements = new ArrayList<>();
+    private final List<TaramaQuestion> questions = new ArrayList<>();
+    private final List<QuestionAssignment> assignments = new ArrayList<>();
+
+    private SyntheticDataset(DatasetSpec spec) {
+        this.spec = spec;
+    }
+
+    public static SyntheticDataset generate(DatasetSpec spec) {
+        SyntheticDataset dataset = new SyntheticDataset(spec);
+        Random random = new Random(spec.getSeed());
+        dataset.generatePairs(random);
+        dataset.generateQuestions();
+        dataset.generateWritten(random);
+        dataset.generateOral(random);
+        return dataset;
+    }
+
+    private void generatePairs(Random random) {
+        for (int p = 0; p < spec.getExamPairs(); p++) {
+            int exam = p / LANGUAGES.length;
+            String code = EXAM_PREFIXES[exam % EXAM_PREFIXES.length] + (101 + exam / EXAM_PREFIXES.length);
+            String course = COURSE_NAMES[exam % COURSE_NAMES.length];
+            boolean drawing = random.nextDouble() < spec.getDrawingShare();
+            pairs.add(new ExamPair(code, LANGUAGES[p % LANGUAGES.length], course, drawing));
+            if (drawing) {
+                drawingExams.add(code + "|" + LANGUAGES[p % LANGUAGES.length]);
+            }
+        }
+    }
+
+    private void generateQuestions() {
+        int realId = 1;
+        int imageIndex = 0;
+        for (ExamPair pair : pairs) {
+            for (int q = 0; q < spec.getQuestionsPerExam(); q++) {
+                String id = pair.code + "-" + pair.language + "-" + (q + 1);
+                for (int image = 0; image < spec.getImagesPerQuestion(); image++) {
+                    // Deterministic JPEG/PNG mix, spread evenly over the images
+                    boolean jpeg = (imageIndex++ * 0.618034) % 1.0 < spec.getJpegShare();
+                    TaramaQuestion question = new TaramaQuestion(id,
+                        pair.code + "-" + pair.language + "\\q" + realId + (jpeg ? ".jpg" : ".png"),
+                        pair.code, pair.language);
+                    question.setRealId(realId++);
+                    questions.add(question);
+                    if (image == 0) {
+                        pair.questions.add(question);
+                    }
+                }
+            }
+        }
+    }
+
+    private void generateWritten(Random random) {
+        int placementId = 1;
+        int studentId = 2400001;
+        int assignmentId = 1;
+        long sessionIndex = 0;
+        long sessionCount = (long) spec.getDays() * spec.getSessionsPerDay() * spec.getRooms();
+        for (int day = 1; day <= spec.getDays(); day++) {
+            LocalDate date = FIRST_DAY.plusDays(day - 1);
+            String dayName = DAY_NAMES[date.getDayOfWeek().getValue() - 1];
+            for (int slot = 0; slot < spec.getSessionsPerDay(); slot++) {
+                LocalTime start = LocalTime.parse(TIME_SLOTS[slot][0]);
+                LocalTime end = LocalTime.parse(TIME_SLOTS[slot][1]);
+                for (int r = 0; r < spec.getRooms(); r++) {
+                    String building = BUILDINGS[r % BUILDINGS.length];
+                    String room = String.valueOf(101 + r);
+                    String sessionKey = "d" + day + "-" + TIME_SLOTS[slot][0] + "-" + building + room;
+                    boolean assigned = sessionIndex++ < Math.round(sessionCount * spec.getAssignedShare());
+
+                    // Room sessions cycle through the exam pairs
+                    List<ExamPair> roomPairs = new ArrayList<>();
+                    int firstPair = (int) ((sessionIndex * spec.getExamsPerRoom()) % pairs.size());
+                    for (int k = 0; k < spec.getExamsPerRoom(); k++) {
+                        roomPairs.add(pairs.get((firstPair + k) % pairs.size()));
+                    }
+                    String roomType = roomPairs.get(0).drawing ? "drawing" : "normal";
+                    int[] nextQuestion = new int[roomPairs.size()];
+
+                    for (int seat = 1; seat <= spec.getSeatsPerRoom(); seat++) {
+                        int k = (seat - 1) % roomPairs.size();
+                        ExamPair pair = roomPairs.get(k);
+
+                        WrittenExamAnnouncement a = new WrittenExamAnnouncement();
+                        a.setId(placementId);
+                        a.setDay(day);
+                        a.setSeatNo(seat);
+                        a.setSessionKey(sessionKey);
+                        a.setExamCode(pair.code);
+                        a.setExamName(pair.course);
+                        a.setCurriculumLanguage(pair.language);
+                        a.setStudentId(studentId);
+                        a.setStudentName(NAMES[random.nextInt(NAMES.length)]);
+                        a.setStudentSurname(SURNAMES[random.nextInt(SURNAMES.length)]);
+                        a.setExamDate(date.toString());
+                        a.setDayName(dayName);
+                        a.setStartTime(start);
+                        a.setEndTime(end);
+                        a.setRoom(room);
+                        a.setRoomType(roomType);
+                        a.setBuilding(building);
+                        a.setProgramName(PROGRAMS[(studentId / 50) % PROGRAMS.length]);
+                        a.setEducationType(random.nextInt(5) == 0 ? "EVENING" : "DAYTIME");
+                        a.setHasDisability(random.nextInt(200) == 0);
+                        writtenAnnouncements.add(a);
+
+                        if (assigned && !pair.questions.isEmpty()) {
+                            TaramaQuestion question = pair.questions.get(nextQuestion[k]++ % pair.questions.size());
+                            assignments.add(assignment(assignmentId++, a, question));
+                        }
+                        placementId++;
+                        studentId++;
+                    }
+                }
+            }
+        }
+    }
+
+    private QuestionAssignment assignment(int id, WrittenExamAnnouncement a, TaramaQuestion question) {
+        QuestionAssignment assignment = new QuestionAssignment();
+        assignment.setId(id);
+        assignment.setPlacementId(a.getId());
+        assignment.setStudentId(a.getStudentId());
+        assignment.setRoomCode(a.getBuilding() + a.getRoom());
+        assignment.setExamCode(a.getExamCode());
+        assignment.setCurriculumLanguage(a.getCurriculumLanguage());
+        assignment.setTaramaQuestionId(question.getId());
+        assignment.setQuestionId(question.getRealId());
+        assignment.setPaperCode(paperCode(a.getId()));
+        assignment.setSessionKey(a.getSessionKey());
+        assignment.setAssignedAt(ASSIGNED_AT);
+        return assignment;
+    }
+
+    /**
+     * Unique 9-digit code that does not reveal the placement order
+     * (multiplication by a prime is a bijection modulo 900,000,000)
+     */
+    public static long paperCode(int placementId) {
+        return 100_000_000L + (placementId * 48_271L) % 900_000_000L;
+    }
+
+    private void generateOral(Random random) {
+        int perDay = (int) Math.round(spec.getRooms() * spec.getSessionsPerDay() * spec.getSeatsPerRoom()
+            * spec.getOralShare());
+        int id = 1;
+        int studentId = 2400001 + writtenAnnouncements.size();
+        for (int day = 1; day <= spec.getDays(); day++) {
+            for (int i = 0; i < perDay; i++) {
+                ExamPair pair = pairs.get((day * 31 + i / 20) % pairs.size());
+                OralExamAnnouncement a = new OralExamAnnouncement();
+                a.setId(id++);
+                a.setDay(day);
+                a.setExamCode(pair.code);
+                a.setExamName(pair.course);
+                a.setBuilding("O");
+                a.setRoom(String.valueOf(1 + i / 20));
+                a.setStudentId(studentId++);
+                a.setStudentName(NAMES[random.nextInt(NAMES.length)]);
+                a.setStudentSurname(SURNAMES[random.nextInt(SURNAMES.length)]);
+                a.setCurriculumYear(String.valueOf(2022 + random.nextInt(4)));
+                a.setCurriculumLanguage(pair.language);
+                a.setProgramName(PROGRAMS[random.nextInt(PROGRAMS.length)]);
+                a.setEducationType("DAYTIME");
+                a.setHasDisability(false);
+                oralAnnouncements.add(a);
+            }
+        }
+    }
+
+    /**
+     * True if the question belongs to a drawing exam (A3 scan)
+     */
+    public boolean isDrawing(TaramaQuestion question) {
+        return drawingExams.contains(question.getExamCode() + "|" + question.getLanguage());
+    }
+
+    public DatasetSpec getSpec() { return spec; }
+    public List<WrittenExamAnnouncement> getWrittenAnnouncements() { return writtenAnnouncements; }
+    public List<OralExamAnnouncement> getOralAnnouncements() { return oralAnnouncements; }
+    public List<TaramaQuestion> getQuestions() { return questions; }
+    public List<QuestionAssignment> getAssignments() { return assignments; }
+
+    private static class ExamPair {
+        final String code;
+        final String language;
+        final String course;
+        final boolean drawing;
+        final List<TaramaQuestion> questions = new ArrayList<>();
+
+        ExamPair(String code, String language, String course, boolean drawing) {
+            this.code = code;
+            this.language = language;
+            this.course = course;
+            this.drawing = drawing;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package kexamprint.db;
+
+import kexamprint.model.OralExamAnnouncement;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-through cache over an oral exam repository, invalidated when
+ * kexam.oral_exam_announcements changes
+ *
+ * Callers get their own list; the announcements in it are shared.
+ */
+public class CachingOralExamRepository implements OralExamRepository {
+
+    private final OralExamRepository delegate;
+    private final QueryCache cache;
+
+    public CachingOralExamRepository(OralExamRepository delegate, TableChangeMonitor monitor) {
+        this.delegate = delegate;
+        this.cache = new QueryCache(monitor, "kexam.oral_exam_announcements");
+    }
+
+    @Override
+    public List<OralExamAnnouncement> findAll() throws SQLException {
+        return new ArrayList<>(cache.get("findAll", delegate::findAll));
+    }
+
+    @Override
+    public List<OralExamAnnouncement> findByDay(int day) throws SQLException {
+        return new ArrayList<>(cache.get("findByDay:" + day, () -> delegate.findByDay(day)));
+    }
+}
@@ -0,0 +1,93 @@
+package kexamprint.db;
+
+import kexamprint.model.QuestionAssignment;
+import kexamprint.util.IntMap;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-through cache over a question assignment repository, invalidated
+ * when kexamprint.question_assignments changes or is written through it
+ *
+ * Callers get their own list; the assignments in it are shared.
+ */
+public class CachingQuestionAssignmentRepository implements QuestionAssignmentRepository {
+
+    private final QuestionAssignmentRepository delegate;
+    private final QueryCache cache;
+
+    public CachingQuestionAssignmentRepository(QuestionAssignmentRepository delegate, TableChangeMonitor monitor) {
+        this.delegate = delegate;
+        this.cache = new QueryCache(monitor, "kexamprint.question_assignments");
+    }
+
+    @Override
+    public void save(QuestionAssignment assignment) throws SQLException {
+        try {
+            delegate.save(assignment);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public void saveAll(List<QuestionAssignment> assignments) throws SQLException {
+        try {
+            delegate.saveAll(assignments);
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public List<QuestionAssignment> findAll() throws SQLException {
+        return new ArrayList<>(cache.get("findAll", delegate::findAll));
+    }
+
+    @Override
+    public QuestionAssignment findByPlacementId(Integer placementId) throws SQLException {
+        return cache.get("findByPlacementId:" + placementId, () -> delegate.findByPlacementId(placementId));
+    }
+
+    @Override
+    public List<QuestionAssignment> findBySessionKey(String sessionKey) throws SQLException {
+        return new ArrayList<>(cache.get("findBySessionKey:" + sessionKey,
+            () -> delegate.findBySessionKey(sessionKey)));
+    }
+
+    @Override
+    public IntMap<QuestionAssignment> findByPlacementIds(int[] placementIds) throws SQLException {
+        return copy(cache.get("findByPlacementIds:" + Arrays.toString(placementIds),
+            () -> delegate.findByPlacementIds(placementIds)));
+    }
+
+    @Override
+    public IntMap<QuestionAssignment> findBySessionKeys(List<String> sessionKeys) throws SQLException {
+        return copy(cache.get("findBySessionKeys:" + sessionKeys, () -> delegate.findBySessionKeys(sessionKeys)));
+    }
+
+    private static IntMap<QuestionAssignment> copy(IntMap<QuestionAssignment> assignments) {
+        IntMap<QuestionAssignment> copy = new IntMap<>(assignments.size());
+        for (int placementId : assignments.keys()) {
+            copy.put(placementId, assignments.get(placementId));
+        }
+        return copy;
+    }
+
+    @Override
+    public void deleteAll() throws SQLException {
+        try {
+            delegate.deleteAll();
+        } finally {
+            cache.invalidate();
+        }
+    }
+
+    @Override
+    public int count() throws SQLException {
+        return cache.get("count", delegate::count);
+    }
+}
@@ -0,0 +1,42 @@
+package kexamprint.db;
+
+import kexamprint.model.TaramaQuestion;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-through cache over a question repository, invalidated when
+ * vg12526.tarama changes
+ *
+ * Callers get their own list; the questions in it are shared.
+ */
+public class CachingTaramaRepository implements TaramaRepository {
+
+    private final TaramaRepository delegate;
+    private final QueryCache cache;
+
+    public CachingTaramaRepository(TaramaRepository delegate, TableChangeMonitor monitor) {
+        this.delegate = delegate;
+        this.cache = new QueryCache(monitor, "vg12526.tarama");
+    }
+
+    @Override
+    public List<TaramaQuestion> findAll() throws SQLException {
+        return new ArrayList<>(cache.get("findAll", delegate::findAll));
+    }
+
+    @Override
+    public List<TaramaQuestion> findByExamCodeAndLanguage(String examCode, String language) throws SQLException {
+        return new ArrayList<>(cache.get("findByExamCodeAndLanguage:" + examCode + "|" + language,
+            () -> delegate.findByExamCodeAndLanguage(examCode, language)));
+    }
+
+    @Override
+    public List<TaramaQuestion> findByExamCodesAndLanguages(List<String> examCodes, List<String> languages)
+            throws SQLException {
+        return new ArrayList<>(cache.get("findByExamCodesAndLanguages:" + examCodes + "|" + languages,
+            () -> delegate.findByExamCodesAndLanguages(examCodes, languages)));
+    }
+}
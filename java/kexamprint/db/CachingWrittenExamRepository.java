@@ -0,0 +1,35 @@
+package kexamprint.db;
+
+import kexamprint.model.WrittenExamAnnouncement;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-through cache over a written exam repository, invalidated when
+ * kexam.written_exam_announcements changes
+ *
+ * Callers get their own list; the announcements in it are shared.
+ */
+public class CachingWrittenExamRepository implements WrittenExamRepository {
+
+    private final WrittenExamRepository delegate;
+    private final QueryCache cache;
+
+    public CachingWrittenExamRepository(WrittenExamRepository delegate, TableChangeMonitor monitor) {
+        this.delegate = delegate;
+        this.cache = new QueryCache(monitor, "kexam.written_exam_announcements");
+    }
+
+    @Override
+    public List<WrittenExamAnnouncement> findAll() throws SQLException {
+        return new ArrayList<>(cache.get("findAll", delegate::findAll));
+    }
+
+    @Override
+    public List<WrittenExamAnnouncement> findBySessionKey(String sessionKey) throws SQLException {
+        return new ArrayList<>(cache.get("findBySessionKey:" + sessionKey,
+            () -> delegate.findBySessionKey(sessionKey)));
+    }
+}
@@ -0,0 +1,50 @@
+package kexamprint.db;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * NULL-aware column reads by index for row mappers: primitive getters plus
+ * wasNull(), without boxing non-null values through getObject
+ */
+public final class Columns {
+
+    private Columns() {
+    }
+
+    /**
+     * int column; null for NULL
+     */
+    public static Integer getInteger(ResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    /**
+     * bigint column; null for NULL
+     */
+    public static Long getLong(ResultSet rs, int column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    /**
+     * time column; null for NULL
+     */
+    public static LocalTime getLocalTime(ResultSet rs, int column) throws SQLException {
+        Time time = rs.getTime(column);
+        return time == null ? null : time.toLocalTime();
+    }
+
+    /**
+     * timestamp column; null for NULL
+     */
+    public static LocalDateTime getLocalDateTime(ResultSet rs, int column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,171 @@
+package kexamprint.db;
+
+import kexamprint.metrics.Metrics;
+import kexamprint.model.OralExamAnnouncement;
+import kexamprint.model.WrittenExamAnnouncement;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.PGCopyInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk reader for the announcement tables through binary COPY
+ *
+ * Returns the same rows in the same order as the findAll() methods of the
+ * JDBC repositories, but streams them with COPY ... TO STDOUT (FORMAT
+ * binary) through CopyManager and decodes them with PgBinaryCopyReader
+ * instead of materializing each column through the driver's ResultSet.
+ * The COPY query casts every column, so the wire types do not depend on
+ * how the tables declare them.
+ */
+public class CopyAnnouncementReader {
+
+    static final String WRITTEN_COPY = "COPY (SELECT " +
+        "id::int4, day::int4, seat_no::int4, session_key::text, exam_code::text, exam_name::text, " +
+        "variant::text, curriculum_language::text, student_id::int4, student_name::text, " +
+        "student_surname::text, exam_date::text, day_name::text, start_time::time, end_time::time, " +
+        "room::text, room_type::text, building::text, program_name::text, education_type::text, " +
+        "has_disability::bool " +
+        "FROM kexam.written_exam_announcements " +
+        "ORDER BY day, session_key, seat_no) TO STDOUT (FORMAT binary)";
+
+    static final String ORAL_COPY = "COPY (SELECT " +
+        "id::int4, day::int4, exam_code::text, exam_name::text, variant::text, " +
+        "building::text, room::text, student_id::int4, student_name::text, student_surname::text, " +
+        "curriculum_year::text, curriculum_language::text, program_name::text, " +
+        "education_type::text, has_disability::bool " +
+        "FROM kexam.oral_exam_announcements " +
+        "ORDER BY day, exam_code, student_name) TO STDOUT (FORMAT binary)";
+
+    private static final int WRITTEN_COLUMNS = 21;
+    private static final int ORAL_COLUMNS = 15;
+
+    private final DatabaseConfig dbConfig;
+
+    public CopyAnnouncementReader(DatabaseConfig dbConfig) {
+        this.dbConfig = dbConfig;
+    }
+
+    /**
+     * Fetches all written exam announcements, like
+     * JdbcWrittenExamRepository.findAll()
+     */
+    public List<WrittenExamAnnouncement> findAllWritten() throws SQLException {
+        long start = System.nanoTime();
+        List<WrittenExamAnnouncement> announcements;
+
+        try (Connection conn = dbConfig.getConnection();
+             InputStream in = copyOut(conn, WRITTEN_COPY)) {
+            announcements = readWritten(in);
+        } catch (IOException e) {
+            throw new SQLException("Binary COPY of written exam announcements failed", e);
+        }
+
+        Metrics.query("CopyAnnouncementReader.findAllWritten", start, announcements.size());
+        return announcements;
+    }
+
+    /**
+     * Fetches all oral exam announcements, like
+     * JdbcOralExamRepository.findAll()
+     */
+    public List<OralExamAnnouncement> findAllOral() throws SQLException {
+        long start = System.nanoTime();
+        List<OralExamAnnouncement> announcements;
+
+        try (Connection conn = dbConfig.getConnection();
+             InputStream in = copyOut(conn, ORAL_COPY)) {
+            announcements = readOral(in);
+        } catch (IOException e) {
+            throw new SQLException("Binary COPY of oral exam announcements failed", e);
+        }
+
+        Metrics.query("CopyAnnouncementReader.findAllOral", start, announcements.size());
+        return announcements;
+    }
+
+    private static InputStream copyOut(Connection conn, String sql) throws SQLException {
+        CopyManager copyManager = conn.unwrap(PGConnection.class).getCopyAPI();
+        return new PGCopyInputStream(copyManager.copyOut(sql));
+    }
+
+    /**
+     * Decodes a binary COPY stream of WRITTEN_COPY's columns
+     */
+    public static List<WrittenExamAnnouncement> readWritten(InputStream in) throws IOException {
+        List<WrittenExamAnnouncement> announcements = new ArrayList<>();
+        PgBinaryCopyReader reader = new PgBinaryCopyReader(in);
+
+        while (reader.nextRow()) {
+            checkColumns(reader, WRITTEN_COLUMNS);
+            WrittenExamAnnouncement announcement = new WrittenExamAnnouncement();
+            announcement.setId(reader.readInteger());
+            announcement.setDay(reader.readInteger());
+            announcement.setSeatNo(reader.readInteger());
+            announcement.setSessionKey(reader.readSharedText());
+            announcement.setExamCode(reader.readSharedText());
+            announcement.setExamName(reader.readSharedText());
+            announcement.setVariant(reader.readSharedText());
+            announcement.setCurriculumLanguage(reader.readSharedText());
+            announcement.setStudentId(reader.readInteger());
+            announcement.setStudentName(reader.readText());
+            announcement.setStudentSurname(reader.readText());
+            announcement.setExamDate(reader.readSharedText());
+            announcement.setDayName(reader.readSharedText());
+            announcement.setStartTime(reader.readTime());
+            announcement.setEndTime(reader.readTime());
+            announcement.setRoom(reader.readSharedText());
+            announcement.setRoomType(reader.readSharedText());
+            announcement.setBuilding(reader.readSharedText());
+            announcement.setProgramName(reader.readSharedText());
+            announcement.setEducationType(reader.readSharedText());
+            announcement.setHasDisability(reader.readBoolean());
+            announcements.add(announcement);
+        }
+
+        return announcements;
+    }
+
+    /**
+     * Decodes a binary COPY stream of ORAL_COPY's columns
+     */
+    public static List<OralExamAnnouncement> readOral(InputStream in) throws IOException {
+        List<OralExamAnnouncement> announcements = new ArrayList<>();
+        PgBinaryCopyReader reader = new PgBinaryCopyReader(in);
+
+        while (reader.nextRow()) {
+            checkColumns(reader, ORAL_COLUMNS);
+            OralExamAnnouncement announcement = new OralExamAnnouncement();
+            announcement.setId(reader.readInteger());
+            announcement.setDay(reader.readInteger());
+            announcement.setExamCode(reader.readSharedText());
+            announcement.setExamName(reader.readSharedText());
+            announcement.setVariant(reader.readSharedText());
+            announcement.setBuilding(reader.readSharedText());
+            announcement.setRoom(reader.readSharedText());
+            announcement.setStudentId(reader.readInteger());
+            announcement.setStudentName(reader.readText());
+            announcement.setStudentSurname(reader.readText());
+            announcement.setCurriculumYear(reader.readSharedText());
+            announcement.setCurriculumLanguage(reader.readSharedText());
+            announcement.setProgramName(reader.readSharedText());
+            announcement.setEducationType(reader.readSharedText());
+            announcement.setHasDisability(reader.readBoolean());
+            announcements.add(announcement);
+        }
+
+        return announcements;
+    }
+
+    private static void checkColumns(PgBinaryCopyReader reader, int expected) throws IOException {
+        if (reader.getFieldCount() != expected) {
+            throw new IOException("Expected " + expected + " columns, got " + reader.getFieldCount());
+        }
+    }
+}
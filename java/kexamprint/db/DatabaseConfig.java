@@ -4,6 +4,8 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 
+import kexamprint.metrics.ConnectionEvent;
+
 /**
  * Database configuration and connection management
  */
@@ -28,6 +30,15 @@ public class DatabaseConfig {
         this.password = password;
     }
 
+    /**
+     * Same database and credentials as another configuration
+     */
+    protected DatabaseConfig(DatabaseConfig other) {
+        this.jdbcUrl = other.jdbcUrl;
+        this.user = other.user;
+        this.password = other.password;
+    }
+
     /**
      * Creates a new database connection
      */
@@ -39,7 +50,11 @@ public class DatabaseConfig {
             throw new SQLException("PostgreSQL JDBC Driver not found", e);
         }
 
-        return DriverManager.getConnection(jdbcUrl, user, password);
+        ConnectionEvent event = new ConnectionEvent();
+        event.begin();
+        Connection connection = DriverManager.getConnection(jdbcUrl, user, password);
+        event.end(jdbcUrl);
+        return connection;
     }
 
     /**
@@ -0,0 +1,48 @@
+package kexamprint.db;
+
+import kexamprint.metrics.Metrics;
+import kexamprint.model.OralExamAnnouncement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory oral exam announcements, indexed by day
+ */
+public class InMemoryOralExamRepository implements OralExamRepository {
+
+    private final List<OralExamAnnouncement> announcements;
+    private final Map<Integer, List<OralExamAnnouncement>> byDay = new HashMap<>();
+
+    public InMemoryOralExamRepository(List<OralExamAnnouncement> announcements) {
+        // ORDER BY day, exam_code, student_name
+        this.announcements = new ArrayList<>(announcements);
+        this.announcements.sort(Comparator
+            .comparing(OralExamAnnouncement::getDay, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(OralExamAnnouncement::getExamCode, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(OralExamAnnouncement::getStudentName, Comparator.nullsLast(Comparator.naturalOrder())));
+        for (OralExamAnnouncement announcement : this.announcements) {
+            byDay.computeIfAbsent(announcement.getDay(), k -> new ArrayList<>()).add(announcement);
+        }
+    }
+
+    @Override
+    public List<OralExamAnnouncement> findAll() {
+        long start = System.nanoTime();
+        List<OralExamAnnouncement> result = new ArrayList<>(announcements);
+        Metrics.query("InMemoryOralExamRepository.findAll", start, result.size());
+        return result;
+    }
+
+    @Override
+    public List<OralExamAnnouncement> findByDay(int day) {
+        long start = System.nanoTime();
+        List<OralExamAnnouncement> result = new ArrayList<>(byDay.getOrDefault(day, Collections.emptyList()));
+        Metrics.query("InMemoryOralExamRepository.findByDay", start, result.size());
+        return result;
+    }
+}
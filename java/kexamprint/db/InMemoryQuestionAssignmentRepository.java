@@ -0,0 +1,175 @@
+package kexamprint.db;
+
+import kexamprint.dataset.SyntheticDataset;
+import kexamprint.metrics.Metrics;
+import kexamprint.model.QuestionAssignment;
+import kexamprint.model.TaramaQuestion;
+import kexamprint.util.IntMap;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory question assignments, indexed by placement_id and session_key
+ *
+ * Saving fills in what the database does for an insert: the id, question_id
+ * (real_id of the first tarama row of the question), paper_code (the
+ * synthetic dataset formula) and assigned_at. A second assignment for a
+ * placement fails like the unique constraint.
+ */
+public class InMemoryQuestionAssignmentRepository implements QuestionAssignmentRepository {
+
+    private static final Comparator<QuestionAssignment> BY_PLACEMENT =
+        Comparator.comparing(QuestionAssignment::getPlacementId);
+
+    private final Map<Integer, QuestionAssignment> byPlacementId = new HashMap<>();
+    private final Map<String, List<QuestionAssignment>> bySessionKey = new HashMap<>();
+    private final Map<String, Integer> realIdsByQuestionId = new HashMap<>();
+
+    /** All assignments by placement_id, rebuilt on the first read after a save */
+    private List<QuestionAssignment> sorted;
+    private int lastId;
+
+    public InMemoryQuestionAssignmentRepository(List<QuestionAssignment> assignments, List<TaramaQuestion> questions) {
+        for (TaramaQuestion question : questions) {
+            Integer realId = realIdsByQuestionId.get(question.getId());
+            if (question.getRealId() != null && (realId == null || question.getRealId() < realId)) {
+                realIdsByQuestionId.put(question.getId(), question.getRealId());
+            }
+        }
+        for (QuestionAssignment assignment : assignments) {
+            index(assignment);
+            if (assignment.getId() != null) {
+                lastId = Math.max(lastId, assignment.getId());
+            }
+        }
+    }
+
+    private void index(QuestionAssignment assignment) {
+        byPlacementId.put(assignment.getPlacementId(), assignment);
+        bySessionKey.computeIfAbsent(assignment.getSessionKey(), k -> new ArrayList<>()).add(assignment);
+        sorted = null;
+    }
+
+    private void insert(QuestionAssignment assignment) {
+        assignment.setId(++lastId);
+        assignment.setQuestionId(realIdsByQuestionId.get(assignment.getTaramaQuestionId()));
+        assignment.setPaperCode(SyntheticDataset.paperCode(assignment.getPlacementId()));
+        assignment.setAssignedAt(LocalDateTime.now());
+        index(assignment);
+    }
+
+    private void checkUnique(List<QuestionAssignment> assignments) throws SQLException {
+        Set<Integer> placementIds = new HashSet<>();
+        for (QuestionAssignment assignment : assignments) {
+            if (byPlacementId.containsKey(assignment.getPlacementId())
+                    || !placementIds.add(assignment.getPlacementId())) {
+                throw new SQLException("Duplicate question assignment for placement_id "
+                    + assignment.getPlacementId(), "23505");
+            }
+        }
+    }
+
+    @Override
+    public synchronized void save(QuestionAssignment assignment) throws SQLException {
+        long start = System.nanoTime();
+        checkUnique(Collections.singletonList(assignment));
+        insert(assignment);
+        Metrics.query("InMemoryQuestionAssignmentRepository.save", start, 0);
+    }
+
+    @Override
+    public synchronized void saveAll(List<QuestionAssignment> assignments) throws SQLException {
+        if (assignments == null || assignments.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        checkUnique(assignments);
+        for (QuestionAssignment assignment : assignments) {
+            insert(assignment);
+        }
+        Metrics.query("InMemoryQuestionAssignmentRepository.saveAll", start, 0);
+    }
+
+    @Override
+    public synchronized List<QuestionAssignment> findAll() {
+        long start = System.nanoTime();
+        if (sorted == null) {
+            sorted = new ArrayList<>(byPlacementId.values());
+            sorted.sort(BY_PLACEMENT);
+        }
+        List<QuestionAssignment> result = new ArrayList<>(sorted);
+        Metrics.query("InMemoryQuestionAssignmentRepository.findAll", start, result.size());
+        return result;
+    }
+
+    @Override
+    public synchronized QuestionAssignment findByPlacementId(Integer placementId) {
+        long start = System.nanoTime();
+        QuestionAssignment assignment = byPlacementId.get(placementId);
+        Metrics.query("InMemoryQuestionAssignmentRepository.findByPlacementId", start, assignment != null ? 1 : 0);
+        return assignment;
+    }
+
+    @Override
+    public synchronized List<QuestionAssignment> findBySessionKey(String sessionKey) {
+        long start = System.nanoTime();
+        List<QuestionAssignment> result =
+            new ArrayList<>(bySessionKey.getOrDefault(sessionKey, Collections.emptyList()));
+        result.sort(BY_PLACEMENT);
+        Metrics.query("InMemoryQuestionAssignmentRepository.findBySessionKey", start, result.size());
+        return result;
+    }
+
+    @Override
+    public synchronized IntMap<QuestionAssignment> findByPlacementIds(int[] placementIds) {
+        long start = System.nanoTime();
+        IntMap<QuestionAssignment> result = new IntMap<>(placementIds.length);
+        for (int placementId : placementIds) {
+            QuestionAssignment assignment = byPlacementId.get(placementId);
+            if (assignment != null) {
+                result.put(placementId, assignment);
+            }
+        }
+        Metrics.query("InMemoryQuestionAssignmentRepository.findByPlacementIds", start, result.size());
+        return result;
+    }
+
+    @Override
+    public synchronized IntMap<QuestionAssignment> findBySessionKeys(List<String> sessionKeys) {
+        long start = System.nanoTime();
+        IntMap<QuestionAssignment> result = new IntMap<>();
+        for (String sessionKey : sessionKeys) {
+            for (QuestionAssignment assignment : bySessionKey.getOrDefault(sessionKey, Collections.emptyList())) {
+                result.put(assignment.getPlacementId(), assignment);
+            }
+        }
+        Metrics.query("InMemoryQuestionAssignmentRepository.findBySessionKeys", start, result.size());
+        return result;
+    }
+
+    @Override
+    public synchronized void deleteAll() {
+        long start = System.nanoTime();
+        byPlacementId.clear();
+        bySessionKey.clear();
+        sorted = null;
+        Metrics.query("InMemoryQuestionAssignmentRepository.deleteAll", start, 0);
+    }
+
+    @Override
+    public synchronized int count() {
+        long start = System.nanoTime();
+        int count = byPlacementId.size();
+        Metrics.query("InMemoryQuestionAssignmentRepository.count", start, 1);
+        return count;
+    }
+}
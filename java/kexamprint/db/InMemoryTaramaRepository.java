@@ -0,0 +1,84 @@
+package kexamprint.db;
+
+import kexamprint.metrics.Metrics;
+import kexamprint.model.TaramaQuestion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory question rows, indexed by exam code and language
+ *
+ * Like the JDBC repository, rows without images are left out.
+ */
+public class InMemoryTaramaRepository implements TaramaRepository {
+
+    /** ORDER BY id, images */
+    private static final Comparator<TaramaQuestion> ORDER = Comparator
+        .comparing(TaramaQuestion::getId, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(TaramaQuestion::getImagePath);
+
+    private final List<TaramaQuestion> questions = new ArrayList<>();
+    private final Map<String, List<TaramaQuestion>> byExamAndLanguage = new HashMap<>();
+
+    public InMemoryTaramaRepository(List<TaramaQuestion> questions) {
+        for (TaramaQuestion question : questions) {
+            if (question.getImagePath() != null) {
+                this.questions.add(question);
+            }
+        }
+        this.questions.sort(ORDER);
+        for (TaramaQuestion question : this.questions) {
+            byExamAndLanguage.computeIfAbsent(key(question.getExamCode(), question.getLanguage()),
+                k -> new ArrayList<>()).add(question);
+        }
+    }
+
+    private static String key(String examCode, String language) {
+        return examCode + "|" + language;
+    }
+
+    @Override
+    public List<TaramaQuestion> findAll() {
+        long start = System.nanoTime();
+        List<TaramaQuestion> result = new ArrayList<>(questions);
+        Metrics.query("InMemoryTaramaRepository.findAll", start, result.size());
+        return result;
+    }
+
+    @Override
+    public List<TaramaQuestion> findByExamCodeAndLanguage(String examCode, String language) {
+        long start = System.nanoTime();
+        List<TaramaQuestion> result =
+            new ArrayList<>(byExamAndLanguage.getOrDefault(key(examCode, language), Collections.emptyList()));
+        Metrics.query("InMemoryTaramaRepository.findByExamCodeAndLanguage", start, result.size());
+        return result;
+    }
+
+    @Override
+    public List<TaramaQuestion> findByExamCodesAndLanguages(List<String> examCodes, List<String> languages) {
+        if (examCodes.isEmpty() || languages.isEmpty()) {
+            return new ArrayList<>();
+        }
+        long start = System.nanoTime();
+
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < examCodes.size(); i++) {
+            keys.add(key(examCodes.get(i), languages.get(i)));
+        }
+        List<TaramaQuestion> rows = new ArrayList<>();
+        for (String key : keys) {
+            rows.addAll(byExamAndLanguage.getOrDefault(key, Collections.emptyList()));
+        }
+        rows.sort(ORDER);
+
+        Metrics.query("InMemoryTaramaRepository.findByExamCodesAndLanguages", start, rows.size());
+        return rows;
+    }
+}
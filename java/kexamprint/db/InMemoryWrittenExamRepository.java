@@ -0,0 +1,55 @@
+package kexamprint.db;
+
+import kexamprint.metrics.Metrics;
+import kexamprint.model.WrittenExamAnnouncement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory written exam announcements, indexed by session_key
+ *
+ * Returns the same order as the JDBC repository; the announcement objects
+ * are shared between calls instead of being mapped anew.
+ */
+public class InMemoryWrittenExamRepository implements WrittenExamRepository {
+
+    private static final Comparator<Integer> INTEGERS = Comparator.nullsLast(Comparator.naturalOrder());
+    private static final Comparator<String> STRINGS = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private final List<WrittenExamAnnouncement> announcements;
+    private final Map<String, List<WrittenExamAnnouncement>> bySessionKey = new HashMap<>();
+
+    public InMemoryWrittenExamRepository(List<WrittenExamAnnouncement> announcements) {
+        // ORDER BY day, session_key, seat_no
+        this.announcements = new ArrayList<>(announcements);
+        this.announcements.sort(Comparator
+            .comparing(WrittenExamAnnouncement::getDay, INTEGERS)
+            .thenComparing(WrittenExamAnnouncement::getSessionKey, STRINGS)
+            .thenComparing(WrittenExamAnnouncement::getSeatNo, INTEGERS));
+        for (WrittenExamAnnouncement announcement : this.announcements) {
+            bySessionKey.computeIfAbsent(announcement.getSessionKey(), k -> new ArrayList<>()).add(announcement);
+        }
+    }
+
+    @Override
+    public List<WrittenExamAnnouncement> findAll() {
+        long start = System.nanoTime();
+        List<WrittenExamAnnouncement> result = new ArrayList<>(announcements);
+        Metrics.query("InMemoryWrittenExamRepository.findAll", start, result.size());
+        return result;
+    }
+
+    @Override
+    public List<WrittenExamAnnouncement> findBySessionKey(String sessionKey) {
+        long start = System.nanoTime();
+        List<WrittenExamAnnouncement> result =
+            new ArrayList<>(bySessionKey.getOrDefault(sessionKey, Collections.emptyList()));
+        Metrics.query("InMemoryWrittenExamRepository.findBySessionKey", start, result.size());
+        return result;
+    }
+}
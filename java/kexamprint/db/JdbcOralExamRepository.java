@@ -0,0 +1,129 @@
+package kexamprint.db;
+
+import kexamprint.metrics.Metrics;
+import kexamprint.model.OralExamAnnouncement;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC repository for accessing oral exam announcements
+ */
+public class JdbcOralExamRepository implements OralExamRepository {
+
+    // Filtered queries, EXPLAINed at startup by QueryPlanCheck
+    static final String FIND_BY_DAY =
+        "SELECT " +
+        "id, day, exam_code, exam_name, variant, " +
+        "building, room, student_id, student_name, student_surname, " +
+        "curriculum_year, curriculum_language, program_name, " +
+        "education_type, has_disability " +
+        "FROM kexam.oral_exam_announcements " +
+        "WHERE day = ? " +
+        "ORDER BY exam_code, student_name";
+
+    private final DatabaseConfig dbConfig;
+
+    public JdbcOralExamRepository(DatabaseConfig dbConfig) {
+        this.dbConfig = dbConfig;
+    }
+
+    /**
+     * Fetches all oral exam announcements
+     */
+    @Override
+    public List<OralExamAnnouncement> findAll() throws SQLException {
+        long start = System.nanoTime();
+        String sql = "SELECT " +
+            "id, day, exam_code, exam_name, variant, " +
+            "building, room, student_id, student_name, student_surname, " +
+            "curriculum_year, curriculum_language, program_name, " +
+            "education_type, has_disability " +
+            "FROM kexam.oral_exam_announcements " +
+            "ORDER BY day, exam_code, student_name";
+
+        List<OralExamAnnouncement> announcements = new ArrayList<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            RowMapper<OralExamAnnouncement> mapper = MAPPER.create(rs);
+            while (rs.next()) {
+                announcements.add(mapper.map(rs));
+            }
+        }
+
+        Metrics.query("JdbcOralExamRepository.findAll", start, announcements.size());
+        return announcements;
+    }
+
+    /**
+     * Fetches announcements for a specific day
+     */
+    @Override
+    public List<OralExamAnnouncement> findByDay(int day) throws SQLException {
+        long start = System.nanoTime();
+        List<OralExamAnnouncement> announcements = new ArrayList<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_DAY)) {
+
+            stmt.setInt(1, day);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<OralExamAnnouncement> mapper = MAPPER.create(rs);
+                while (rs.next()) {
+                    announcements.add(mapper.map(rs));
+                }
+            }
+        }
+
+        Metrics.query("JdbcOralExamRepository.findByDay", start, announcements.size());
+        return announcements;
+    }
+
+    /**
+     * Maps ResultSet rows to OralExamAnnouncement
+     */
+    private static final RowMapper.Factory<OralExamAnnouncement> MAPPER = rs -> {
+        int id = rs.findColumn("id");
+        int day = rs.findColumn("day");
+        int examCode = rs.findColumn("exam_code");
+        int examName = rs.findColumn("exam_name");
+        int variant = rs.findColumn("variant");
+        int building = rs.findColumn("building");
+        int room = rs.findColumn("room");
+        int studentId = rs.findColumn("student_id");
+        int studentName = rs.findColumn("student_name");
+        int studentSurname = rs.findColumn("student_surname");
+        int curriculumYear = rs.findColumn("curriculum_year");
+        int curriculumLanguage = rs.findColumn("curriculum_language");
+        int programName = rs.findColumn("program_name");
+        int educationType = rs.findColumn("education_type");
+        int hasDisability = rs.findColumn("has_disability");
+
+        return row -> {
+            OralExamAnnouncement announcement = new OralExamAnnouncement();
+
+            announcement.setId(Columns.getInteger(row, id));
+            announcement.setDay(Columns.getInteger(row, day));
+            announcement.setExamCode(row.getString(examCode));
+            announcement.setExamName(row.getString(examName));
+            announcement.setVariant(row.getString(variant));
+            announcement.setBuilding(row.getString(building));
+            announcement.setRoom(row.getString(room));
+            announcement.setStudentId(Columns.getInteger(row, studentId));
+            announcement.setStudentName(row.getString(studentName));
+            announcement.setStudentSurname(row.getString(studentSurname));
+            announcement.setCurriculumYear(row.getString(curriculumYear));
+            announcement.setCurriculumLanguage(row.getString(curriculumLanguage));
+            announcement.setProgramName(row.getString(programName));
+            announcement.setEducationType(row.getString(educationType));
+            announcement.setHasDisability(row.getBoolean(hasDisability));
+
+            return announcement;
+        };
+    };
+}
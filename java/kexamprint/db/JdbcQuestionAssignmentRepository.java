@@ -0,0 +1,327 @@
+package kexamprint.db;
+
+import kexamprint.metrics.Metrics;
+import kexamprint.model.QuestionAssignment;
+import kexamprint.util.IntMap;
+
+import org.postgresql.PGConnection;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC repository for managing question assignments
+ */
+public class JdbcQuestionAssignmentRepository implements QuestionAssignmentRepository {
+
+    // Filtered queries, EXPLAINed at startup by QueryPlanCheck
+    static final String FIND_BY_PLACEMENT_ID =
+        "SELECT id, placement_id, student_id, room_code, exam_code, " +
+        "curriculum_language, tarama_question_id, question_id, paper_code, session_key, assigned_at " +
+        "FROM kexamprint.question_assignments " +
+        "WHERE placement_id = ?";
+
+    static final String FIND_BY_SESSION_KEY =
+        "SELECT id, placement_id, student_id, room_code, exam_code, " +
+        "curriculum_language, tarama_question_id, question_id, paper_code, session_key, assigned_at " +
+        "FROM kexamprint.question_assignments " +
+        "WHERE session_key = ? " +
+        "ORDER BY placement_id";
+
+    static final String FIND_BY_PLACEMENT_IDS =
+        "SELECT id, placement_id, student_id, room_code, exam_code, " +
+        "curriculum_language, tarama_question_id, question_id, paper_code, session_key, assigned_at " +
+        "FROM kexamprint.question_assignments " +
+        "WHERE placement_id = ANY(?)";
+
+    static final String FIND_BY_SESSION_KEYS =
+        "SELECT id, placement_id, student_id, room_code, exam_code, " +
+        "curriculum_language, tarama_question_id, question_id, paper_code, session_key, assigned_at " +
+        "FROM kexamprint.question_assignments " +
+        "WHERE session_key = ANY(?)";
+
+    private final DatabaseConfig dbConfig;
+
+    public JdbcQuestionAssignmentRepository(DatabaseConfig dbConfig) {
+        this.dbConfig = dbConfig;
+    }
+
+    /**
+     * Saves a single question assignment
+     */
+    @Override
+    public void save(QuestionAssignment assignment) throws SQLException {
+        long start = System.nanoTime();
+        String sql = "INSERT INTO kexamprint.question_assignments " +
+            "(placement_id, student_id, room_code, exam_code, curriculum_language, " +
+            "tarama_question_id, session_key) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            stmt.setInt(1, assignment.getPlacementId());
+            stmt.setInt(2, assignment.getStudentId());
+            stmt.setString(3, assignment.getRoomCode());
+            stmt.setString(4, assignment.getExamCode());
+            stmt.setString(5, assignment.getCurriculumLanguage());
+            stmt.setString(6, assignment.getTaramaQuestionId());
+            stmt.setString(7, assignment.getSessionKey());
+
+            stmt.executeUpdate();
+
+            // Get generated ID
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    assignment.setId(rs.getInt(1));
+                }
+            }
+        }
+        Metrics.query("JdbcQuestionAssignmentRepository.save", start, 0);
+    }
+
+    /**
+     * Saves multiple question assignments in a batch
+     */
+    @Override
+    public void saveAll(List<QuestionAssignment> assignments) throws SQLException {
+        if (assignments == null || assignments.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+
+        String sql = "INSERT INTO kexamprint.question_assignments " +
+            "(placement_id, student_id, room_code, exam_code, curriculum_language, " +
+            "tarama_question_id, session_key) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            // Use batch for better performance
+            for (QuestionAssignment assignment : assignments) {
+                stmt.setInt(1, assignment.getPlacementId());
+                stmt.setInt(2, assignment.getStudentId());
+                stmt.setString(3, assignment.getRoomCode());
+                stmt.setString(4, assignment.getExamCode());
+                stmt.setString(5, assignment.getCurriculumLanguage());
+                stmt.setString(6, assignment.getTaramaQuestionId());
+                stmt.setString(7, assignment.getSessionKey());
+                stmt.addBatch();
+            }
+
+            stmt.executeBatch();
+        }
+        Metrics.query("JdbcQuestionAssignmentRepository.saveAll", start, 0);
+    }
+
+    /**
+     * Finds all assignments
+     */
+    @Override
+    public List<QuestionAssignment> findAll() throws SQLException {
+        long start = System.nanoTime();
+        String sql = "SELECT id, placement_id, student_id, room_code, exam_code, " +
+            "curriculum_language, tarama_question_id, question_id, paper_code, session_key, assigned_at " +
+            "FROM kexamprint.question_assignments " +
+            "ORDER BY placement_id";
+
+        List<QuestionAssignment> assignments = new ArrayList<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            RowMapper<QuestionAssignment> mapper = MAPPER.create(rs);
+            while (rs.next()) {
+                assignments.add(mapper.map(rs));
+            }
+        }
+
+        Metrics.query("JdbcQuestionAssignmentRepository.findAll", start, assignments.size());
+        return assignments;
+    }
+
+    /**
+     * Finds assignment by placement_id
+     */
+    @Override
+    public QuestionAssignment findByPlacementId(Integer placementId) throws SQLException {
+        long start = System.nanoTime();
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_PLACEMENT_ID)) {
+
+            stmt.setInt(1, placementId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    QuestionAssignment assignment = MAPPER.create(rs).map(rs);
+                    Metrics.query("JdbcQuestionAssignmentRepository.findByPlacementId", start, 1);
+                    return assignment;
+                }
+            }
+        }
+
+        Metrics.query("JdbcQuestionAssignmentRepository.findByPlacementId", start, 0);
+        return null;
+    }
+
+    /**
+     * Finds all assignments for a session
+     */
+    @Override
+    public List<QuestionAssignment> findBySessionKey(String sessionKey) throws SQLException {
+        long start = System.nanoTime();
+        List<QuestionAssignment> assignments = new ArrayList<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_SESSION_KEY)) {
+
+            stmt.setString(1, sessionKey);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<QuestionAssignment> mapper = MAPPER.create(rs);
+                while (rs.next()) {
+                    assignments.add(mapper.map(rs));
+                }
+            }
+        }
+
+        Metrics.query("JdbcQuestionAssignmentRepository.findBySessionKey", start, assignments.size());
+        return assignments;
+    }
+
+    /**
+     * Finds the assignments of many placements with one = ANY(?) array bind
+     */
+    @Override
+    public IntMap<QuestionAssignment> findByPlacementIds(int[] placementIds) throws SQLException {
+        if (placementIds.length == 0) {
+            return new IntMap<>();
+        }
+        long start = System.nanoTime();
+        IntMap<QuestionAssignment> assignments = new IntMap<>(placementIds.length);
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_PLACEMENT_IDS)) {
+
+            // PGConnection binds the primitive array without boxing each id
+            stmt.setArray(1, conn.unwrap(PGConnection.class).createArrayOf("int4", placementIds));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                mapByPlacementId(rs, assignments);
+            }
+        }
+
+        Metrics.query("JdbcQuestionAssignmentRepository.findByPlacementIds", start, assignments.size());
+        return assignments;
+    }
+
+    /**
+     * Finds the assignments of many sessions with one = ANY(?) array bind
+     */
+    @Override
+    public IntMap<QuestionAssignment> findBySessionKeys(List<String> sessionKeys) throws SQLException {
+        if (sessionKeys.isEmpty()) {
+            return new IntMap<>();
+        }
+        long start = System.nanoTime();
+        IntMap<QuestionAssignment> assignments = new IntMap<>(sessionKeys.size() * 32);
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_SESSION_KEYS)) {
+
+            stmt.setArray(1, conn.createArrayOf("text", sessionKeys.toArray()));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                mapByPlacementId(rs, assignments);
+            }
+        }
+
+        Metrics.query("JdbcQuestionAssignmentRepository.findBySessionKeys", start, assignments.size());
+        return assignments;
+    }
+
+    private static void mapByPlacementId(ResultSet rs, IntMap<QuestionAssignment> assignments) throws SQLException {
+        RowMapper<QuestionAssignment> mapper = MAPPER.create(rs);
+        while (rs.next()) {
+            QuestionAssignment assignment = mapper.map(rs);
+            assignments.put(assignment.getPlacementId(), assignment);
+        }
+    }
+
+    /**
+     * Deletes all question assignments (for testing/reset)
+     */
+    @Override
+    public void deleteAll() throws SQLException {
+        long start = System.nanoTime();
+        String sql = "DELETE FROM kexamprint.question_assignments";
+
+        try (Connection conn = dbConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(sql);
+        }
+        Metrics.query("JdbcQuestionAssignmentRepository.deleteAll", start, 0);
+    }
+
+    /**
+     * Counts total assignments
+     */
+    @Override
+    public int count() throws SQLException {
+        long start = System.nanoTime();
+        String sql = "SELECT COUNT(*) FROM kexamprint.question_assignments";
+        int count = 0;
+
+        try (Connection conn = dbConfig.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            if (rs.next()) {
+                count = rs.getInt(1);
+            }
+        }
+
+        Metrics.query("JdbcQuestionAssignmentRepository.count", start, 1);
+        return count;
+    }
+
+    /**
+     * Maps ResultSet rows to QuestionAssignment
+     */
+    private static final RowMapper.Factory<QuestionAssignment> MAPPER = rs -> {
+        int id = rs.findColumn("id");
+        int placementId = rs.findColumn("placement_id");
+        int studentId = rs.findColumn("student_id");
+        int roomCode = rs.findColumn("room_code");
+        int examCode = rs.findColumn("exam_code");
+        int curriculumLanguage = rs.findColumn("curriculum_language");
+        int taramaQuestionId = rs.findColumn("tarama_question_id");
+        int questionId = rs.findColumn("question_id");
+        int paperCode = rs.findColumn("paper_code");
+        int sessionKey = rs.findColumn("session_key");
+        int assignedAt = rs.findColumn("assigned_at");
+
+        return row -> {
+            QuestionAssignment assignment = new QuestionAssignment();
+
+            assignment.setId(row.getInt(id));
+            assignment.setPlacementId(row.getInt(placementId));
+            assignment.setStudentId(row.getInt(studentId));
+            assignment.setRoomCode(row.getString(roomCode));
+            assignment.setExamCode(row.getString(examCode));
+            assignment.setCurriculumLanguage(row.getString(curriculumLanguage));
+            assignment.setTaramaQuestionId(row.getString(taramaQuestionId));
+            // question_id and paper_code can be null
+            assignment.setQuestionId(Columns.getInteger(row, questionId));
+            assignment.setPaperCode(Columns.getLong(row, paperCode));
+            assignment.setSessionKey(row.getString(sessionKey));
+            assignment.setAssignedAt(Columns.getLocalDateTime(row, assignedAt));
+
+            return assignment;
+        };
+    };
+}
@@ -0,0 +1,150 @@
+package kexamprint.db;
+
+import kexamprint.metrics.Metrics;
+import kexamprint.model.TaramaQuestion;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC repository for accessing questions from vg12526.tarama
+ */
+public class JdbcTaramaRepository implements TaramaRepository {
+
+    // Filtered queries, EXPLAINed at startup by QueryPlanCheck
+    static final String FIND_BY_EXAM_CODE_AND_LANGUAGE =
+        "SELECT id, real_id, images, derskodu, dersdili " +
+        "FROM vg12526.tarama " +
+        "WHERE derskodu = ? AND dersdili = ? AND images IS NOT NULL " +
+        "ORDER BY id, images";
+
+    static final String FIND_BY_EXAM_CODES_AND_LANGUAGES =
+        "SELECT t.id, t.real_id, t.images, t.derskodu, t.dersdili " +
+        "FROM vg12526.tarama t " +
+        "JOIN (SELECT DISTINCT code, lang FROM unnest(?::text[], ?::text[]) AS p(code, lang)) p " +
+        "ON t.derskodu = p.code AND t.dersdili = p.lang " +
+        "WHERE t.images IS NOT NULL " +
+        "ORDER BY t.id, t.images";
+
+    private final DatabaseConfig dbConfig;
+
+    public JdbcTaramaRepository(DatabaseConfig dbConfig) {
+        this.dbConfig = dbConfig;
+    }
+
+    /**
+     * Fetches all questions
+     */
+    @Override
+    public List<TaramaQuestion> findAll() throws SQLException {
+        long start = System.nanoTime();
+        String sql = "SELECT id, real_id, images, derskodu, dersdili " +
+            "FROM vg12526.tarama " +
+            "WHERE images IS NOT NULL " +
+            "ORDER BY id, images";
+
+        List<TaramaQuestion> questions = new ArrayList<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            RowMapper<TaramaQuestion> mapper = MAPPER.create(rs);
+            while (rs.next()) {
+                questions.add(mapper.map(rs));
+            }
+        }
+
+        Metrics.query("JdbcTaramaRepository.findAll", start, questions.size());
+        return questions;
+    }
+
+    /**
+     * Fetches questions for a specific exam code and language
+     */
+    @Override
+    public List<TaramaQuestion> findByExamCodeAndLanguage(String examCode, String language) throws SQLException {
+        long start = System.nanoTime();
+        List<TaramaQuestion> questions = new ArrayList<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_EXAM_CODE_AND_LANGUAGE)) {
+
+            stmt.setString(1, examCode);
+            stmt.setString(2, language);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<TaramaQuestion> mapper = MAPPER.create(rs);
+                while (rs.next()) {
+                    questions.add(mapper.map(rs));
+                }
+            }
+        }
+
+        Metrics.query("JdbcTaramaRepository.findByExamCodeAndLanguage", start, questions.size());
+        return questions;
+    }
+
+    /**
+     * Fetches questions for multiple exam code/language pairs
+     * This is more efficient than calling findByExamCodeAndLanguage multiple times
+     *
+     * The pairs go in as two parallel text arrays joined through unnest, so
+     * the statement text is the same for any number of pairs.
+     */
+    @Override
+    public List<TaramaQuestion> findByExamCodesAndLanguages(List<String> examCodes, List<String> languages)
+            throws SQLException {
+
+        if (examCodes.isEmpty() || languages.isEmpty()) {
+            return new ArrayList<>();
+        }
+        long start = System.nanoTime();
+
+        List<TaramaQuestion> questions = new ArrayList<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_EXAM_CODES_AND_LANGUAGES)) {
+
+            Array codes = conn.createArrayOf("text", examCodes.toArray());
+            Array langs = conn.createArrayOf("text", languages.toArray());
+            stmt.setArray(1, codes);
+            stmt.setArray(2, langs);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<TaramaQuestion> mapper = MAPPER.create(rs);
+                while (rs.next()) {
+                    questions.add(mapper.map(rs));
+                }
+            }
+        }
+
+        Metrics.query("JdbcTaramaRepository.findByExamCodesAndLanguages", start, questions.size());
+        return questions;
+    }
+
+    /**
+     * Maps ResultSet rows to TaramaQuestion
+     */
+    private static final RowMapper.Factory<TaramaQuestion> MAPPER = rs -> {
+        int id = rs.findColumn("id");
+        int realId = rs.findColumn("real_id");
+        int images = rs.findColumn("images");
+        int derskodu = rs.findColumn("derskodu");
+        int dersdili = rs.findColumn("dersdili");
+
+        return row -> {
+            TaramaQuestion question = new TaramaQuestion();
+
+            question.setId(row.getString(id));
+            // real_id can be null
+            question.setRealId(Columns.getInteger(row, realId));
+            question.setImagePath(row.getString(images));
+            question.setExamCode(row.getString(derskodu));
+            question.setLanguage(row.getString(dersdili));
+
+            return question;
+        };
+    };
+}
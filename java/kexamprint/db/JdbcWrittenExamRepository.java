@@ -0,0 +1,143 @@
+package kexamprint.db;
+
+import kexamprint.metrics.Metrics;
+import kexamprint.model.WrittenExamAnnouncement;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC repository for accessing written exam announcements
+ */
+public class JdbcWrittenExamRepository implements WrittenExamRepository {
+
+    // EXPLAINed at startup by QueryPlanCheck
+    static final String FIND_ALL =
+        "SELECT " +
+        "id, day, seat_no, session_key, exam_code, exam_name, variant, " +
+        "curriculum_language, student_id, student_name, student_surname, " +
+        "exam_date, day_name, start_time, end_time, " +
+        "room, room_type, building, program_name, education_type, has_disability " +
+        "FROM kexam.written_exam_announcements " +
+        "ORDER BY day, session_key, seat_no";
+
+    static final String FIND_BY_SESSION_KEY =
+        "SELECT " +
+        "id, day, seat_no, session_key, exam_code, exam_name, variant, " +
+        "curriculum_language, student_id, student_name, student_surname, " +
+        "exam_date, day_name, start_time, end_time, " +
+        "room, room_type, building, program_name, education_type, has_disability " +
+        "FROM kexam.written_exam_announcements " +
+        "WHERE session_key = ? " +
+        "ORDER BY seat_no";
+
+    private final DatabaseConfig dbConfig;
+
+    public JdbcWrittenExamRepository(DatabaseConfig dbConfig) {
+        this.dbConfig = dbConfig;
+    }
+
+    /**
+     * Fetches all written exam announcements
+     */
+    @Override
+    public List<WrittenExamAnnouncement> findAll() throws SQLException {
+        long start = System.nanoTime();
+        List<WrittenExamAnnouncement> announcements = new ArrayList<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_ALL);
+             ResultSet rs = stmt.executeQuery()) {
+
+            RowMapper<WrittenExamAnnouncement> mapper = MAPPER.create(rs);
+            while (rs.next()) {
+                announcements.add(mapper.map(rs));
+            }
+        }
+
+        Metrics.query("JdbcWrittenExamRepository.findAll", start, announcements.size());
+        return announcements;
+    }
+
+    /**
+     * Fetches announcements for a specific session
+     */
+    @Override
+    public List<WrittenExamAnnouncement> findBySessionKey(String sessionKey) throws SQLException {
+        long start = System.nanoTime();
+        List<WrittenExamAnnouncement> announcements = new ArrayList<>();
+
+        try (Connection conn = dbConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_SESSION_KEY)) {
+
+            stmt.setString(1, sessionKey);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<WrittenExamAnnouncement> mapper = MAPPER.create(rs);
+                while (rs.next()) {
+                    announcements.add(mapper.map(rs));
+                }
+            }
+        }
+
+        Metrics.query("JdbcWrittenExamRepository.findBySessionKey", start, announcements.size());
+        return announcements;
+    }
+
+    /**
+     * Maps ResultSet rows to WrittenExamAnnouncement
+     */
+    private static final RowMapper.Factory<WrittenExamAnnouncement> MAPPER = rs -> {
+        int id = rs.findColumn("id");
+        int day = rs.findColumn("day");
+        int seatNo = rs.findColumn("seat_no");
+        int sessionKey = rs.findColumn("session_key");
+        int examCode = rs.findColumn("exam_code");
+        int examName = rs.findColumn("exam_name");
+        int variant = rs.findColumn("variant");
+        int curriculumLanguage = rs.findColumn("curriculum_language");
+        int studentId = rs.findColumn("student_id");
+        int studentName = rs.findColumn("student_name");
+        int studentSurname = rs.findColumn("student_surname");
+        int examDate = rs.findColumn("exam_date");
+        int dayName = rs.findColumn("day_name");
+        int startTime = rs.findColumn("start_time");
+        int endTime = rs.findColumn("end_time");
+        int room = rs.findColumn("room");
+        int roomType = rs.findColumn("room_type");
+        int building = rs.findColumn("building");
+        int programName = rs.findColumn("program_name");
+        int educationType = rs.findColumn("education_type");
+        int hasDisability = rs.findColumn("has_disability");
+
+        return row -> {
+            WrittenExamAnnouncement announcement = new WrittenExamAnnouncement();
+
+            announcement.setId(Columns.getInteger(row, id));
+            announcement.setDay(Columns.getInteger(row, day));
+            announcement.setSeatNo(Columns.getInteger(row, seatNo));
+            announcement.setSessionKey(row.getString(sessionKey));
+            announcement.setExamCode(row.getString(examCode));
+            announcement.setExamName(row.getString(examName));
+            announcement.setVariant(row.getString(variant));
+            announcement.setCurriculumLanguage(row.getString(curriculumLanguage));
+            announcement.setStudentId(Columns.getInteger(row, studentId));
+            announcement.setStudentName(row.getString(studentName));
+            announcement.setStudentSurname(row.getString(studentSurname));
+            announcement.setExamDate(row.getString(examDate));
+            announcement.setDayName(row.getString(dayName));
+            announcement.setStartTime(Columns.getLocalTime(row, startTime));
+            announcement.setEndTime(Columns.getLocalTime(row, endTime));
+            announcement.setRoom(row.getString(room));
+            announcement.setRoomType(row.getString(roomType));
+            announcement.setBuilding(row.getString(building));
+            announcement.setProgramName(row.getString(programName));
+            announcement.setEducationType(row.getString(educationType));
+            announcement.setHasDisability(row.getBoolean(hasDisability));
+
+            return announcement;
+        };
+    };
+}
@@ -0,0 +1,220 @@
+package kexamprint.db;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * Reads the PostgreSQL binary COPY format (COPY ... TO STDOUT (FORMAT binary))
+ * field by field, decoding int4, bool and time straight from the bytes
+ *
+ * Values are read in column order after each nextRow(). readSharedText()
+ * hands out the previous row's String when the column's bytes repeat, so
+ * low-cardinality columns (exam, room, building...) neither decode nor
+ * allocate a new String per row.
+ */
+public class PgBinaryCopyReader implements Closeable {
+
+    private static final byte[] SIGNATURE = { 'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0 };
+    private static final int MAX_COLUMNS = 64;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[64 * 1024];
+    private int position;
+    private int limit;
+
+    private int fieldCount;
+    private int field;
+    private final byte[][] sharedBytes = new byte[MAX_COLUMNS][];
+    private final String[] sharedStrings = new String[MAX_COLUMNS];
+
+    /**
+     * Reads and checks the COPY header
+     */
+    public PgBinaryCopyReader(InputStream in) throws IOException {
+        this.in = in;
+        ensure(SIGNATURE.length + 8);
+        for (int i = 0; i < SIGNATURE.length; i++) {
+            if (buffer[position + i] != SIGNATURE[i]) {
+                throw new IOException("Not a binary COPY stream");
+            }
+        }
+        position += SIGNATURE.length;
+        readInt(); // flags: no OIDs in PostgreSQL 12+
+        skipBytes(readInt());
+    }
+
+    /**
+     * Moves to the next row
+     *
+     * @return false at the end of the data
+     */
+    public boolean nextRow() throws IOException {
+        ensure(2);
+        fieldCount = (short) (((buffer[position] & 0xFF) << 8) | (buffer[position + 1] & 0xFF));
+        position += 2;
+        field = 0;
+        if (fieldCount == -1) {
+            return false;
+        }
+        if (fieldCount > MAX_COLUMNS) {
+            throw new IOException("Too many columns in COPY row: " + fieldCount);
+        }
+        return true;
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * int4 column; null for NULL
+     */
+    public Integer readInteger() throws IOException {
+        int length = beginField();
+        if (length < 0) {
+            return null;
+        }
+        expectLength(length, 4, "int4");
+        return readInt();
+    }
+
+    /**
+     * bool column; false for NULL, like ResultSet.getBoolean
+     */
+    public boolean readBoolean() throws IOException {
+        int length = beginField();
+        if (length < 0) {
+            return false;
+        }
+        expectLength(length, 1, "bool");
+        ensure(1);
+        return buffer[position++] != 0;
+    }
+
+    /**
+     * time column (microseconds since midnight); null for NULL
+     */
+    public LocalTime readTime() throws IOException {
+        int length = beginField();
+        if (length < 0) {
+            return null;
+        }
+        expectLength(length, 8, "time");
+        long high = readInt() & 0xFFFFFFFFL;
+        long low = readInt() & 0xFFFFFFFFL;
+        return LocalTime.ofNanoOfDay(((high << 32) | low) * 1000L);
+    }
+
+    /**
+     * text column; null for NULL
+     */
+    public String readText() throws IOException {
+        int length = beginField();
+        if (length < 0) {
+            return null;
+        }
+        ensure(length);
+        String text = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return text;
+    }
+
+    /**
+     * text column whose String is reused while the column repeats the
+     * previous row's value; null for NULL
+     */
+    public String readSharedText() throws IOException {
+        int column = field;
+        int length = beginField();
+        if (length < 0) {
+            return null;
+        }
+        ensure(length);
+        byte[] previous = sharedBytes[column];
+        String text;
+        if (previous != null && previous.length == length
+                && Arrays.equals(previous, 0, length, buffer, position, position + length)) {
+            text = sharedStrings[column];
+        } else {
+            text = new String(buffer, position, length, StandardCharsets.UTF_8);
+            sharedBytes[column] = Arrays.copyOfRange(buffer, position, position + length);
+            sharedStrings[column] = text;
+        }
+        position += length;
+        return text;
+    }
+
+    /**
+     * Skips the next column
+     */
+    public void skip() throws IOException {
+        int length = beginField();
+        if (length > 0) {
+            skipBytes(length);
+        }
+    }
+
+    private int beginField() throws IOException {
+        if (field >= fieldCount) {
+            throw new IOException("Read past the last of " + fieldCount + " columns");
+        }
+        field++;
+        return readInt();
+    }
+
+    private static void expectLength(int length, int expected, String type) throws IOException {
+        if (length != expected) {
+            throw new IOException("Expected " + type + " (" + expected + " bytes), got " + length + " bytes");
+        }
+    }
+
+    private int readInt() throws IOException {
+        ensure(4);
+        int value = ((buffer[position] & 0xFF) << 24) | ((buffer[position + 1] & 0xFF) << 16)
+            | ((buffer[position + 2] & 0xFF) << 8) | (buffer[position + 3] & 0xFF);
+        position += 4;
+        return value;
+    }
+
+    private void skipBytes(int count) throws IOException {
+        while (count > 0) {
+            ensure(1);
+            int step = Math.min(count, limit - position);
+            position += step;
+            count -= step;
+        }
+    }
+
+    /**
+     * Makes at least count bytes available from position; values longer
+     * than the buffer (huge text) are not expected in these tables
+     */
+    private void ensure(int count) throws IOException {
+        if (limit - position >= count) {
+            return;
+        }
+        if (count > buffer.length) {
+            throw new IOException("COPY field of " + count + " bytes exceeds the read buffer");
+        }
+        System.arraycopy(buffer, position, buffer, 0, limit - position);
+        limit -= position;
+        position = 0;
+        while (limit < count) {
+            int read = in.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                throw new EOFException("Binary COPY stream ended early");
+            }
+            limit += read;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
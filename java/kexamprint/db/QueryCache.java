@@ -0,0 +1,77 @@
+package kexamprint.db;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Query results of one table, keyed by query and parameters, valid while
+ * the table's TableChangeMonitor version stays the same
+ *
+ * A hit costs no database work; the first lookup after the table changed
+ * drops every entry and runs the query again.
+ */
+public class QueryCache {
+
+    /**
+     * The query a missing entry is loaded with
+     */
+    @FunctionalInterface
+    public interface Query<T> {
+        T run() throws SQLException;
+    }
+
+    private final TableChangeMonitor monitor;
+    private final String table;
+    private final Map<String, Object> entries = new HashMap<>();
+    private long version = -1;
+    private long hits;
+    private long misses;
+
+    public QueryCache(TableChangeMonitor monitor, String table) {
+        this.monitor = monitor;
+        this.table = table;
+    }
+
+    /**
+     * Cached result for the key, running the query on a miss
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Query<T> query) throws SQLException {
+        // Read the version before querying: a change during the query
+        // leaves the entry stale, and the next lookup reloads it
+        long current = monitor.version(table);
+        synchronized (this) {
+            if (current != version) {
+                entries.clear();
+                version = current;
+            } else if (entries.containsKey(key)) {
+                hits++;
+                return (T) entries.get(key);
+            }
+            misses++;
+        }
+        T value = query.run();
+        synchronized (this) {
+            if (current == version) {
+                entries.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drops the table's entries after a write through the repository
+     */
+    public void invalidate() {
+        monitor.changed(table);
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,174 @@
+package kexamprint.db;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startup check that the repositories' filtered queries use indexes
+ *
+ * Runs EXPLAIN (VERBOSE) on each query with sample parameters and warns
+ * about every sequential scan of a table whose estimated row count
+ * (pg_class.reltuples) reaches minRows, which means an index from
+ * kexamprint/sql/migrations is missing or unused. A full-table load reads
+ * every row anyway, so for the ordered written announcement load only a
+ * sort of a large table is warned about: the (day, session_key, seat_no)
+ * index exists to stream that load in order instead of sorting it.
+ */
+public class QueryPlanCheck {
+
+    private static final Logger log = LogManager.getLogger(QueryPlanCheck.class);
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+\\.\\w+)");
+    private static final Pattern SORT = Pattern.compile("(?m)^\\s*(->\\s+)?Sort\\s+\\(");
+
+    /**
+     * Binds sample parameters to a repository query
+     */
+    private interface Binder {
+        void bind(Connection conn, PreparedStatement stmt) throws SQLException;
+    }
+
+    private static class Query {
+        final String name;
+        final String sql;
+        final Binder binder;
+        // Full-table load: only a sort of a large table is a finding
+        final boolean fullLoad;
+
+        Query(String name, String sql, Binder binder, boolean fullLoad) {
+            this.name = name;
+            this.sql = sql;
+            this.binder = binder;
+            this.fullLoad = fullLoad;
+        }
+    }
+
+    private static final List<Query> QUERIES = new ArrayList<>();
+    static {
+        QUERIES.add(new Query("JdbcWrittenExamRepository.findAll", JdbcWrittenExamRepository.FIND_ALL,
+            (conn, stmt) -> { }, true));
+        add("JdbcWrittenExamRepository.findBySessionKey", JdbcWrittenExamRepository.FIND_BY_SESSION_KEY,
+            (conn, stmt) -> stmt.setString(1, "1-101-09:00"));
+        add("JdbcOralExamRepository.findByDay", JdbcOralExamRepository.FIND_BY_DAY,
+            (conn, stmt) -> stmt.setInt(1, 1));
+        add("JdbcTaramaRepository.findByExamCodeAndLanguage", JdbcTaramaRepository.FIND_BY_EXAM_CODE_AND_LANGUAGE,
+            (conn, stmt) -> {
+                stmt.setString(1, "MAT101");
+                stmt.setString(2, "uz");
+            });
+        add("JdbcTaramaRepository.findByExamCodesAndLanguages",
+            JdbcTaramaRepository.FIND_BY_EXAM_CODES_AND_LANGUAGES,
+            (conn, stmt) -> {
+                stmt.setArray(1, conn.createArrayOf("text", new Object[] { "MAT101", "FIZ101" }));
+                stmt.setArray(2, conn.createArrayOf("text", new Object[] { "uz", "ru" }));
+            });
+        add("JdbcQuestionAssignmentRepository.findByPlacementId",
+            JdbcQuestionAssignmentRepository.FIND_BY_PLACEMENT_ID,
+            (conn, stmt) -> stmt.setInt(1, 1));
+        add("JdbcQuestionAssignmentRepository.findBySessionKey",
+            JdbcQuestionAssignmentRepository.FIND_BY_SESSION_KEY,
+            (conn, stmt) -> stmt.setString(1, "1-101-09:00"));
+        add("JdbcQuestionAssignmentRepository.findByPlacementIds",
+            JdbcQuestionAssignmentRepository.FIND_BY_PLACEMENT_IDS,
+            (conn, stmt) -> stmt.setArray(1, conn.createArrayOf("int4", new Object[] { 1, 2, 3 })));
+        add("JdbcQuestionAssignmentRepository.findBySessionKeys",
+            JdbcQuestionAssignmentRepository.FIND_BY_SESSION_KEYS,
+            (conn, stmt) -> stmt.setArray(1, conn.createArrayOf("text", new Object[] { "1-101-09:00" })));
+    }
+
+    private static void add(String name, String sql, Binder binder) {
+        QUERIES.add(new Query(name, sql, binder, false));
+    }
+
+    private final DatabaseConfig dbConfig;
+    private final long minRows;
+
+    public QueryPlanCheck(DatabaseConfig dbConfig, long minRows) {
+        this.dbConfig = dbConfig;
+        this.minRows = minRows;
+    }
+
+    /**
+     * Plans every query and logs a warning per sequential scan of a large
+     * table; a query that cannot be planned (table missing) is logged too
+     *
+     * @return the warnings, e.g. for a report
+     */
+    public List<String> run() throws SQLException {
+        List<String> warnings = new ArrayList<>();
+        try (Connection conn = dbConfig.getConnection()) {
+            Map<String, Long> rowEstimates = new LinkedHashMap<>();
+            for (Query query : QUERIES) {
+                String plan;
+                try {
+                    plan = explain(conn, query.sql, query.binder);
+                } catch (SQLException e) {
+                    String warning = query.name + ": cannot be planned: " + e.getMessage();
+                    log.warn(warning);
+                    warnings.add(warning);
+                    continue;
+                }
+                if (query.fullLoad && !SORT.matcher(plan).find()) {
+                    continue;
+                }
+                Matcher m = SEQ_SCAN.matcher(plan);
+                while (m.find()) {
+                    String table = m.group(1);
+                    Long rows = rowEstimates.get(table);
+                    if (rows == null) {
+                        rows = estimatedRows(conn, table);
+                        rowEstimates.put(table, rows);
+                    }
+                    if (rows >= minRows) {
+                        String warning = query.name + (query.fullLoad ? ": sorts a sequential scan of " :
+                            ": sequential scan on ") + table + " (~" + rows + " rows)";
+                        log.warn("{}; run: java ExamPrintApplication migrate", warning);
+                        warnings.add(warning);
+                    }
+                }
+            }
+        }
+        if (warnings.isEmpty()) {
+            log.info("Query plan check: {} repository queries use indexes", QUERIES.size());
+        }
+        return warnings;
+    }
+
+    private static String explain(Connection conn, String sql, Binder binder) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN (VERBOSE) " + sql)) {
+            binder.bind(conn, stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+
+    /**
+     * Planner row estimate of the last ANALYZE / VACUUM (-1 if never
+     * analyzed, which the check treats as small)
+     */
+    private static long estimatedRows(Connection conn, String table) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT reltuples::bigint FROM pg_class WHERE oid = ?::regclass")) {
+            stmt.setString(1, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+}
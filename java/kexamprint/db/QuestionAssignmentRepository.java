@@ -1,222 +1,60 @@
 package kexamprint.db;
 
 import kexamprint.model.QuestionAssignment;
+import kexamprint.util.IntMap;
 
-import java.sql.*;
-import java.util.ArrayList;
+import java.sql.SQLException;
 import java.util.List;
 
 /**
- * Repository for managing question assignments
+ * Question assignments (kexamprint.question_assignments)
  */
-public class QuestionAssignmentRepository {
-
-    private final DatabaseConfig dbConfig;
-
-    public QuestionAssignmentRepository(DatabaseConfig dbConfig) {
-        this.dbConfig = dbConfig;
-    }
+public interface QuestionAssignmentRepository {
 
     /**
-     * Saves a single question assignment
+     * Saves a single question assignment and sets its generated id
      */
-    public void save(QuestionAssignment assignment) throws SQLException {
-        String sql = "INSERT INTO kexamprint.question_assignments " +
-            "(placement_id, student_id, room_code, exam_code, curriculum_language, " +
-            "tarama_question_id, session_key) " +
-            "VALUES (?, ?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            stmt.setInt(1, assignment.getPlacementId());
-            stmt.setInt(2, assignment.getStudentId());
-            stmt.setString(3, assignment.getRoomCode());
-            stmt.setString(4, assignment.getExamCode());
-            stmt.setString(5, assignment.getCurriculumLanguage());
-            stmt.setString(6, assignment.getTaramaQuestionId());
-            stmt.setString(7, assignment.getSessionKey());
-
-            stmt.executeUpdate();
-
-            // Get generated ID
-            try (ResultSet rs = stmt.getGeneratedKeys()) {
-                if (rs.next()) {
-                    assignment.setId(rs.getInt(1));
-                }
-            }
-        }
-    }
+    void save(QuestionAssignment assignment) throws SQLException;
 
     /**
-     * Saves multiple question assignments in a batch
+     * Saves multiple question assignments
      */
-    public void saveAll(List<QuestionAssignment> assignments) throws SQLException {
-        if (assignments == null || assignments.isEmpty()) {
-            return;
-        }
-
-        String sql = "INSERT INTO kexamprint.question_assignments " +
-            "(placement_id, student_id, room_code, exam_code, curriculum_language, " +
-            "tarama_question_id, session_key) " +
-            "VALUES (?, ?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            // Use batch for better performance
-            for (QuestionAssignment assignment : assignments) {
-                stmt.setInt(1, assignment.getPlacementId());
-                stmt.setInt(2, assignment.getStudentId());
-                stmt.setString(3, assignment.getRoomCode());
-                stmt.setString(4, assignment.getExamCode());
-                stmt.setString(5, assignment.getCurriculumLanguage());
-                stmt.setString(6, assignment.getTaramaQuestionId());
-                stmt.setString(7, assignment.getSessionKey());
-                stmt.addBatch();
-            }
-
-            stmt.executeBatch();
-        }
-    }
+    void saveAll(List<QuestionAssignment> assignments) throws SQLException;
 
     /**
-     * Finds all assignments
+     * Finds all assignments, ordered by placement_id
      */
-    public List<QuestionAssignment> findAll() throws SQLException {
-        String sql = "SELECT id, placement_id, student_id, room_code, exam_code, " +
-            "curriculum_language, tarama_question_id, question_id, paper_code, session_key, assigned_at " +
-            "FROM kexamprint.question_assignments " +
-            "ORDER BY placement_id";
-
-        List<QuestionAssignment> assignments = new ArrayList<>();
-
-        try (Connection conn = dbConfig.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                assignments.add(mapResultSet(rs));
-            }
-        }
-
-        return assignments;
-    }
+    List<QuestionAssignment> findAll() throws SQLException;
 
     /**
-     * Finds assignment by placement_id
+     * Finds assignment by placement_id, or null
      */
-    public QuestionAssignment findByPlacementId(Integer placementId) throws SQLException {
-        String sql = "SELECT id, placement_id, student_id, room_code, exam_code, " +
-            "curriculum_language, tarama_question_id, question_id, paper_code, session_key, assigned_at " +
-            "FROM kexamprint.question_assignments " +
-            "WHERE placement_id = ?";
-
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, placementId);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return mapResultSet(rs);
-                }
-            }
-        }
-
-        return null;
-    }
+    QuestionAssignment findByPlacementId(Integer placementId) throws SQLException;
 
     /**
-     * Finds all assignments for a session
+     * Finds all assignments for a session, ordered by placement_id
      */
-    public List<QuestionAssignment> findBySessionKey(String sessionKey) throws SQLException {
-        String sql = "SELECT id, placement_id, student_id, room_code, exam_code, " +
-            "curriculum_language, tarama_question_id, question_id, paper_code, session_key, assigned_at " +
-            "FROM kexamprint.question_assignments " +
-            "WHERE session_key = ? " +
-            "ORDER BY placement_id";
-
-        List<QuestionAssignment> assignments = new ArrayList<>();
-
-        try (Connection conn = dbConfig.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, sessionKey);
-
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    assignments.add(mapResultSet(rs));
-                }
-            }
-        }
-
-        return assignments;
-    }
+    List<QuestionAssignment> findBySessionKey(String sessionKey) throws SQLException;
 
     /**
-     * Deletes all question assignments (for testing/reset)
+     * Finds the assignments of many placements in one query, keyed by
+     * placement_id (placements without an assignment are absent)
      */
-    public void deleteAll() throws SQLException {
-        String sql = "DELETE FROM kexamprint.question_assignments";
-
-        try (Connection conn = dbConfig.getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.executeUpdate(sql);
-        }
-    }
+    IntMap<QuestionAssignment> findByPlacementIds(int[] placementIds) throws SQLException;
 
     /**
-     * Counts total assignments
+     * Finds the assignments of many sessions in one query, keyed by
+     * placement_id
      */
-    public int count() throws SQLException {
-        String sql = "SELECT COUNT(*) FROM kexamprint.question_assignments";
-
-        try (Connection conn = dbConfig.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-        }
-
-        return 0;
-    }
+    IntMap<QuestionAssignment> findBySessionKeys(List<String> sessionKeys) throws SQLException;
 
     /**
-     * Maps a ResultSet row to QuestionAssignment
+     * Deletes all question assignments (for testing/reset)
      */
-    private QuestionAssignment mapResultSet(ResultSet rs) throws SQLException {
-        QuestionAssignment assignment = new QuestionAssignment();
-
-        assignment.setId(rs.getInt("id"));
-        assignment.setPlacementId(rs.getInt("placement_id"));
-        assignment.setStudentId(rs.getInt("student_id"));
-        assignment.setRoomCode(rs.getString("room_code"));
-        assignment.setExamCode(rs.getString("exam_code"));
-        assignment.setCurriculumLanguage(rs.getString("curriculum_language"));
-        assignment.setTaramaQuestionId(rs.getString("tarama_question_id"));
-
-        // Read question_id (can be null)
-        int questionId = rs.getInt("question_id");
-        if (!rs.wasNull()) {
-            assignment.setQuestionId(questionId);
-        }
-
-        // Read paper_code (can be null)
-        long paperCode = rs.getLong("paper_code");
-        if (!rs.wasNull()) {
-            assignment.setPaperCode(paperCode);
-        }
-
-        assignment.setSessionKey(rs.getString("session_key"));
+    void deleteAll() throws SQLException;
 
-        Timestamp assignedAt = rs.getTimestamp("assigned_at");
-        if (assignedAt != null) {
-            assignment.setAssignedAt(assignedAt.toLocalDateTime());
-        }
-
-        return assignment;
-    }
+    /**
+     * Counts total assignments
+     */
+    int count() throws SQLException;
 }
@@ -0,0 +1,26 @@
+package kexamprint.db;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current ResultSet row to an object
+ *
+ * Mappers come from a Factory that resolves the column labels to indexes
+ * once per ResultSet, so map() reads every column by index instead of
+ * having the driver look its label up again on each row.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    T map(ResultSet rs) throws SQLException;
+
+    /**
+     * Creates the mapper for one ResultSet, resolving its column indexes
+     * (ResultSet.findColumn) up front
+     */
+    @FunctionalInterface
+    interface Factory<T> {
+        RowMapper<T> create(ResultSet rs) throws SQLException;
+    }
+}
@@ -0,0 +1,258 @@
+package kexamprint.db;
+
+import kexamprint.util.ResourceLoader;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies the versioned DDL migrations of kexamprint/sql/migrations
+ *
+ * Migration V<n>__<name>.sql runs once and is recorded in
+ * kexamprint.schema_migrations with a checksum of its text. A migration
+ * runs in its own transaction, except one that builds indexes with CREATE
+ * INDEX CONCURRENTLY: that cannot run in a transaction block, so its
+ * statements run one by one in autocommit and the version is recorded
+ * after the last one. Such builds do not block writes to the announcement
+ * and assignment tables while they run; an index left invalid by a failed
+ * build is dropped and rebuilt on the next run. A session-level advisory
+ * lock keeps two migrating processes from applying the same version. An
+ * applied migration whose file changed since is only warned about; fixes
+ * go into a new version.
+ */
+public class SchemaMigrator {
+
+    private static final Logger log = LogManager.getLogger(SchemaMigrator.class);
+
+    /** In version order; add new migrations at the end */
+    static final List<String> MIGRATIONS = List.of(
+        "V1__announcement_indexes",
+        "V2__question_assignment_indexes",
+        "V3__tarama_indexes"
+    );
+
+    private static final String DIR = "kexamprint/sql/migrations/";
+    private static final long LOCK_KEY = 0x6b7072696e74L; // "kprint"
+
+    private static final Pattern CONCURRENT_INDEX = Pattern.compile(
+        "CREATE\\s+INDEX\\s+CONCURRENTLY\\s+IF\\s+NOT\\s+EXISTS\\s+(\\w+)\\s+ON\\s+(\\w+)\\.",
+        Pattern.CASE_INSENSITIVE);
+
+    private final DatabaseConfig dbConfig;
+
+    public SchemaMigrator(DatabaseConfig dbConfig) {
+        this.dbConfig = dbConfig;
+    }
+
+    /**
+     * Applies the migrations that are not recorded yet
+     *
+     * @return number of migrations applied
+     */
+    public int migrate() throws SQLException, IOException {
+        int applied = 0;
+        try (Connection conn = dbConfig.getConnection()) {
+            conn.setAutoCommit(true);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE SCHEMA IF NOT EXISTS kexamprint");
+                stmt.execute("CREATE TABLE IF NOT EXISTS kexamprint.schema_migrations (" +
+                    "version integer PRIMARY KEY, name text NOT NULL, checksum text NOT NULL, " +
+                    "applied_at timestamp NOT NULL DEFAULT now())");
+            }
+
+            try (PreparedStatement lock = conn.prepareStatement("SELECT pg_advisory_lock(?)")) {
+                lock.setLong(1, LOCK_KEY);
+                lock.execute();
+            }
+            try {
+                Map<Integer, String> recorded = appliedChecksums(conn);
+                for (String migration : MIGRATIONS) {
+                    int version = version(migration);
+                    String sql = read(migration);
+                    String checksum = checksum(sql);
+
+                    if (recorded.containsKey(version)) {
+                        if (!recorded.get(version).equals(checksum)) {
+                            log.warn("Migration {} changed after it was applied; put the change in a new version",
+                                migration);
+                        }
+                        continue;
+                    }
+
+                    long start = System.nanoTime();
+                    if (CONCURRENT_INDEX.matcher(sql).find()) {
+                        applyConcurrently(conn, sql);
+                        record(conn, version, migration, checksum);
+                    } else {
+                        applyInTransaction(conn, sql, version, migration, checksum);
+                    }
+                    applied++;
+                    log.info("Applied migration {} ({} ms)", migration, (System.nanoTime() - start) / 1_000_000);
+                }
+            } finally {
+                try (PreparedStatement unlock = conn.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+                    unlock.setLong(1, LOCK_KEY);
+                    unlock.execute();
+                }
+            }
+        }
+        return applied;
+    }
+
+    private static void applyInTransaction(Connection conn, String sql, int version, String migration,
+                                           String checksum) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            try (Statement stmt = conn.createStatement()) {
+                for (String statement : statements(sql)) {
+                    stmt.execute(statement);
+                }
+            }
+            record(conn, version, migration, checksum);
+            conn.commit();
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Runs each statement in autocommit; an index that a failed concurrent
+     * build left invalid would satisfy IF NOT EXISTS, so it is dropped first
+     */
+    private static void applyConcurrently(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String statement : statements(sql)) {
+                Matcher m = CONCURRENT_INDEX.matcher(statement);
+                if (m.find()) {
+                    String index = m.group(2) + "." + m.group(1);
+                    if (isInvalidIndex(conn, index)) {
+                        log.warn("Dropping invalid index {} left by an interrupted build", index);
+                        stmt.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index);
+                    }
+                }
+                stmt.execute(statement);
+            }
+        }
+    }
+
+    private static boolean isInvalidIndex(Connection conn, String index) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT NOT indisvalid FROM pg_index WHERE indexrelid = to_regclass(?)")) {
+            stmt.setString(1, index);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static void record(Connection conn, int version, String migration, String checksum)
+            throws SQLException {
+        try (PreparedStatement insert = conn.prepareStatement(
+                "INSERT INTO kexamprint.schema_migrations (version, name, checksum) VALUES (?, ?, ?)")) {
+            insert.setInt(1, version);
+            insert.setString(2, migration);
+            insert.setString(3, checksum);
+            insert.executeUpdate();
+        }
+    }
+
+    /**
+     * Splits a migration into its statements: -- comments are dropped and
+     * statements end at ';' (migrations hold DDL without string literals)
+     */
+    static List<String> statements(String sql) {
+        StringBuilder text = new StringBuilder();
+        for (String line : sql.split("\n")) {
+            int comment = line.indexOf("--");
+            text.append(comment >= 0 ? line.substring(0, comment) : line).append('\n');
+        }
+        List<String> statements = new ArrayList<>();
+        for (String statement : text.toString().split(";")) {
+            if (!statement.isBlank()) {
+                statements.add(statement.trim());
+            }
+        }
+        return statements;
+    }
+
+    /**
+     * Migrations not recorded in kexamprint.schema_migrations (all of them
+     * if the table does not exist)
+     */
+    public int pendingCount() throws SQLException {
+        try (Connection conn = dbConfig.getConnection()) {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT to_regclass('kexamprint.schema_migrations')")) {
+                rs.next();
+                if (rs.getString(1) == null) {
+                    return MIGRATIONS.size();
+                }
+            }
+            Map<Integer, String> applied = appliedChecksums(conn);
+            int pending = 0;
+            for (String migration : MIGRATIONS) {
+                if (!applied.containsKey(version(migration))) {
+                    pending++;
+                }
+            }
+            return pending;
+        }
+    }
+
+    private static Map<Integer, String> appliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM kexamprint.schema_migrations")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        return applied;
+    }
+
+    static int version(String migration) {
+        return Integer.parseInt(migration.substring(1, migration.indexOf("__")));
+    }
+
+    private static String read(String migration) throws IOException {
+        try (InputStream in = ResourceLoader.getResourceAsStream(DIR + migration + ".sql")) {
+            if (in == null) {
+                throw new IOException("Migration not found on the classpath: " + DIR + migration + ".sql");
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String checksum(String sql) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(sql.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package kexamprint.db;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Connections that all read one exported REPEATABLE READ snapshot
+ *
+ * open() starts a read-only REPEATABLE READ transaction on a coordinator
+ * connection and exports its snapshot (pg_export_snapshot). Every
+ * getConnection() opens a new connection whose transaction imports that
+ * snapshot (SET TRANSACTION SNAPSHOT), so repositories running in parallel
+ * on separate connections see exactly the same committed data. The
+ * snapshot stays importable until close() ends the coordinator transaction.
+ */
+public class SnapshotDatabaseConfig extends DatabaseConfig implements AutoCloseable {
+
+    private final Connection coordinator;
+    private final String snapshotId;
+
+    private SnapshotDatabaseConfig(DatabaseConfig base, Connection coordinator, String snapshotId) {
+        super(base);
+        this.coordinator = coordinator;
+        this.snapshotId = snapshotId;
+    }
+
+    /**
+     * Exports a snapshot of the database and keeps it open until close()
+     */
+    public static SnapshotDatabaseConfig open(DatabaseConfig base) throws SQLException {
+        Connection conn = base.getConnection();
+        try {
+            beginRepeatableRead(conn);
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT pg_export_snapshot()")) {
+                rs.next();
+                return new SnapshotDatabaseConfig(base, conn, rs.getString(1));
+            }
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a new connection in a transaction reading the exported
+     * snapshot; closing it ends the transaction
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection conn = super.getConnection();
+        try {
+            beginRepeatableRead(conn);
+            try (Statement stmt = conn.createStatement()) {
+                // Must be the first statement of the transaction; the id is
+                // server-generated (hex digits and dashes)
+                stmt.execute("SET TRANSACTION SNAPSHOT '" + snapshotId + "'");
+            }
+            return conn;
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+    }
+
+    private static void beginRepeatableRead(Connection conn) throws SQLException {
+        conn.setAutoCommit(false);
+        conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        conn.setReadOnly(true);
+    }
+
+    public String getSnapshotId() {
+        return snapshotId;
+    }
+
+    /**
+     * Ends the coordinator transaction; connections that already imported
+     * the snapshot keep reading it
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            coordinator.rollback();
+        } finally {
+            coordinator.close();
+        }
+    }
+}
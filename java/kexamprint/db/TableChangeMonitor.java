@@ -0,0 +1,192 @@
+package kexamprint.db;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counter per table, bumped whenever the table changes
+ *
+ * A background thread holds one connection that LISTENs on
+ * kexamprint_table_changed, sent by the triggers of
+ * kexamprint/sql/table_change_notify.sql with 'schema.table' as payload.
+ * Tables without that trigger are polled every pollMillis instead: their
+ * row count and max id are compared with the previous poll (an UPDATE
+ * that keeps both is only seen through the trigger). When the connection
+ * drops, every table counts as changed, since notifications may have been
+ * missed while nobody listened.
+ */
+public class TableChangeMonitor implements AutoCloseable {
+
+    private static final Logger log = LogManager.getLogger(TableChangeMonitor.class);
+
+    public static final String CHANNEL = "kexamprint_table_changed";
+    static final String TRIGGER = "kexamprint_notify_change";
+
+    /** Tables the repositories read, with the id column polling compares */
+    static final Map<String, String> TABLES = new LinkedHashMap<>();
+    static {
+        TABLES.put("kexam.written_exam_announcements", "id");
+        TABLES.put("kexam.oral_exam_announcements", "id");
+        TABLES.put("vg12526.tarama", "real_id");
+        TABLES.put("kexamprint.question_assignments", "id");
+    }
+
+    private final DatabaseConfig dbConfig;
+    private final long pollMillis;
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<String, String> fingerprints = new HashMap<>();
+    private volatile boolean running;
+    private Thread thread;
+
+    public TableChangeMonitor(DatabaseConfig dbConfig, long pollMillis) {
+        this.dbConfig = dbConfig;
+        this.pollMillis = Math.max(100, pollMillis);
+    }
+
+    /**
+     * Current version of the table; changes whenever the table does
+     */
+    public long version(String table) {
+        return counter(table).get();
+    }
+
+    /**
+     * Marks the table as changed, e.g. after writing it through a repository
+     */
+    public void changed(String table) {
+        counter(table).incrementAndGet();
+    }
+
+    private AtomicLong counter(String table) {
+        return versions.computeIfAbsent(table, t -> new AtomicLong());
+    }
+
+    private void changedAll() {
+        for (String table : TABLES.keySet()) {
+            changed(table);
+        }
+    }
+
+    /**
+     * Starts listening (and polling) on a daemon thread
+     */
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "table-change-monitor");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        while (running) {
+            try (Connection conn = dbConfig.getConnection()) {
+                PGConnection pgConnection = conn.unwrap(PGConnection.class);
+                List<String> polled = new ArrayList<>(TABLES.keySet());
+                polled.removeAll(notifyingTables(conn));
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("LISTEN " + CHANNEL);
+                }
+                // Whatever happened before LISTEN was not notified
+                changedAll();
+                fingerprints.clear();
+                log.info("Watching table changes: {} notified, {} polled every {} ms",
+                    TABLES.size() - polled.size(), polled.size(), pollMillis);
+
+                long nextPoll = System.nanoTime();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            if (CHANNEL.equals(notification.getName())) {
+                                changed(notification.getParameter());
+                            }
+                        }
+                    }
+                    if (!polled.isEmpty() && System.nanoTime() - nextPoll >= 0) {
+                        poll(conn, polled);
+                        nextPoll = System.nanoTime() + pollMillis * 1_000_000L;
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Table change monitor lost its connection, retrying in {} ms: {}",
+                    pollMillis, e.getMessage());
+                changedAll();
+                try {
+                    Thread.sleep(pollMillis);
+                } catch (InterruptedException ie) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Tables that have the notify trigger installed and enabled
+     */
+    private static Set<String> notifyingTables(Connection conn) throws SQLException {
+        String sql = "SELECT n.nspname || '.' || c.relname " +
+            "FROM pg_trigger t " +
+            "JOIN pg_class c ON c.oid = t.tgrelid " +
+            "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE t.tgname = ? AND t.tgenabled <> 'D'";
+
+        Set<String> tables = new HashSet<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, TRIGGER);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tables.add(rs.getString(1));
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Compares row count and max id of each polled table with the last poll
+     */
+    private void poll(Connection conn, List<String> tables) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String table : tables) {
+                String sql = "SELECT count(*), max(" + TABLES.get(table) + ") FROM " + table;
+                try (ResultSet rs = stmt.executeQuery(sql)) {
+                    rs.next();
+                    String fingerprint = rs.getLong(1) + "/" + rs.getString(2);
+                    // A table seen for the first time counts as changed too:
+                    // it may have changed before its first fingerprint
+                    if (!fingerprint.equals(fingerprints.put(table, fingerprint))) {
+                        changed(table);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package kexamprint.metrics;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Question assignment for one room session
+ * (QuestionAssignmentService.assignQuestionsForSession)
+ */
+@Name("kexamprint.AssignSession")
+@Label("Assign Session")
+public class AssignSessionEvent extends PrintEvent {
+
+    @Label("Students")
+    int students;
+
+    @Label("Questions")
+    int questions;
+
+    public void end(int students, int questions) {
+        if (shouldCommit()) {
+            this.students = students;
+            this.questions = questions;
+            locate();
+            commit();
+        }
+    }
+}
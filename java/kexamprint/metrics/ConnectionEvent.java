@@ -0,0 +1,23 @@
+package kexamprint.metrics;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Acquisition of a JDBC connection (DatabaseConfig.getConnection)
+ */
+@Name("kexamprint.ConnectionAcquire")
+@Label("Connection Acquire")
+public class ConnectionEvent extends PrintEvent {
+
+    @Label("JDBC URL")
+    String url;
+
+    public void end(String url) {
+        if (shouldCommit()) {
+            this.url = url;
+            locate();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package kexamprint.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import kexamprint.util.ResourceLoader;
+
+/**
+ * Flight recording of a whole run (jfr.record=true), written to
+ * kprint.jfr in the output directory when the run ends
+ *
+ * Equivalent to starting the JVM with -XX:StartFlightRecording; the
+ * kexamprint.* events are enabled in every JFR settings file.
+ */
+public final class FlightRecording implements AutoCloseable {
+
+    private final Recording recording;
+    private final Path file;
+
+    private FlightRecording(Recording recording, Path file) {
+        this.recording = recording;
+        this.file = file;
+    }
+
+    /**
+     * Starts a recording if jfr.record is enabled
+     *
+     * @return the recording, or null
+     */
+    public static FlightRecording startIfEnabled(String outputDir) {
+        if (!Boolean.parseBoolean(ResourceLoader.getConfig("jfr.record", "false"))) {
+            return null;
+        }
+        String settings = ResourceLoader.getConfig("jfr.settings", "profile");
+        try {
+            Path file = Paths.get(outputDir, "kprint.jfr");
+            Files.createDirectories(file.getParent());
+            Recording recording = new Recording(Configuration.getConfiguration(settings));
+            recording.setName("kexamprint");
+            recording.setToDisk(true);
+            recording.setDestination(file);
+            recording.start();
+            System.out.println("Flight recording (" + settings + ") to " + file);
+            return new FlightRecording(recording, file);
+        } catch (IOException | ParseException e) {
+            System.err.println("Failed to start flight recording: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stops the recording and writes the file
+     */
+    @Override
+    public void close() {
+        recording.stop();
+        recording.close();
+        System.out.println("Flight recording written to " + file);
+    }
+}
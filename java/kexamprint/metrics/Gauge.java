@@ -0,0 +1,23 @@
+package kexamprint.metrics;
+
+import java.util.Map;
+
+/**
+ * Last-set value (durations, rates computed at the end of a run)
+ */
+public class Gauge extends Metric {
+
+    private volatile double value;
+
+    Gauge(String name, Map<String, String> labels) {
+        super(name, labels);
+    }
+
+    public void set(double value) {
+        this.value = value;
+    }
+
+    public double get() {
+        return value;
+    }
+}
@@ -0,0 +1,25 @@
+package kexamprint.metrics;
+
+import java.util.Map;
+
+/**
+ * Named metric series with fixed labels
+ */
+public abstract class Metric {
+
+    private final String name;
+    private final Map<String, String> labels;
+
+    Metric(String name, Map<String, String> labels) {
+        this.name = name;
+        this.labels = labels;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, String> getLabels() {
+        return labels;
+    }
+}
@@ -0,0 +1,89 @@
+package kexamprint.metrics;
+
+/**
+ * Named hot-path metrics of a print run, recorded in the global registry
+ *
+ * Call sites take a System.nanoTime() start and report here, so metric
+ * names and labels are defined in one place.
+ */
+public final class Metrics {
+
+    private Metrics() {
+    }
+
+    /**
+     * Repository query latency and rows fetched, per repository method
+     */
+    public static void query(String method, long startNanos, int rows) {
+        MetricsRegistry registry = MetricsRegistry.global();
+        registry.histogram("kprint_db_query_seconds", "method", method).observeSince(startNanos);
+        registry.counter("kprint_db_rows_fetched_total", "method", method).add(rows);
+        QueryEvent.emit(method, startNanos, rows);
+    }
+
+    /**
+     * Duration of a run phase (load, assign, validate, render)
+     */
+    public static void phase(String phase, long startNanos) {
+        MetricsRegistry.global().histogram("kprint_phase_seconds", "phase", phase).observeSince(startNanos);
+    }
+
+    public static void assigned(int count) {
+        MetricsRegistry.global().counter("kprint_assignments_total").add(count);
+    }
+
+    /**
+     * Render latency of one document (exam_paper, signature_form)
+     */
+    public static void rendered(String type, String engine, long startNanos) {
+        MetricsRegistry.global().histogram("kprint_render_seconds", "type", type, "engine", engine)
+            .observeSince(startNanos);
+    }
+
+    /**
+     * One question image decoded (source: layout, master_page, itext, pdfbox)
+     */
+    public static void imageDecoded(String source, long startNanos) {
+        MetricsRegistry registry = MetricsRegistry.global();
+        registry.histogram("kprint_image_decode_seconds", "source", source).observeSince(startNanos);
+        registry.counter("kprint_image_decodes_total", "source", source).inc();
+    }
+
+    /**
+     * One output file committed by an output sink
+     */
+    public static void written(String sink, long bytes) {
+        MetricsRegistry registry = MetricsRegistry.global();
+        registry.counter("kprint_output_files_total", "sink", sink).inc();
+        registry.counter("kprint_output_bytes_total", "sink", sink).add(bytes);
+    }
+
+    /**
+     * Derives the end-of-run rates and writes metrics.json / metrics.prom
+     */
+    public static void dump(String dir) {
+        MetricsRegistry registry = MetricsRegistry.global();
+        double assignSeconds = phaseSeconds(registry, "assign");
+        if (assignSeconds > 0) {
+            registry.gauge("kprint_assignments_per_second").set(
+                registry.sumCounters("kprint_assignments_total") / assignSeconds);
+        }
+        double renderSeconds = phaseSeconds(registry, "render");
+        if (renderSeconds > 0) {
+            registry.gauge("kprint_output_files_per_second").set(
+                registry.sumCounters("kprint_output_files_total") / renderSeconds);
+        }
+        registry.gauge("kprint_run_seconds").set(registry.getUptimeSeconds());
+        try {
+            registry.dump(dir);
+            System.out.println("Metrics written to " + dir + "/metrics.json and metrics.prom");
+        } catch (Exception e) {
+            System.err.println("Failed to write metrics: " + e.getMessage());
+        }
+    }
+
+    private static double phaseSeconds(MetricsRegistry registry, String phase) {
+        Metric metric = registry.find("kprint_phase_seconds", "phase", phase);
+        return metric == null ? 0 : ((Histogram) metric).getSumSeconds();
+    }
+}
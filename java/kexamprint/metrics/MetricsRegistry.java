@@ -0,0 +1,235 @@
+package kexamprint.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of counters, gauges and histograms, dumped as JSON and as
+ * Prometheus text exposition format
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+    // JVM start, so the run time includes the work before the first metric
+    private volatile long startNanos = System.nanoTime()
+        - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L;
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public Counter counter(String name, String... labels) {
+        return (Counter) metrics.computeIfAbsent(key(name, labels), k -> new Counter(name, labelMap(labels)));
+    }
+
+    public Gauge gauge(String name, String... labels) {
+        return (Gauge) metrics.computeIfAbsent(key(name, labels), k -> new Gauge(name, labelMap(labels)));
+    }
+
+    public Histogram histogram(String name, String... labels) {
+        return (Histogram) metrics.computeIfAbsent(key(name, labels), k -> new Histogram(name, labelMap(labels)));
+    }
+
+    /**
+     * Existing series, or null (does not create it)
+     */
+    public Metric find(String name, String... labels) {
+        return metrics.get(key(name, labels));
+    }
+
+    /**
+     * Sum of all counter series with the given name
+     */
+    public long sumCounters(String name) {
+        long sum = 0;
+        for (Metric metric : metrics.values()) {
+            if (metric instanceof Counter && metric.getName().equals(name)) {
+                sum += ((Counter) metric).get();
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Seconds since the start of the run (JVM start, or the last clear)
+     */
+    public double getUptimeSeconds() {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+
+    public void clear() {
+        metrics.clear();
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Writes metrics.json and metrics.prom into a directory
+     */
+    public void dump(String dir) throws IOException {
+        Path path = Paths.get(dir);
+        Files.createDirectories(path);
+        try (Writer writer = Files.newBufferedWriter(path.resolve("metrics.json"), StandardCharsets.UTF_8)) {
+            writeJson(writer);
+        }
+        try (Writer writer = Files.newBufferedWriter(path.resolve("metrics.prom"), StandardCharsets.UTF_8)) {
+            writePrometheus(writer);
+        }
+    }
+
+    public void writeJson(Writer out) throws IOException {
+        List<Metric> sorted = sorted();
+        out.write("{\n");
+        out.write("  \"timestamp\": \"" + Instant.now() + "\",\n");
+        out.write("  \"uptime_seconds\": " + number(getUptimeSeconds()) + ",\n");
+
+        List<String> counters = new ArrayList<>();
+        List<String> gauges = new ArrayList<>();
+        List<String> histograms = new ArrayList<>();
+        for (Metric metric : sorted) {
+            String head = "{\"name\": \"" + metric.getName() + "\", \"labels\": " + jsonLabels(metric.getLabels());
+            if (metric instanceof Counter) {
+                counters.add(head + ", \"value\": " + ((Counter) metric).get() + "}");
+            } else if (metric instanceof Gauge) {
+                gauges.add(head + ", \"value\": " + number(((Gauge) metric).get()) + "}");
+            } else {
+                Histogram h = (Histogram) metric;
+                long count = h.getCount();
+                StringBuilder sb = new StringBuilder(head);
+                sb.append(", \"count\": ").append(count);
+                sb.append(", \"sum_seconds\": ").append(number(h.getSumSeconds()));
+                sb.append(", \"mean_seconds\": ").append(number(count == 0 ? 0 : h.getSumSeconds() / count));
+                sb.append(", \"max_seconds\": ").append(number(h.getMaxSeconds()));
+                sb.append(", \"p50_seconds\": ").append(number(h.getQuantile(0.5)));
+                sb.append(", \"p95_seconds\": ").append(number(h.getQuantile(0.95)));
+                sb.append(", \"p99_seconds\": ").append(number(h.getQuantile(0.99)));
+                sb.append("}");
+                histograms.add(sb.toString());
+            }
+        }
+        writeJsonArray(out, "counters", counters, true);
+        writeJsonArray(out, "gauges", gauges, true);
+        writeJsonArray(out, "histograms", histograms, false);
+        out.write("}\n");
+    }
+
+    public void writePrometheus(Writer out) throws IOException {
+        String lastName = null;
+        for (Metric metric : sorted()) {
+            String name = metric.getName();
+            if (!name.equals(lastName)) {
+                String type = metric instanceof Counter ? "counter" : metric instanceof Gauge ? "gauge" : "histogram";
+                out.write("# TYPE " + name + " " + type + "\n");
+                lastName = name;
+            }
+            Map<String, String> labels = metric.getLabels();
+            if (metric instanceof Counter) {
+                out.write(name + promLabels(labels, null) + " " + ((Counter) metric).get() + "\n");
+            } else if (metric instanceof Gauge) {
+                out.write(name + promLabels(labels, null) + " " + number(((Gauge) metric).get()) + "\n");
+            } else {
+                Histogram h = (Histogram) metric;
+                long[] counts = h.getBucketCounts();
+                long cumulative = 0;
+                for (int i = 0; i < counts.length; i++) {
+                    cumulative += counts[i];
+                    String le = i < Histogram.BOUNDS.length ? number(Histogram.BOUNDS[i]) : "+Inf";
+                    out.write(name + "_bucket" + promLabels(labels, le) + " " + cumulative + "\n");
+                }
+                out.write(name + "_sum" + promLabels(labels, null) + " " + number(h.getSumSeconds()) + "\n");
+                out.write(name + "_count" + promLabels(labels, null) + " " + h.getCount() + "\n");
+            }
+        }
+    }
+
+    private List<Metric> sorted() {
+        Map<String, Metric> byKey = new TreeMap<>(metrics);
+        return new ArrayList<>(byKey.values());
+    }
+
+    private static void writeJsonArray(Writer out, String name, List<String> items, boolean more)
+            throws IOException {
+        out.write("  \"" + name + "\": [");
+        for (int i = 0; i < items.size(); i++) {
+            out.write(i == 0 ? "\n    " : ",\n    ");
+            out.write(items.get(i));
+        }
+        out.write(items.isEmpty() ? "]" : "\n  ]");
+        out.write(more ? ",\n" : "\n");
+    }
+
+    private static String key(String name, String... labels) {
+        if (labels.length == 0) {
+            return name;
+        }
+        return name + labelMap(labels);
+    }
+
+    private static Map<String, String> labelMap(String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name/value pairs");
+        }
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < labels.length; i += 2) {
+            map.put(labels[i], labels[i + 1]);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static String jsonLabels(Map<String, String> labels) {
+        StringBuilder sb = new StringBuilder("{");
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append('"').append(label.getKey()).append("\": \"").append(escape(label.getValue())).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String promLabels(Map<String, String> labels, String le) {
+        if (labels.isEmpty() && le == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder("{");
+        for (Map.Entry<String, String> label : labels.entrySet()) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append(label.getKey()).append("=\"").append(escape(label.getValue())).append('"');
+        }
+        if (le != null) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append("le=\"").append(le).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String number(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return String.valueOf((long) value);
+        }
+        return String.format(Locale.ROOT, "%.6g", value);
+    }
+}
@@ -0,0 +1,36 @@
+package kexamprint.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base of the print pipeline flight recorder events: carries the room,
+ * session and seat of the thread's {@link PrintLocation}
+ */
+@Category("KExamPrint")
+public abstract class PrintEvent extends Event {
+
+    @Label("Room")
+    String room;
+
+    @Label("Session")
+    String session;
+
+    @Label("Seat")
+    @Description("Seat number, 0 for a whole room session")
+    int seat;
+
+    /**
+     * Copies the current location into the event; call before commit()
+     */
+    protected void locate() {
+        PrintLocation location = PrintLocation.current();
+        if (location != null) {
+            room = location.getRoom();
+            session = location.getSession();
+            seat = location.getSeat();
+        }
+    }
+}
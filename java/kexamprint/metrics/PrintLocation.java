@@ -0,0 +1,50 @@
+package kexamprint.metrics;
+
+/**
+ * Room, session and seat the current thread is working on, attached to the
+ * flight recorder events it emits
+ *
+ * PrintService sets it per document and the assignment service per
+ * session; code running outside those (data loading) has no location.
+ */
+public final class PrintLocation {
+
+    private static final ThreadLocal<PrintLocation> CURRENT = new ThreadLocal<>();
+
+    private final String room;
+    private final String session;
+    private final int seat;
+
+    private PrintLocation(String room, String session, int seat) {
+        this.room = room;
+        this.session = session;
+        this.seat = seat;
+    }
+
+    /**
+     * @param seat seat number, or null for a whole room session
+     */
+    public static void set(String room, String session, Integer seat) {
+        CURRENT.set(new PrintLocation(room, session, seat == null ? 0 : seat));
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    static PrintLocation current() {
+        return CURRENT.get();
+    }
+
+    String getRoom() {
+        return room;
+    }
+
+    String getSession() {
+        return session;
+    }
+
+    int getSeat() {
+        return seat;
+    }
+}
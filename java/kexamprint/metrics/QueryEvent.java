@@ -0,0 +1,37 @@
+package kexamprint.metrics;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * One repository query, emitted by {@link Metrics#query} when it completes
+ *
+ * The repositories time queries with System.nanoTime(), so the latency is a
+ * field of an instant event rather than the event duration.
+ */
+@Name("kexamprint.Query")
+@Label("Repository Query")
+public class QueryEvent extends PrintEvent {
+
+    @Label("Method")
+    String method;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Query Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long queryTime;
+
+    static void emit(String method, long startNanos, int rows) {
+        QueryEvent event = new QueryEvent();
+        if (event.shouldCommit()) {
+            event.method = method;
+            event.rows = rows;
+            event.queryTime = System.nanoTime() - startNanos;
+            event.locate();
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package kexamprint.metrics;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One stage of rendering a document: header or body layout, or the whole
+ * render into the output sink (stage "render")
+ */
+@Name("kexamprint.RenderStage")
+@Label("Render Stage")
+public class RenderStageEvent extends PrintEvent {
+
+    @Label("Document")
+    String document;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("File")
+    String file;
+
+    public RenderStageEvent(String document, String stage) {
+        this.document = document;
+        this.stage = stage;
+    }
+
+    public void end(String file) {
+        if (shouldCommit()) {
+            this.file = file;
+            locate();
+            commit();
+        }
+    }
+}
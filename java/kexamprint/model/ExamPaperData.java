@@ -77,6 +77,13 @@ public class ExamPaperData {
     }
 
     public String getHeaderLine4() {
+        return getRoomSeatLine() + "\n" + getScheduleLine() + "\n" + getCurriculumLine();
+    }
+
+    /**
+     * First line of header box 4: Building-Room-Seat (seat-specific)
+     */
+    public String getRoomSeatLine() {
         StringBuilder sb = new StringBuilder();
         // Building-Room-Seat format
         if (building != null || roomNumber != null) {
@@ -93,17 +100,37 @@ public class ExamPaperData {
                 sb.append("-").append(seatNumber);
             }
         }
-        sb.append("\n");
-        if (examDate != null) {
-            sb.append(examDate).append(" ").append(dayOfWeekUz).append(" ").append(timeSlot);
-        }
-        sb.append("\n");
-        if (curriculumInfo != null) {
-            sb.append(curriculumInfo);
-        }
         return sb.toString();
     }
 
+    /**
+     * Second line of header box 4: date, day and time slot
+     */
+    public String getScheduleLine() {
+        if (examDate == null) {
+            return "";
+        }
+        return examDate + " " + dayOfWeekUz + " " + timeSlot;
+    }
+
+    /**
+     * Third line of header box 4: curriculum info
+     */
+    public String getCurriculumLine() {
+        return curriculumInfo != null ? curriculumInfo : "";
+    }
+
+    /**
+     * Key of the header parts that are shared by all seats of a session
+     * (everything except seat number, variant and paper code)
+     */
+    public String getSessionHeaderKey() {
+        return String.join("|",
+            String.valueOf(isA4()), getHeaderLine1(), getHeaderLine3(),
+            String.valueOf(building), String.valueOf(roomNumber),
+            getScheduleLine(), getCurriculumLine());
+    }
+
     public boolean isA4() {
         return !"drawing".equals(examType);
     }
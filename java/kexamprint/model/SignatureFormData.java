@@ -4,6 +4,8 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
+import kexamprint.util.RenderContext;
+
 /**
  * Data structure for Signature Form (Sinav Cetvel) printing
  */
@@ -36,11 +38,19 @@ public class SignatureFormData {
     }
 
     public String getHeaderText() {
-        return examName + " " + kexamprint.util.TextResources.getSignatureFormTitle();
+        return getHeaderText(RenderContext.current());
+    }
+
+    public String getHeaderText(RenderContext context) {
+        return examName + " " + context.getSignatureFormTitle();
     }
 
     public String getSubHeaderText() {
-        String roomLabel = kexamprint.util.TextResources.getRoomLabel();
+        return getSubHeaderText(RenderContext.current());
+    }
+
+    public String getSubHeaderText(RenderContext context) {
+        String roomLabel = context.getRoomLabel();
         // Building-Room format
         StringBuilder roomInfo = new StringBuilder();
         if (building != null) {
@@ -0,0 +1,99 @@
+package kexamprint.output;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Output directories already created in this run, so each one is created
+ * (and swept for leftover temp files) once instead of once per document
+ *
+ * Several processes may write the same folders at once (print run, daemon,
+ * reprint, watch), so temp files carry their writer's process id (see
+ * {@link #tempName}) and a sweep only deletes those of processes that are
+ * no longer running. Temp files without an id are deleted once they are
+ * an hour old.
+ */
+public class DirectoryCache {
+
+    private static final long PID = ProcessHandle.current().pid();
+    private static final long UNOWNED_MAX_AGE_MILLIS = 60 * 60 * 1000L;
+
+    private final Set<Path> created = ConcurrentHashMap.newKeySet();
+    private final String tempSuffix;
+
+    /**
+     * @param tempSuffix suffix of temp files to delete when a directory is
+     *                   first seen (left behind by a crashed run), or null
+     */
+    public DirectoryCache(String tempSuffix) {
+        this.tempSuffix = tempSuffix;
+    }
+
+    /**
+     * Hidden temp file name for a document written by this process
+     */
+    public String tempName(String file) {
+        return "." + file + "." + PID + tempSuffix;
+    }
+
+    /**
+     * Makes sure the directory exists
+     */
+    public void ensure(Path dir) throws IOException {
+        // Registered first so concurrent writers sweep a folder only once
+        if (!created.add(dir)) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            if (tempSuffix != null) {
+                sweep(dir);
+            }
+        } catch (IOException | RuntimeException e) {
+            created.remove(dir);
+            throw e;
+        }
+    }
+
+    /**
+     * Drops a directory that turned out to be missing (e.g. the output
+     * folder was cleaned after it was cached)
+     */
+    public void forget(Path dir) {
+        created.remove(dir);
+    }
+
+    public void clear() {
+        created.clear();
+    }
+
+    private void sweep(Path dir) throws IOException {
+        try (DirectoryStream<Path> temps = Files.newDirectoryStream(dir, "*" + tempSuffix)) {
+            for (Path file : temps) {
+                if (isStale(file)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private boolean isStale(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        String stem = name.substring(0, name.length() - tempSuffix.length());
+        String owner = stem.substring(stem.lastIndexOf('.') + 1);
+        if (!owner.isEmpty() && owner.chars().allMatch(Character::isDigit) && owner.length() < 19) {
+            long pid = Long.parseLong(owner);
+            return pid != PID && !ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false);
+        }
+        try {
+            return System.currentTimeMillis() - Files.getLastModifiedTime(file).toMillis() > UNOWNED_MAX_AGE_MILLIS;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+}
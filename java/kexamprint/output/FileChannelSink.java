@@ -0,0 +1,160 @@
+package kexamprint.output;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import kexamprint.metrics.Metrics;
+import kexamprint.util.ResourceLoader;
+
+/**
+ * Writes documents to files through a buffered FileChannel
+ *
+ * PDF writers emit many small writes; they are collected in a large buffer
+ * so the file is written in a few sequential chunks. In atomic mode the
+ * document goes to a hidden temp file next to the target and is renamed
+ * over it on commit, so a crash never leaves a half-written PDF under the
+ * final name (temp files left by a process that died are removed when the
+ * folder is next used).
+ *
+ * The temp file is always forced to disk before the rename, so after a
+ * power loss the final name holds either the previous or the complete new
+ * document. fsync additionally forces the folder after the rename, which
+ * makes the new name itself durable, and forces files in non-atomic mode.
+ */
+public class FileChannelSink implements OutputSink {
+
+    static final String TEMP_SUFFIX = ".part";
+
+    // Windows cannot open a directory as a channel; NTFS renames are journaled
+    private static final boolean SYNC_DIRECTORIES = !System.getProperty("os.name").startsWith("Windows");
+
+    private final boolean atomic;
+    private final boolean fsync;
+    private final int bufferSize;
+    private final DirectoryCache directories;
+
+    public FileChannelSink(boolean atomic) {
+        this(atomic, ResourceLoader.getConfigInt("output.buffer.kb", 64) * 1024,
+            Boolean.parseBoolean(ResourceLoader.getConfig("output.fsync", "false")));
+    }
+
+    /**
+     * @param fsync force each published file name (its folder) to disk, and
+     *              in non-atomic mode the file itself
+     */
+    public FileChannelSink(boolean atomic, int bufferSize, boolean fsync) {
+        this.atomic = atomic;
+        this.bufferSize = bufferSize;
+        this.fsync = fsync;
+        this.directories = new DirectoryCache(atomic ? TEMP_SUFFIX : null);
+    }
+
+    public boolean isAtomic() {
+        return atomic;
+    }
+
+    @Override
+    public Entry open(String folder, String file) throws IOException {
+        Path dir = Paths.get(folder);
+        Path target = dir.resolve(file);
+        Path path = atomic ? dir.resolve(directories.tempName(file)) : target;
+
+        directories.ensure(dir);
+        FileChannel channel;
+        try {
+            channel = openChannel(path);
+        } catch (NoSuchFileException e) {
+            // Folder was removed after it was cached
+            directories.forget(dir);
+            directories.ensure(dir);
+            channel = openChannel(path);
+        }
+        return new FileEntry(channel, path, target);
+    }
+
+    private static FileChannel openChannel(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Forces a folder's entries (the new or renamed file name) to disk
+     */
+    private static void syncDirectory(Path dir) throws IOException {
+        if (SYNC_DIRECTORIES) {
+            try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+                channel.force(true);
+            }
+        }
+    }
+
+    private class FileEntry implements Entry {
+        private final FileChannel channel;
+        private final OutputStream stream;
+        private final Path path;
+        private final Path target;
+        private boolean committed;
+        private boolean closed;
+
+        FileEntry(FileChannel channel, Path path, Path target) {
+            this.channel = channel;
+            this.stream = new BufferedOutputStream(Channels.newOutputStream(channel), bufferSize);
+            this.path = path;
+            this.target = target;
+        }
+
+        @Override
+        public OutputStream getStream() {
+            return stream;
+        }
+
+        @Override
+        public void commit() throws IOException {
+            stream.flush();
+            if (fsync || path != target) {
+                channel.force(false);
+            }
+            long size = channel.size();
+            closeChannel();
+            if (path != target) {
+                try {
+                    Files.move(path, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(path, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            if (fsync) {
+                syncDirectory(target.getParent());
+            }
+            committed = true;
+            Metrics.written(atomic ? "atomic" : "file", size);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (committed) {
+                return;
+            }
+            closeChannel();
+            // Never leave a partial document behind
+            Files.deleteIfExists(path);
+        }
+
+        private void closeChannel() throws IOException {
+            if (!closed) {
+                closed = true;
+                channel.close();
+            }
+        }
+    }
+}
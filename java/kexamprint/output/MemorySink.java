@@ -0,0 +1,66 @@
+package kexamprint.output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import kexamprint.metrics.Metrics;
+
+/**
+ * Keeps rendered documents in memory, keyed by folder/file
+ *
+ * Used for benchmarks and for callers that send the PDF somewhere other
+ * than the local disk.
+ */
+public class MemorySink implements OutputSink {
+
+    private final Map<String, byte[]> documents = new ConcurrentHashMap<>();
+
+    @Override
+    public Entry open(String folder, String file) {
+        String key = new File(folder, file).getPath();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+        return new Entry() {
+            @Override
+            public OutputStream getStream() {
+                return buffer;
+            }
+
+            @Override
+            public void commit() {
+                documents.put(key, buffer.toByteArray());
+                Metrics.written("memory", buffer.size());
+            }
+
+            @Override
+            public void close() {
+                // Nothing to release
+            }
+        };
+    }
+
+    /**
+     * Committed document for a folder/file, or null
+     */
+    public byte[] get(String folder, String file) {
+        return documents.get(new File(folder, file).getPath());
+    }
+
+    public Map<String, byte[]> getDocuments() {
+        return documents;
+    }
+
+    public long getTotalBytes() {
+        long total = 0;
+        for (byte[] document : documents.values()) {
+            total += document.length;
+        }
+        return total;
+    }
+
+    public void clear() {
+        documents.clear();
+    }
+}
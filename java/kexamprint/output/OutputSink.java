@@ -0,0 +1,68 @@
+package kexamprint.output;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import kexamprint.util.ResourceLoader;
+
+/**
+ * Destination of rendered documents
+ *
+ * A document is written to the stream of an {@link Entry} and only becomes
+ * visible under its final name when the entry is committed; closing an
+ * entry that was not committed discards what was written.
+ */
+public interface OutputSink {
+
+    String FILE = "file";
+    String ATOMIC = "atomic";
+    String MEMORY = "memory";
+
+    /**
+     * Opens an entry for a file in a folder
+     */
+    Entry open(String folder, String file) throws IOException;
+
+    /**
+     * One document being written
+     */
+    interface Entry extends Closeable {
+
+        OutputStream getStream();
+
+        /**
+         * Flushes the document and publishes it under its final name
+         */
+        void commit() throws IOException;
+
+        /**
+         * Releases the entry; discards the document if it was not committed
+         */
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * Sink by name ("file", "atomic" or "memory")
+     */
+    static OutputSink forName(String name) {
+        if (ATOMIC.equalsIgnoreCase(name)) {
+            return new FileChannelSink(true);
+        }
+        if (FILE.equalsIgnoreCase(name)) {
+            return new FileChannelSink(false);
+        }
+        if (MEMORY.equalsIgnoreCase(name)) {
+            return new MemorySink();
+        }
+        throw new IllegalArgumentException("Unknown output sink: " + name);
+    }
+
+    /**
+     * Sink configured by output.sink (default atomic)
+     */
+    static OutputSink fromConfig() {
+        return forName(ResourceLoader.getConfig("output.sink", ATOMIC));
+    }
+}
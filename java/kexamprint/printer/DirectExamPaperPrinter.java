@@ -0,0 +1,140 @@
+package kexamprint.printer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import kexamprint.model.ExamPaperData;
+import kexamprint.render.CanvasImage;
+import kexamprint.render.CanvasPageDocument;
+import kexamprint.render.PageCanvas;
+import kexamprint.render.PageCanvas.FontStyle;
+import kexamprint.render.RenderBackend;
+import kexamprint.util.RenderContext;
+
+/**
+ * Exam paper printer that draws on a render backend canvas
+ *
+ * Draws the same header boxes, question image and evaluator footer as
+ * {@link ExamPaperPrinter}, but at precomputed coordinates instead of going
+ * through Document/PdfPTable/Paragraph layout.
+ */
+public class DirectExamPaperPrinter extends CanvasPageDocument {
+
+    private static final Logger log = LogManager.getLogger(DirectExamPaperPrinter.class);
+
+    private static final float PADDING = 5;
+    private static final float LEFT_COLUMN = 5f / 7f;
+
+    private final ExamPaperData data;
+    private final RenderContext context;
+
+    public DirectExamPaperPrinter(ExamPaperData data, RenderContext context) {
+        this(data, context, RenderBackend.fromConfig());
+    }
+
+    public DirectExamPaperPrinter(ExamPaperData data, RenderContext context, RenderBackend backend) {
+        super(backend);
+        this.data = data;
+        this.context = context;
+    }
+
+    @Override
+    public String getFolder() {
+        return data.getOutputFolder();
+    }
+
+    @Override
+    public String getFile() {
+        return data.getFileName();
+    }
+
+    @Override
+    public boolean isA4() {
+        return data.isA4();
+    }
+
+    @Override
+    public boolean next() {
+        return false;
+    }
+
+    @Override
+    protected void drawPage(PageCanvas canvas) throws IOException {
+        float headerBottom = drawHeader(canvas);
+        drawImage(canvas, headerBottom);
+    }
+
+    /**
+     * Draws the header boxes; returns the bottom of the box
+     */
+    private float drawHeader(PageCanvas canvas) throws IOException {
+        float left = left(canvas);
+        float width = right(canvas) - left;
+        float split = left + width * LEFT_COLUMN;
+        float leftText = width * LEFT_COLUMN - 2 * PADDING;
+        float rightText = width * (1 - LEFT_COLUMN) - 2 * PADDING;
+        float top = top(canvas);
+
+        // Row 1: exam line | paper code
+        List<String> line1 = DirectText.wrap(canvas, data.getHeaderLine1(), FontStyle.REGULAR, 10, leftText);
+        List<String> line2 = DirectText.wrap(canvas, data.getHeaderLine2(), FontStyle.BOLD, 16, rightText);
+        float row1 = Math.max(line1.size() * 10 * DirectText.LEADING, line2.size() * 16 * DirectText.LEADING)
+            + 2 * PADDING;
+
+        // Row 2: course name | room-seat, schedule, curriculum
+        List<String> line3 = DirectText.wrap(canvas, data.getHeaderLine3(), FontStyle.REGULAR, 10, leftText);
+        List<String> line4 = DirectText.wrap(canvas, data.getHeaderLine4(), FontStyle.REGULAR, 8, rightText);
+        float row2 = Math.max(line3.size() * 10 * DirectText.LEADING, line4.size() * 8 * DirectText.LEADING)
+            + 2 * PADDING;
+
+        DirectText.showLines(canvas, FontStyle.REGULAR, 10, line1, left + PADDING, top - PADDING);
+        // Paper code is vertically centred in its box
+        float codeHeight = line2.size() * 16 * DirectText.LEADING;
+        DirectText.showLines(canvas, FontStyle.BOLD, 16, line2, split + PADDING, top - (row1 - codeHeight) / 2);
+        DirectText.showLines(canvas, FontStyle.REGULAR, 10, line3, left + PADDING, top - row1 - PADDING);
+        DirectText.showLines(canvas, FontStyle.REGULAR, 8, line4, split + PADDING, top - row1 - PADDING);
+
+        // Box borders
+        float headerBottom = top - row1 - row2;
+        canvas.setLineWidth(0.5f);
+        canvas.strokeRect(left, headerBottom, width, row1 + row2);
+        canvas.strokeLine(left, top - row1, left + width, top - row1);
+        canvas.strokeLine(split, top, split, headerBottom);
+        return headerBottom;
+    }
+
+    private void drawImage(PageCanvas canvas, float headerBottom) throws IOException {
+        String imagePath = data.getExamImagePath();
+        if (imagePath == null || !new File(imagePath).exists()) {
+            log.warn("{} - printing without image (room {}, seat {}, time {})",
+                imagePath != null ? "Exam image not found: " + imagePath : "No question assigned",
+                data.getRoomNumber(), data.getSeatNumber(), data.getTimeSlot());
+            return;
+        }
+
+        // Same scaling as ExamPaperPrinter.addBody (scaleToFit)
+        CanvasImage image = canvas.loadImage(imagePath);
+        float scale = Math.min((canvas.getPageWidth() - 63) / image.getWidth(),
+            (canvas.getPageHeight() - 50) / image.getHeight());
+        float width = image.getWidth() * scale;
+        float height = image.getHeight() * scale;
+
+        // Like the flow layout: below the header, or on a new page if it does not fit
+        float top = headerBottom;
+        if (height > top - bottom(canvas)) {
+            newPage(canvas);
+            top = top(canvas);
+        }
+        float x = left(canvas) + (right(canvas) - left(canvas) - width) / 2;
+        canvas.drawImage(image, x, top - height, width, height);
+    }
+
+    @Override
+    protected void decoratePage(PageCanvas canvas) throws IOException {
+        canvas.drawText(FontStyle.BOLD, 10, context.getExamEvaluatorLabel(), MARGIN, bottom(canvas) - 10);
+    }
+}
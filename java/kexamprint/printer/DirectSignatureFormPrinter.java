@@ -0,0 +1,148 @@
+package kexamprint.printer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import kexamprint.model.SignatureFormData;
+import kexamprint.model.StudentSeatInfo;
+import kexamprint.render.CanvasPageDocument;
+import kexamprint.render.PageCanvas;
+import kexamprint.render.PageCanvas.FontStyle;
+import kexamprint.render.RenderBackend;
+import kexamprint.util.RenderContext;
+
+/**
+ * Signature form printer that draws on a render backend canvas
+ *
+ * Same content as {@link SignatureFormPrinter}: supervisor line, a grid of
+ * two students per row (name + group, and seat for written exams) and the
+ * exam/room header on every page, drawn at computed coordinates and paged
+ * by hand instead of through PdfPTable.
+ */
+public class DirectSignatureFormPrinter extends CanvasPageDocument {
+
+    private static final Logger log = LogManager.getLogger(DirectSignatureFormPrinter.class);
+
+    private static final float PADDING = 5;
+    private static final float NAME_SIZE = 10;
+    private static final float GROUP_SIZE = 8;
+
+    private final SignatureFormData data;
+    private final RenderContext context;
+
+    public DirectSignatureFormPrinter(SignatureFormData data, RenderContext context) {
+        this(data, context, RenderBackend.fromConfig());
+    }
+
+    public DirectSignatureFormPrinter(SignatureFormData data, RenderContext context, RenderBackend backend) {
+        super(backend);
+        this.data = data;
+        this.context = context;
+    }
+
+    @Override
+    public String getFolder() {
+        return data.getOutputFolder();
+    }
+
+    @Override
+    public String getFile() {
+        return data.getFileName();
+    }
+
+    @Override
+    public boolean next() {
+        return false;
+    }
+
+    @Override
+    protected void drawPage(PageCanvas canvas) throws IOException {
+        float y = top(canvas) - NAME_SIZE * DirectText.LEADING;
+        canvas.drawText(FontStyle.BOLD, NAME_SIZE, context.getSupervisorLabel(), left(canvas), y);
+        // Blank line after the supervisor line
+        y -= 2 * 12 * DirectText.LEADING;
+
+        boolean oral = data.isOralExam();
+
+        // Column layout: name | seat | name | seat (written) or name | name (oral)
+        float width = right(canvas) - left(canvas);
+        float[] columns = oral ? new float[] { 1, 1 } : new float[] { 2, 1, 2, 1 };
+        float total = 0;
+        for (float c : columns) {
+            total += c;
+        }
+        float[] xs = new float[columns.length + 1];
+        xs[0] = left(canvas);
+        for (int i = 0; i < columns.length; i++) {
+            xs[i + 1] = xs[i] + width * columns[i] / total;
+        }
+        int perStudent = oral ? 1 : 2;
+
+        List<StudentSeatInfo> students = data.getStudents();
+        canvas.setLineWidth(0.5f);
+        for (int row = 0; row * 2 < students.size(); row++) {
+            // Lay out both students of the row before drawing, to get the row height
+            List<List<String>> names = new ArrayList<>();
+            float rowHeight = 0;
+            for (int k = 0; k < 2; k++) {
+                int index = row * 2 + k;
+                List<String> lines = new ArrayList<>();
+                if (index < students.size()) {
+                    StudentSeatInfo student = students.get(index);
+                    float nameWidth = xs[k * perStudent + 1] - xs[k * perStudent] - 2 * PADDING;
+                    lines = DirectText.wrap(canvas, student.getFullName(), FontStyle.REGULAR, NAME_SIZE, nameWidth);
+                    lines.add(student.getGroupCode() != null ? student.getGroupCode() : "");
+                }
+                names.add(lines);
+                float h = lines.isEmpty() ? 0
+                    : (lines.size() - 1) * NAME_SIZE * DirectText.LEADING + GROUP_SIZE * DirectText.LEADING;
+                rowHeight = Math.max(rowHeight, h);
+            }
+            rowHeight += 2 * PADDING;
+
+            if (y - rowHeight < bottom(canvas)) {
+                newPage(canvas);
+                canvas.setLineWidth(0.5f);
+                y = top(canvas);
+            }
+
+            for (int k = 0; k < 2; k++) {
+                int index = row * 2 + k;
+                List<String> lines = names.get(k);
+                float x = xs[k * perStudent] + PADDING;
+                if (!lines.isEmpty()) {
+                    List<String> nameLines = lines.subList(0, lines.size() - 1);
+                    float baseline = DirectText.showLines(canvas, FontStyle.REGULAR, NAME_SIZE, nameLines,
+                        x, y - PADDING);
+                    canvas.drawText(FontStyle.REGULAR, GROUP_SIZE, lines.get(lines.size() - 1),
+                        x, baseline - GROUP_SIZE * DirectText.LEADING);
+                }
+                if (!oral && index < students.size()) {
+                    Integer seatNum = students.get(index).getSeatNumber();
+                    String seat = seatNum == null || seatNum == 0 ? "" : seatNum.toString();
+                    canvas.drawText(FontStyle.REGULAR, 12, seat, xs[k * 2 + 1] + PADDING,
+                        y - PADDING - 12 * DirectText.LEADING);
+                }
+            }
+
+            // Cell borders
+            for (int i = 0; i < columns.length; i++) {
+                canvas.strokeRect(xs[i], y - rowHeight, xs[i + 1] - xs[i], rowHeight);
+            }
+            y -= rowHeight;
+        }
+
+        log.debug("{}/{}: {} students", getFolder(), getFile(), students.size());
+    }
+
+    @Override
+    protected void decoratePage(PageCanvas canvas) throws IOException {
+        canvas.drawText(FontStyle.BOLD, 8, data.getHeaderText(context), MARGIN, top(canvas) + 5);
+        DirectText.showRight(canvas, FontStyle.REGULAR, 8, data.getSubHeaderText(context),
+            right(canvas), top(canvas) + 5);
+    }
+}
@@ -0,0 +1,105 @@
+package kexamprint.printer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import kexamprint.render.PageCanvas;
+import kexamprint.render.PageCanvas.FontStyle;
+
+/**
+ * Text helpers for the direct printers: line wrapping by font metrics and
+ * top-down line runs at absolute coordinates.
+ */
+final class DirectText {
+
+    /** Same leading factor iText uses for Paragraphs (1.5 x font size) */
+    static final float LEADING = 1.5f;
+
+    private DirectText() {
+    }
+
+    /**
+     * Splits text into lines that fit the given width (explicit newlines are
+     * kept); a word wider than the line is broken between characters
+     */
+    static List<String> wrap(PageCanvas canvas, String text, FontStyle font, float size, float width)
+            throws IOException {
+        List<String> lines = new ArrayList<>();
+        if (text == null) {
+            lines.add("");
+            return lines;
+        }
+        for (String paragraph : text.split("\n", -1)) {
+            StringBuilder line = new StringBuilder();
+            for (String word : paragraph.split(" ")) {
+                String candidate = line.length() == 0 ? word : line + " " + word;
+                if (canvas.getTextWidth(font, size, candidate) <= width) {
+                    line.setLength(0);
+                    line.append(candidate);
+                    continue;
+                }
+                if (line.length() > 0) {
+                    lines.add(line.toString());
+                }
+                while (canvas.getTextWidth(font, size, word) > width) {
+                    int end = fittingPrefix(canvas, font, size, word, width);
+                    if (end == word.length()) {
+                        break;
+                    }
+                    lines.add(word.substring(0, end));
+                    word = word.substring(end);
+                }
+                line.setLength(0);
+                line.append(word);
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Length of the longest prefix of word that fits the width, at least one
+     * character (surrogate pairs are not split)
+     */
+    private static int fittingPrefix(PageCanvas canvas, FontStyle font, float size, String word, float width)
+            throws IOException {
+        // Binary search over code point counts
+        int low = 1;
+        int high = word.codePointCount(0, word.length());
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (canvas.getTextWidth(font, size, word.substring(0, word.offsetByCodePoints(0, mid))) <= width) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return word.offsetByCodePoints(0, low);
+    }
+
+    /**
+     * Draws one right-aligned text run ending at x
+     */
+    static void showRight(PageCanvas canvas, FontStyle font, float size, String text, float x, float y)
+            throws IOException {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        canvas.drawText(font, size, text, x - canvas.getTextWidth(font, size, text), y);
+    }
+
+    /**
+     * Draws lines top-down starting at the given top edge; returns the y of
+     * the last baseline
+     */
+    static float showLines(PageCanvas canvas, FontStyle font, float size, List<String> lines, float x, float top)
+            throws IOException {
+        float y = top;
+        for (String line : lines) {
+            y -= size * LEADING;
+            canvas.drawText(font, size, line, x, y);
+        }
+        return y;
+    }
+}
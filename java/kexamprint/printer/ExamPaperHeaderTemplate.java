@@ -0,0 +1,160 @@
+package kexamprint.printer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.ColumnText;
+import com.itextpdf.text.pdf.PdfContentByte;
+import com.itextpdf.text.pdf.PdfImportedPage;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import kexamprint.RecurringPageDocument.PageSizeType;
+import kexamprint.model.ExamPaperData;
+
+/**
+ * Pre-rendered exam paper header for one room session
+ *
+ * The static part of the header (exam line, course name, schedule and
+ * curriculum lines, table borders) is laid out once into a one-page PDF.
+ * Each paper imports that page as a form XObject and only draws the
+ * seat-specific fields (paper code, building-room-seat) on top.
+ */
+public class ExamPaperHeaderTemplate {
+
+    static final Font NORMAL_FONT = new Font(Font.FontFamily.HELVETICA, 10, Font.NORMAL);
+    static final Font SMALL_FONT = new Font(Font.FontFamily.HELVETICA, 8, Font.NORMAL);
+    static final Font LARGE_FONT = new Font(Font.FontFamily.HELVETICA, 16, Font.BOLD);
+
+    private static final float[] COLUMN_WIDTHS = { 5, 2 };
+    private static final float PADDING = 5;
+
+    private final PdfReader reader;
+    private final float height;
+    private final float codeX;
+    private final float codeY;
+    private final float codeMaxWidth;
+    private final float seatX;
+    private final float seatY;
+    private final float seatMaxWidth;
+
+    private ExamPaperHeaderTemplate(PdfReader reader, float height, float codeX, float codeY, float codeMaxWidth,
+                                    float seatX, float seatY, float seatMaxWidth) {
+        this.reader = reader;
+        this.height = height;
+        this.codeX = codeX;
+        this.codeY = codeY;
+        this.codeMaxWidth = codeMaxWidth;
+        this.seatX = seatX;
+        this.seatY = seatY;
+        this.seatMaxWidth = seatMaxWidth;
+    }
+
+    /**
+     * Lays out the static header for the session of the given paper
+     */
+    public static ExamPaperHeaderTemplate build(ExamPaperData data) throws DocumentException, IOException {
+        PageSizeType pageSizeType = data.isA4() ? PageSizeType.A4 : PageSizeType.A3;
+        Document document = new Document(pageSizeType.getSize());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        document.open();
+
+        // Same structure as ExamPaperPrinter.addHeader, with blank placeholders
+        // for the seat-specific fields
+        PdfPTable table = new PdfPTable(2);
+        table.setWidths(COLUMN_WIDTHS);
+        table.setTotalWidth(document.right() - document.left());
+        table.setLockedWidth(true);
+
+        PdfPCell cell = new PdfPCell(new Paragraph(data.getHeaderLine1(), NORMAL_FONT));
+        cell.setPadding(PADDING);
+        table.addCell(cell);
+
+        cell = new PdfPCell(new Paragraph(" ", LARGE_FONT));
+        cell.setPadding(PADDING);
+        cell.setVerticalAlignment(Element.ALIGN_MIDDLE);
+        table.addCell(cell);
+
+        cell = new PdfPCell(new Paragraph(data.getHeaderLine3(), NORMAL_FONT));
+        cell.setPadding(PADDING);
+        table.addCell(cell);
+
+        cell = new PdfPCell();
+        cell.addElement(new Paragraph(" ", SMALL_FONT));
+        cell.addElement(new Paragraph(data.getScheduleLine(), SMALL_FONT));
+        cell.addElement(new Paragraph(data.getCurriculumLine(), SMALL_FONT));
+        cell.setPadding(PADDING);
+        table.addCell(cell);
+
+        float top = document.top();
+        table.writeSelectedRows(0, -1, document.left(), top, writer.getDirectContent());
+        document.close();
+
+        float[] widths = table.getAbsoluteWidths();
+        float row0 = table.getRowHeight(0);
+        float rightX = document.left() + widths[0] + PADDING;
+        float rightWidth = widths[1] - 2 * PADDING;
+
+        // Paper code: vertically centred in the right top box
+        BaseFont largeBase = LARGE_FONT.getCalculatedBaseFont(false);
+        float capHeight = largeBase.getFontDescriptor(BaseFont.CAPHEIGHT, LARGE_FONT.getSize());
+        float codeY = top - row0 / 2 - capHeight / 2 - 2;
+
+        // Building-room-seat: first line of the right bottom box
+        float seatY = top - row0 - PADDING - SMALL_FONT.getCalculatedLeading(1.5f);
+
+        return new ExamPaperHeaderTemplate(new PdfReader(out.toByteArray()), table.getTotalHeight(),
+            rightX, codeY, rightWidth, rightX, seatY, rightWidth);
+    }
+
+    /**
+     * Checks if the seat-specific fields of a paper fit the fixed slots of
+     * this template (long fallback codes or multi-line variants do not)
+     */
+    public boolean fits(ExamPaperData data) {
+        String code = data.getHeaderLine2();
+        if (code.indexOf('\n') >= 0) {
+            return false;
+        }
+        return width(code, LARGE_FONT) <= codeMaxWidth
+            && width(data.getRoomSeatLine(), SMALL_FONT) <= seatMaxWidth;
+    }
+
+    /**
+     * Draws the header for a paper: imports the static page and writes the
+     * seat-specific fields on top. Returns the height used by the header.
+     */
+    public float draw(PdfWriter writer, ExamPaperData data) throws IOException {
+        PdfImportedPage page;
+        synchronized (reader) {
+            page = writer.getImportedPage(reader, 1);
+            writer.freeReader(reader);
+        }
+        PdfContentByte cb = writer.getDirectContent();
+        cb.addTemplate(page, 0, 0);
+
+        ColumnText.showTextAligned(cb, Element.ALIGN_LEFT,
+            new Phrase(data.getHeaderLine2(), LARGE_FONT), codeX, codeY, 0);
+        ColumnText.showTextAligned(cb, Element.ALIGN_LEFT,
+            new Phrase(data.getRoomSeatLine(), SMALL_FONT), seatX, seatY, 0);
+        return height;
+    }
+
+    public float getHeight() {
+        return height;
+    }
+
+    private static float width(String text, Font font) {
+        return font.getCalculatedBaseFont(false).getWidthPoint(text, font.getSize());
+    }
+}
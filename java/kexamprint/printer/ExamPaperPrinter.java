@@ -4,6 +4,8 @@ import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.apache.pdfbox.pdmodel.PDPage;
 
 import com.itextpdf.text.Chunk;
@@ -14,6 +16,7 @@ import com.itextpdf.text.Font;
 import com.itextpdf.text.Image;
 import com.itextpdf.text.PageSize;
 import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Rectangle;
 import com.itextpdf.text.pdf.ColumnText;
 import com.itextpdf.text.pdf.PdfContentByte;
 import com.itextpdf.text.pdf.PdfPCell;
@@ -21,18 +24,50 @@ import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
 
 import kexamprint.RecurringPageDocument;
+import kexamprint.metrics.Metrics;
+import kexamprint.metrics.RenderStageEvent;
 import kexamprint.model.ExamPaperData;
-import kexamprint.util.TextResources;
+import kexamprint.util.RenderContext;
 
 /**
  * Printer for Exam Papers (Soru Kagidi)
  */
 public class ExamPaperPrinter extends RecurringPageDocument {
 
+    private static final Logger log = LogManager.getLogger(ExamPaperPrinter.class);
+
+    private static final Font EVALUATOR_FONT = new Font(Font.FontFamily.HELVETICA, 10, Font.BOLD);
+
     private final ExamPaperData data;
+    private final RenderContext context;
+    private final ExamPaperHeaderTemplate headerTemplate;
+    private final QuestionMasterPages masterPages;
 
     public ExamPaperPrinter(ExamPaperData data) {
+        this(data, RenderContext.current());
+    }
+
+    public ExamPaperPrinter(ExamPaperData data, RenderContext context) {
+        this(data, context, null);
+    }
+
+    /**
+     * @param headerTemplate pre-rendered session header, or null to lay out the header per paper
+     */
+    public ExamPaperPrinter(ExamPaperData data, RenderContext context, ExamPaperHeaderTemplate headerTemplate) {
+        this(data, context, headerTemplate, null);
+    }
+
+    /**
+     * @param headerTemplate pre-rendered session header, or null to lay out the header per paper
+     * @param masterPages shared question master pages, or null to embed the image per paper
+     */
+    public ExamPaperPrinter(ExamPaperData data, RenderContext context, ExamPaperHeaderTemplate headerTemplate,
+                            QuestionMasterPages masterPages) {
         this.data = data;
+        this.context = context;
+        this.headerTemplate = headerTemplate;
+        this.masterPages = masterPages;
     }
 
     @Override
@@ -56,14 +91,35 @@ public class ExamPaperPrinter extends RecurringPageDocument {
     }
 
     @Override
-    public void addHeader(PdfWriter writer, Document doc, PDPage page) throws DocumentException {
+    public void addHeader(PdfWriter writer, Document doc, PDPage page) throws DocumentException, IOException {
+        RenderStageEvent event = new RenderStageEvent("ExamPaperPrinter", "header");
+        event.begin();
+        layoutHeader(writer, doc);
+        event.end(getFile());
+    }
+
+    private void layoutHeader(PdfWriter writer, Document doc) throws DocumentException, IOException {
+        if (headerTemplate != null && headerTemplate.fits(data)) {
+            float height = headerTemplate.draw(writer, data);
+
+            // Reserve the header area so the body starts below it
+            PdfPTable spacer = new PdfPTable(1);
+            spacer.setWidthPercentage(100);
+            PdfPCell cell = new PdfPCell();
+            cell.setFixedHeight(height);
+            cell.setBorder(Rectangle.NO_BORDER);
+            spacer.addCell(cell);
+            doc.add(spacer);
+            return;
+        }
+
         PdfPTable table = new PdfPTable(2);
         table.setWidths(new float[] { 5, 2 });
         table.setWidthPercentage(100);
 
-        Font bold = new Font(Font.FontFamily.HELVETICA, 10, Font.NORMAL);
-        Font font = new Font(Font.FontFamily.HELVETICA, 8, Font.NORMAL);
-        Font largeFont = new Font(Font.FontFamily.HELVETICA, 16, Font.BOLD);
+        Font bold = ExamPaperHeaderTemplate.NORMAL_FONT;
+        Font font = ExamPaperHeaderTemplate.SMALL_FONT;
+        Font largeFont = ExamPaperHeaderTemplate.LARGE_FONT;
 
         // Row 1
         PdfPCell cell = new PdfPCell(new Paragraph(data.getHeaderLine1(), bold));
@@ -95,24 +151,37 @@ public class ExamPaperPrinter extends RecurringPageDocument {
     @Override
     public void addBody(PdfWriter writer, Document doc, PDPage page)
             throws DocumentException, MalformedURLException, IOException {
+        RenderStageEvent event = new RenderStageEvent("ExamPaperPrinter", "body");
+        event.begin();
+        layoutBody(writer, doc);
+        event.end(getFile());
+    }
 
+    private void layoutBody(PdfWriter writer, Document doc)
+            throws DocumentException, MalformedURLException, IOException {
         String imagePath = data.getExamImagePath();
         if (imagePath == null || !new File(imagePath).exists()) {
             // Image missing or no assignment - just skip image, leave blank space
-            if (imagePath != null) {
-                System.err.println("WARNING: Exam image not found: " + imagePath);
-            } else {
-                System.err.println("WARNING: No question assigned");
-            }
-            System.err.println("  Room: " + data.getRoomNumber() +
-                             ", Seat: " + data.getSeatNumber() +
-                             ", Time: " + data.getTimeSlot());
-            System.err.println("  Generating exam paper without image");
+            log.warn("{} - printing without image (room {}, seat {}, time {})",
+                imagePath != null ? "Exam image not found: " + imagePath : "No question assigned",
+                data.getRoomNumber(), data.getSeatNumber(), data.getTimeSlot());
             // Just return - exam paper will be generated with header but no image
             return;
         }
 
+        if (masterPages != null) {
+            // Stamp the shared master page below the header if it fits on this page
+            QuestionMasterPages.MasterPage master = masterPages.get(imagePath, data.isA4());
+            float y = writer.getVerticalPosition(false);
+            if (master.getImageHeight() <= y - doc.bottom()) {
+                writer.getDirectContent().addTemplate(master.importInto(writer), 0, master.offsetTo(y));
+                return;
+            }
+        }
+
+        long start = System.nanoTime();
         Image image = Image.getInstance(imagePath);
+        Metrics.imageDecoded("layout", start);
 
         if (data.isA4()) {
             image.scaleToFit(PageSize.A4.getWidth() - 63, PageSize.A4.getHeight() - 50);
@@ -136,8 +205,7 @@ public class ExamPaperPrinter extends RecurringPageDocument {
 
     @Override
     public void addPageFooter(PdfWriter writer, Document document) {
-        Font largeFont = new Font(Font.FontFamily.HELVETICA, 10, Font.BOLD);
-        Chunk largeText = new Chunk(TextResources.getExamEvaluatorLabel(), largeFont);
+        Chunk largeText = new Chunk(context.getExamEvaluatorLabel(), EVALUATOR_FONT);
         Paragraph paragraph = new Paragraph();
         paragraph.add(largeText);
 
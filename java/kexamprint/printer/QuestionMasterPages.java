@@ -0,0 +1,129 @@
+package kexamprint.printer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Image;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.PdfImportedPage;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import kexamprint.RecurringPageDocument.PageSizeType;
+import kexamprint.metrics.Metrics;
+
+/**
+ * Master pages for question images
+ *
+ * Each distinct question image is decoded, scaled and embedded once into an
+ * A4 or A3 master page. Exam papers import the master page as a form XObject
+ * and only stamp the seat-specific header and the evaluator footer, so image
+ * work grows with the number of distinct questions instead of seats.
+ * A master page is rebuilt when its image file's modification time changes,
+ * so kept pages (daemon) pick up a scan replaced on disk.
+ */
+public class QuestionMasterPages {
+
+    private final Map<String, MasterPage> pages = new ConcurrentHashMap<>();
+
+    /**
+     * Get (or build) the master page for an image at the given page size
+     */
+    public MasterPage get(String imagePath, boolean a4) throws DocumentException, IOException {
+        String key = (a4 ? "A4|" : "A3|") + imagePath;
+        long modified = new File(imagePath).lastModified();
+        MasterPage page = pages.get(key);
+        if (page == null || page.modified != modified) {
+            page = build(imagePath, a4, modified);
+            pages.put(key, page);
+        }
+        return page;
+    }
+
+    /**
+     * Number of distinct master pages built so far
+     */
+    public int size() {
+        return pages.size();
+    }
+
+    public void clear() {
+        pages.clear();
+    }
+
+    private static MasterPage build(String imagePath, boolean a4, long modified)
+            throws DocumentException, IOException {
+        PageSizeType pageSizeType = a4 ? PageSizeType.A4 : PageSizeType.A3;
+        Rectangle pageSize = pageSizeType.getSize();
+        Document document = new Document(pageSize);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        document.open();
+
+        // Same scaling as ExamPaperPrinter.addBody
+        long start = System.nanoTime();
+        Image image = Image.getInstance(imagePath);
+        Metrics.imageDecoded("master_page", start);
+        if (a4) {
+            image.scaleToFit(PageSize.A4.getWidth() - 63, PageSize.A4.getHeight() - 50);
+        } else {
+            image.scaleToFit(PageSize.A3.getWidth() - 63, PageSize.A3.getHeight() - 50);
+        }
+
+        // Centred horizontally, top edge on the top margin; papers shift it
+        // down below their header when stamping
+        float x = document.left() + (document.right() - document.left() - image.getScaledWidth()) / 2;
+        float y = document.top() - image.getScaledHeight();
+        image.setAbsolutePosition(x, y);
+        writer.getDirectContent().addImage(image);
+        float top = document.top();
+        document.close();
+
+        return new MasterPage(new PdfReader(out.toByteArray()), top, image.getScaledHeight(), modified);
+    }
+
+    /**
+     * A rendered master page holding one scaled question image
+     */
+    public static class MasterPage {
+        private final PdfReader reader;
+        private final float imageTop;
+        private final float imageHeight;
+        private final long modified;
+
+        MasterPage(PdfReader reader, float imageTop, float imageHeight, long modified) {
+            this.reader = reader;
+            this.imageTop = imageTop;
+            this.imageHeight = imageHeight;
+            this.modified = modified;
+        }
+
+        public float getImageHeight() {
+            return imageHeight;
+        }
+
+        /**
+         * Imports the master page into a paper's writer
+         */
+        public PdfImportedPage importInto(PdfWriter writer) throws IOException {
+            synchronized (reader) {
+                PdfImportedPage page = writer.getImportedPage(reader, 1);
+                writer.freeReader(reader);
+                return page;
+            }
+        }
+
+        /**
+         * Vertical offset that moves the image top edge to the given y
+         */
+        public float offsetTo(float y) {
+            return y - imageTop;
+        }
+    }
+}
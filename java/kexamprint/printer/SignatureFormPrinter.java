@@ -3,6 +3,8 @@ package kexamprint.printer;
 import java.io.IOException;
 import java.net.MalformedURLException;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.apache.pdfbox.pdmodel.PDPage;
 
 import com.itextpdf.text.Chunk;
@@ -18,19 +20,28 @@ import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
 
 import kexamprint.RecurringPageDocument;
+import kexamprint.metrics.RenderStageEvent;
 import kexamprint.model.SignatureFormData;
 import kexamprint.model.StudentSeatInfo;
-import kexamprint.util.TextResources;
+import kexamprint.util.RenderContext;
 
 /**
  * Printer for Signature Forms (Sinav Cetvel)
  */
 public class SignatureFormPrinter extends RecurringPageDocument {
 
+    private static final Logger log = LogManager.getLogger(SignatureFormPrinter.class);
+
     private final SignatureFormData data;
+    private final RenderContext context;
 
     public SignatureFormPrinter(SignatureFormData data) {
+        this(data, RenderContext.current());
+    }
+
+    public SignatureFormPrinter(SignatureFormData data, RenderContext context) {
         this.data = data;
+        this.context = context;
     }
 
     @Override
@@ -51,7 +62,7 @@ public class SignatureFormPrinter extends RecurringPageDocument {
     @Override
     public void addHeader(PdfWriter writer, Document doc, PDPage page) throws DocumentException {
         Font largeFont = new Font(Font.FontFamily.HELVETICA, 10, Font.BOLD);
-        Chunk largeText = new Chunk(TextResources.getSupervisorLabel(), largeFont);
+        Chunk largeText = new Chunk(context.getSupervisorLabel(), largeFont);
         Paragraph paragraph = new Paragraph();
         paragraph.add(largeText);
         doc.add(paragraph);
@@ -61,6 +72,8 @@ public class SignatureFormPrinter extends RecurringPageDocument {
     @Override
     public void addBody(PdfWriter writer, Document doc, PDPage page)
             throws DocumentException, MalformedURLException, IOException {
+        RenderStageEvent event = new RenderStageEvent("SignatureFormPrinter", "body");
+        event.begin();
 
         // For oral exams: 2 columns (no seat numbers)
         // For written exams: 4 columns (name, seat, name, seat)
@@ -113,7 +126,8 @@ public class SignatureFormPrinter extends RecurringPageDocument {
         }
 
         doc.add(table);
-        System.out.println(getFolder() + "/" + getFile() + ": " + data.getStudents().size() + " students");
+        event.end(getFile());
+        log.debug("{}/{}: {} students", getFolder(), getFile(), data.getStudents().size());
     }
 
     @Override
@@ -129,10 +143,10 @@ public class SignatureFormPrinter extends RecurringPageDocument {
     @Override
     public void addPageHeader(PdfWriter writer, Document document) {
         Font largeFont = new Font(Font.FontFamily.HELVETICA, 8, Font.BOLD);
-        Chunk largeText = new Chunk(data.getHeaderText(), largeFont);
+        Chunk largeText = new Chunk(data.getHeaderText(context), largeFont);
 
         Font normalFont = new Font(Font.FontFamily.HELVETICA, 8, Font.NORMAL);
-        Chunk normalText = new Chunk(data.getSubHeaderText(), normalFont);
+        Chunk normalText = new Chunk(data.getSubHeaderText(context), normalFont);
 
         Paragraph pl = new Paragraph();
         pl.add(largeText);
@@ -0,0 +1,11 @@
+package kexamprint.render;
+
+/**
+ * Image loaded by a render backend; width and height give its aspect ratio
+ */
+public interface CanvasImage {
+
+    float getWidth();
+
+    float getHeight();
+}
@@ -0,0 +1,107 @@
+package kexamprint.render;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.pdfbox.pdmodel.PDPage;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import kexamprint.RecurringPageDocument;
+
+/**
+ * RecurringPageDocument that draws on a {@link PageCanvas} of a pluggable
+ * {@link RenderBackend} instead of going through the iText layout engine.
+ *
+ * Subclasses draw each record in {@link #drawPage(PageCanvas)} at absolute
+ * coordinates and decorate every finished page in
+ * {@link #decoratePage(PageCanvas)}. The iText layout hooks are not used.
+ */
+public abstract class CanvasPageDocument extends RecurringPageDocument {
+
+    /** Same default margin as iText's Document */
+    protected static final float MARGIN = 36;
+
+    private final RenderBackend backend;
+
+    protected CanvasPageDocument(RenderBackend backend) {
+        this.backend = backend;
+    }
+
+    public RenderBackend getBackend() {
+        return backend;
+    }
+
+    @Override
+    public void render(OutputStream out) throws Exception {
+        Rectangle size = getPageSizeType().getSize();
+        PageCanvas canvas = backend.open(out, size.getWidth(), size.getHeight());
+        try {
+            do {
+                drawPage(canvas);
+            } while (next());
+            decoratePage(canvas);
+        } finally {
+            canvas.close();
+        }
+    }
+
+    /**
+     * Draws the current record
+     */
+    protected abstract void drawPage(PageCanvas canvas) throws Exception;
+
+    /**
+     * Draws the recurring header/footer of a finished page
+     */
+    protected void decoratePage(PageCanvas canvas) throws IOException {
+    }
+
+    /**
+     * Decorates the current page and starts a new one
+     */
+    protected void newPage(PageCanvas canvas) throws IOException {
+        decoratePage(canvas);
+        canvas.newPage();
+    }
+
+    protected float left(PageCanvas canvas) {
+        return MARGIN;
+    }
+
+    protected float right(PageCanvas canvas) {
+        return canvas.getPageWidth() - MARGIN;
+    }
+
+    protected float top(PageCanvas canvas) {
+        return canvas.getPageHeight() - MARGIN;
+    }
+
+    protected float bottom(PageCanvas canvas) {
+        return MARGIN;
+    }
+
+    // iText layout hooks are not used by canvas documents
+
+    @Override
+    public final void addHeader(PdfWriter writer, Document doc, PDPage page) {
+    }
+
+    @Override
+    public final void addBody(PdfWriter writer, Document doc, PDPage page) {
+    }
+
+    @Override
+    public final void addFooter(PdfWriter writer, Document doc, PDPage page) {
+    }
+
+    @Override
+    public final void addPageHeader(PdfWriter writer, Document document) {
+    }
+
+    @Override
+    public final void addPageFooter(PdfWriter writer, Document document) {
+    }
+}
@@ -0,0 +1,177 @@
+package kexamprint.render;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Image;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.BaseFont;
+import com.itextpdf.text.pdf.PdfContentByte;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import kexamprint.metrics.Metrics;
+
+/**
+ * iText 5 backend: draws on PdfWriter's direct content, no layout engine
+ */
+public class ITextBackend implements RenderBackend {
+
+    private static final BaseFont HELVETICA = createFont(BaseFont.HELVETICA);
+    private static final BaseFont HELVETICA_BOLD = createFont(BaseFont.HELVETICA_BOLD);
+
+    private static BaseFont createFont(String name) {
+        try {
+            return BaseFont.createFont(name, BaseFont.CP1252, BaseFont.NOT_EMBEDDED);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot create font " + name, e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return ITEXT;
+    }
+
+    @Override
+    public PageCanvas open(OutputStream out, float pageWidth, float pageHeight) throws IOException {
+        try {
+            return new Canvas(out, new Rectangle(pageWidth, pageHeight));
+        } catch (DocumentException e) {
+            throw new IOException("Cannot open iText document", e);
+        }
+    }
+
+    private static BaseFont font(PageCanvas.FontStyle style) {
+        return style == PageCanvas.FontStyle.BOLD ? HELVETICA_BOLD : HELVETICA;
+    }
+
+    private static class Canvas implements PageCanvas {
+        private final Rectangle pageSize;
+        private final Document document;
+        private final PdfWriter writer;
+        private final PdfContentByte cb;
+        private final Map<String, ITextImage> images = new HashMap<>();
+        private int pages = 1;
+
+        Canvas(OutputStream out, Rectangle pageSize) throws DocumentException {
+            this.pageSize = pageSize;
+            this.document = new Document(pageSize);
+            this.writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
+            document.open();
+            this.cb = writer.getDirectContent();
+        }
+
+        @Override
+        public float getPageWidth() {
+            return pageSize.getWidth();
+        }
+
+        @Override
+        public float getPageHeight() {
+            return pageSize.getHeight();
+        }
+
+        @Override
+        public void newPage() {
+            writer.setPageEmpty(false);
+            document.newPage();
+            pages++;
+        }
+
+        @Override
+        public void drawText(FontStyle font, float size, String text, float x, float y) {
+            if (text == null || text.isEmpty()) {
+                return;
+            }
+            cb.beginText();
+            cb.setFontAndSize(font(font), size);
+            cb.setTextMatrix(x, y);
+            cb.showText(text);
+            cb.endText();
+        }
+
+        @Override
+        public float getTextWidth(FontStyle font, float size, String text) {
+            return font(font).getWidthPoint(text, size);
+        }
+
+        @Override
+        public void setLineWidth(float width) {
+            cb.setLineWidth(width);
+        }
+
+        @Override
+        public void strokeRect(float x, float y, float width, float height) {
+            cb.rectangle(x, y, width, height);
+            cb.stroke();
+        }
+
+        @Override
+        public void strokeLine(float x1, float y1, float x2, float y2) {
+            cb.moveTo(x1, y1);
+            cb.lineTo(x2, y2);
+            cb.stroke();
+        }
+
+        @Override
+        public CanvasImage loadImage(String path) throws IOException {
+            ITextImage image = images.get(path);
+            if (image == null) {
+                long start = System.nanoTime();
+                try {
+                    image = new ITextImage(Image.getInstance(path));
+                    Metrics.imageDecoded("itext", start);
+                } catch (DocumentException e) {
+                    throw new IOException("Cannot load image " + path, e);
+                }
+                images.put(path, image);
+            }
+            return image;
+        }
+
+        @Override
+        public void drawImage(CanvasImage image, float x, float y, float width, float height) throws IOException {
+            Image img = ((ITextImage) image).image;
+            try {
+                // Same image object => same XObject, embedded once per document
+                cb.addImage(img, width, 0, 0, height, x, y);
+            } catch (DocumentException e) {
+                throw new IOException("Cannot draw image", e);
+            }
+        }
+
+        @Override
+        public int getPageCount() {
+            return pages;
+        }
+
+        @Override
+        public void close() {
+            writer.setPageEmpty(false);
+            document.close();
+        }
+    }
+
+    private static class ITextImage implements CanvasImage {
+        final Image image;
+
+        ITextImage(Image image) {
+            this.image = image;
+        }
+
+        @Override
+        public float getWidth() {
+            return image.getWidth();
+        }
+
+        @Override
+        public float getHeight() {
+            return image.getHeight();
+        }
+    }
+}
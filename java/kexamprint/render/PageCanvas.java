@@ -0,0 +1,68 @@
+package kexamprint.render;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Drawing surface of a render backend: absolute-coordinate text runs, lines,
+ * rectangles and images on fixed-size pages (PDF user space, origin at the
+ * bottom-left corner, units in points).
+ *
+ * Closing the canvas finishes the document but does not close the output
+ * stream it was opened on.
+ */
+public interface PageCanvas extends Closeable {
+
+    /**
+     * Standard (non-embedded) fonts available on every backend
+     */
+    enum FontStyle {
+        REGULAR, BOLD
+    }
+
+    float getPageWidth();
+
+    float getPageHeight();
+
+    /**
+     * Finishes the current page and starts a new one of the same size
+     */
+    void newPage() throws IOException;
+
+    /**
+     * Draws a left-aligned text run with its baseline at (x, y)
+     */
+    void drawText(FontStyle font, float size, String text, float x, float y) throws IOException;
+
+    /**
+     * Width of a text run in points
+     */
+    float getTextWidth(FontStyle font, float size, String text) throws IOException;
+
+    void setLineWidth(float width) throws IOException;
+
+    /**
+     * Strokes a rectangle with its lower-left corner at (x, y)
+     */
+    void strokeRect(float x, float y, float width, float height) throws IOException;
+
+    void strokeLine(float x1, float y1, float x2, float y2) throws IOException;
+
+    /**
+     * Loads an image for this document (each path is decoded once per document)
+     */
+    CanvasImage loadImage(String path) throws IOException;
+
+    /**
+     * Draws an image scaled to the given box with its lower-left corner at (x, y)
+     */
+    void drawImage(CanvasImage image, float x, float y, float width, float height) throws IOException;
+
+    /**
+     * Number of pages written so far (including the current one)
+     */
+    int getPageCount();
+
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,279 @@
+package kexamprint.render;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceGray;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceRGB;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import kexamprint.metrics.Metrics;
+
+/**
+ * PDFBox 2 backend: writes page content streams with PDPageContentStream
+ *
+ * PDFBox re-encodes PNG scans pixel by pixel when creating an image XObject,
+ * so the encoded image stream is cached per file and copied into each
+ * document instead of being rebuilt for every paper.
+ */
+public class PdfBoxBackend implements RenderBackend {
+
+    // Encoded image streams by path, shared by all documents of this backend
+    private final Map<String, EncodedImage> encodedImages = new ConcurrentHashMap<>();
+
+    @Override
+    public String getName() {
+        return PDFBOX;
+    }
+
+    @Override
+    public PageCanvas open(OutputStream out, float pageWidth, float pageHeight) throws IOException {
+        return new Canvas(out, new PDRectangle(pageWidth, pageHeight));
+    }
+
+    /**
+     * Creates the image XObject for a file in the given document, from the
+     * cached encoded stream when possible
+     */
+    PDImageXObject createImage(String path, PDDocument document) throws IOException {
+        long modified = new File(path).lastModified();
+        EncodedImage encoded = encodedImages.get(path);
+        if (encoded == null || encoded.modified != modified) {
+            long start = System.nanoTime();
+            encoded = EncodedImage.encode(path, modified);
+            if (encoded == null) {
+                // Soft mask or non-device colour space: not cacheable
+                PDImageXObject image = PDImageXObject.createFromFile(path, document);
+                Metrics.imageDecoded("pdfbox", start);
+                return image;
+            }
+            Metrics.imageDecoded("pdfbox", start);
+            encodedImages.put(path, encoded);
+        }
+        return encoded.toXObject(document);
+    }
+
+    private static PDType1Font font(PageCanvas.FontStyle style) {
+        return style == PageCanvas.FontStyle.BOLD ? PDType1Font.HELVETICA_BOLD : PDType1Font.HELVETICA;
+    }
+
+    /**
+     * Replaces characters the standard WinAnsi fonts cannot encode with '?'
+     * (iText silently drops them; PDFBox would throw)
+     */
+    static String encodable(PDType1Font font, String text) {
+        boolean ascii = true;
+        for (int i = 0; i < text.length() && ascii; i++) {
+            ascii = text.charAt(i) < 128;
+        }
+        if (ascii) {
+            return text;
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 128) {
+                sb.append(c);
+                continue;
+            }
+            try {
+                font.encode(String.valueOf(c));
+                sb.append(c);
+            } catch (IllegalArgumentException | IOException e) {
+                sb.append('?');
+            }
+        }
+        return sb.toString();
+    }
+
+    private class Canvas implements PageCanvas {
+        private final OutputStream out;
+        private final PDRectangle pageSize;
+        private final PDDocument document = new PDDocument();
+        private final Map<String, PdfBoxImage> images = new HashMap<>();
+        private PDPageContentStream stream;
+
+        Canvas(OutputStream out, PDRectangle pageSize) throws IOException {
+            this.out = out;
+            this.pageSize = pageSize;
+            startPage();
+        }
+
+        private void startPage() throws IOException {
+            PDPage page = new PDPage(pageSize);
+            document.addPage(page);
+            stream = new PDPageContentStream(document, page);
+        }
+
+        @Override
+        public float getPageWidth() {
+            return pageSize.getWidth();
+        }
+
+        @Override
+        public float getPageHeight() {
+            return pageSize.getHeight();
+        }
+
+        @Override
+        public void newPage() throws IOException {
+            stream.close();
+            startPage();
+        }
+
+        @Override
+        public void drawText(FontStyle font, float size, String text, float x, float y) throws IOException {
+            if (text == null || text.isEmpty()) {
+                return;
+            }
+            PDType1Font pdFont = font(font);
+            stream.beginText();
+            stream.setFont(pdFont, size);
+            stream.newLineAtOffset(x, y);
+            stream.showText(encodable(pdFont, text));
+            stream.endText();
+        }
+
+        @Override
+        public float getTextWidth(FontStyle font, float size, String text) throws IOException {
+            PDType1Font pdFont = font(font);
+            return pdFont.getStringWidth(encodable(pdFont, text)) / 1000f * size;
+        }
+
+        @Override
+        public void setLineWidth(float width) throws IOException {
+            stream.setLineWidth(width);
+        }
+
+        @Override
+        public void strokeRect(float x, float y, float width, float height) throws IOException {
+            stream.addRect(x, y, width, height);
+            stream.stroke();
+        }
+
+        @Override
+        public void strokeLine(float x1, float y1, float x2, float y2) throws IOException {
+            stream.moveTo(x1, y1);
+            stream.lineTo(x2, y2);
+            stream.stroke();
+        }
+
+        @Override
+        public CanvasImage loadImage(String path) throws IOException {
+            PdfBoxImage image = images.get(path);
+            if (image == null) {
+                image = new PdfBoxImage(createImage(path, document));
+                images.put(path, image);
+            }
+            return image;
+        }
+
+        @Override
+        public void drawImage(CanvasImage image, float x, float y, float width, float height) throws IOException {
+            stream.drawImage(((PdfBoxImage) image).image, x, y, width, height);
+        }
+
+        @Override
+        public int getPageCount() {
+            return document.getNumberOfPages();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                stream.close();
+                document.save(out);
+            } finally {
+                document.close();
+            }
+        }
+    }
+
+    private static class PdfBoxImage implements CanvasImage {
+        final PDImageXObject image;
+
+        PdfBoxImage(PDImageXObject image) {
+            this.image = image;
+        }
+
+        @Override
+        public float getWidth() {
+            return image.getWidth();
+        }
+
+        @Override
+        public float getHeight() {
+            return image.getHeight();
+        }
+    }
+
+    /**
+     * Encoded (filtered) image stream plus the dictionary entries needed to
+     * recreate the XObject in another document
+     */
+    private static class EncodedImage {
+        final long modified;
+        final byte[] data;
+        final COSBase filter;
+        final COSBase decodeParms;
+        final int width;
+        final int height;
+        final int bitsPerComponent;
+        final PDColorSpace colorSpace;
+
+        private EncodedImage(long modified, byte[] data, COSBase filter, COSBase decodeParms,
+                int width, int height, int bitsPerComponent, PDColorSpace colorSpace) {
+            this.modified = modified;
+            this.data = data;
+            this.filter = filter;
+            this.decodeParms = decodeParms;
+            this.width = width;
+            this.height = height;
+            this.bitsPerComponent = bitsPerComponent;
+            this.colorSpace = colorSpace;
+        }
+
+        static EncodedImage encode(String path, long modified) throws IOException {
+            try (PDDocument scratch = new PDDocument()) {
+                PDImageXObject image = PDImageXObject.createFromFile(path, scratch);
+                COSStream stream = image.getCOSObject();
+                PDColorSpace colorSpace = image.getColorSpace();
+                if (stream.getItem(COSName.SMASK) != null || stream.getItem(COSName.DECODE) != null
+                        || !(colorSpace instanceof PDDeviceRGB || colorSpace instanceof PDDeviceGray)) {
+                    return null;
+                }
+                byte[] data;
+                try (InputStream in = stream.createRawInputStream()) {
+                    data = in.readAllBytes();
+                }
+                return new EncodedImage(modified, data, stream.getFilters(),
+                    stream.getDictionaryObject(COSName.DECODE_PARMS), image.getWidth(), image.getHeight(),
+                    image.getBitsPerComponent(), colorSpace);
+            }
+        }
+
+        PDImageXObject toXObject(PDDocument document) throws IOException {
+            PDImageXObject image = new PDImageXObject(document, new ByteArrayInputStream(data), filter,
+                width, height, bitsPerComponent, colorSpace);
+            if (decodeParms != null) {
+                image.getCOSObject().setItem(COSName.DECODE_PARMS, decodeParms);
+            }
+            return image;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package kexamprint.render;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import kexamprint.util.ResourceLoader;
+
+/**
+ * Render backend SPI: opens a {@link PageCanvas} that writes one PDF
+ * document to an output stream.
+ */
+public interface RenderBackend {
+
+    String ITEXT = "itext";
+    String PDFBOX = "pdfbox";
+
+    String getName();
+
+    /**
+     * Opens a new document with pages of the given size (in points)
+     */
+    PageCanvas open(OutputStream out, float pageWidth, float pageHeight) throws IOException;
+
+    /**
+     * Backend by name ("itext" or "pdfbox")
+     */
+    static RenderBackend forName(String name) {
+        if (PDFBOX.equalsIgnoreCase(name)) {
+            return new PdfBoxBackend();
+        }
+        if (ITEXT.equalsIgnoreCase(name)) {
+            return new ITextBackend();
+        }
+        throw new IllegalArgumentException("Unknown render backend: " + name);
+    }
+
+    /**
+     * Backend configured by render.backend (default iText)
+     */
+    static RenderBackend fromConfig() {
+        return forName(ResourceLoader.getConfig("render.backend", ITEXT));
+    }
+}
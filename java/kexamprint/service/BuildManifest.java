@@ -0,0 +1,320 @@
+package kexamprint.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import kexamprint.model.ExamPaperData;
+import kexamprint.model.SignatureFormData;
+import kexamprint.model.StudentSeatInfo;
+
+/**
+ * Content-hash manifest for incremental print builds
+ *
+ * Records, for every PDF under an output root (one print day), a SHA-256 of
+ * everything that went into it: the paper/form fields, the question image
+ * bytes, the render settings and {@link #TEMPLATE_VERSION}. A later run
+ * skips outputs whose hash is unchanged, and PDFs under the root that were
+ * neither rebuilt nor reused are deleted as orphans.
+ *
+ * The manifest is stored as ".kprint-manifest" in the root (hash, tab,
+ * relative path per line).
+ */
+public class BuildManifest {
+
+    /** Bump when a printer's output changes for the same inputs */
+    public static final int TEMPLATE_VERSION = 1;
+
+    static final String FILE_NAME = ".kprint-manifest";
+    private static final String HEADER = "# kprint manifest v1";
+    private static final int EOF_SEARCH_BYTES = 1024;
+
+    private final Path root;
+    private final String settings;
+    private final Map<String, String> previous;
+    private final Map<String, String> current = new ConcurrentHashMap<>();
+    private final Map<Path, ImageHash> imageHashes = new ConcurrentHashMap<>();
+    private final AtomicInteger rebuilt = new AtomicInteger();
+    private final AtomicInteger reused = new AtomicInteger();
+
+    private BuildManifest(Path root, String settings, Map<String, String> previous) {
+        this.root = root;
+        this.settings = settings;
+        this.previous = previous;
+    }
+
+    /**
+     * Loads the manifest of an output root (empty if there is none yet)
+     *
+     * @param settings render settings that change the output (engine, backend, language...)
+     */
+    public static BuildManifest load(String rootDir, String settings) throws IOException {
+        Path root = Paths.get(rootDir).toAbsolutePath().normalize();
+        Map<String, String> previous = new HashMap<>();
+        Path file = root.resolve(FILE_NAME);
+        if (Files.exists(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int tab = line.indexOf('\t');
+                    if (line.startsWith("#") || tab < 0) {
+                        continue;
+                    }
+                    previous.put(line.substring(tab + 1), line.substring(0, tab));
+                }
+            }
+        }
+        return new BuildManifest(root, settings, previous);
+    }
+
+    /**
+     * Hash of everything an exam paper PDF is rendered from
+     */
+    public String hash(ExamPaperData paper) throws IOException {
+        MessageDigest digest = newDigest();
+        update(digest, "paper", settings, paper.getFileName(), paper.getLanguage(),
+            paper.getHeaderLine1(), paper.getHeaderLine2(), paper.getHeaderLine3(), paper.getHeaderLine4(),
+            String.valueOf(paper.isA4()), paper.getExamType(), paper.getExamImagePath(),
+            imageHash(paper.getExamImagePath()));
+        return hex(digest.digest());
+    }
+
+    /**
+     * Hash of everything a signature form PDF is rendered from
+     */
+    public String hash(SignatureFormData form) {
+        MessageDigest digest = newDigest();
+        update(digest, "form", settings, form.getFileName(), form.getExamName(), form.getBuilding(),
+            form.getRoomNumber(), String.valueOf(form.getExamDate()), form.getDayOfWeekUz(),
+            form.getTimeSlot(), String.valueOf(form.isOralExam()));
+        for (StudentSeatInfo student : form.getStudents()) {
+            update(digest, String.valueOf(student.getSeatNumber()), student.getStudentId(),
+                student.getStudentName(), student.getStudentSurname(), student.getGroupCode());
+        }
+        return hex(digest.digest());
+    }
+
+    /**
+     * True if the file exists complete and was built from the same inputs;
+     * the file is then kept as reused
+     */
+    public boolean isUpToDate(String folder, String file, String hash) throws IOException {
+        String key = key(folder, file);
+        if (hash.equals(previous.get(key)) && isCompletePdf(root.resolve(key))) {
+            current.put(key, hash);
+            reused.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Keeps a file from the previous run without hashing its inputs (its
+     * unit is already complete in the print journal)
+     *
+     * The journal and manifest can reach disk before the PDFs they list
+     * (output.sink=file without output.fsync), so a crash may leave one
+     * empty or cut off; here and in isUpToDate only a file ending in the
+     * %%EOF trailer is kept.
+     *
+     * @return false if there is no previous entry or the file is gone or
+     *         incomplete
+     */
+    public boolean keep(String folder, String file) throws IOException {
+        String key = key(folder, file);
+        String hash = previous.get(key);
+        if (hash != null && isCompletePdf(root.resolve(key))) {
+            current.put(key, hash);
+            reused.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records a file that was rendered in this run
+     */
+    public void recordBuilt(String folder, String file, String hash) {
+        current.put(key(folder, file), hash);
+        rebuilt.incrementAndGet();
+    }
+
+    /**
+     * Keeps the previous entry of every file this run did not touch, for
+     * runs that only re-render some outputs (image watch)
+     */
+    public void keepUntouched() {
+        for (Map.Entry<String, String> entry : previous.entrySet()) {
+            current.putIfAbsent(entry.getKey(), entry.getValue());
+        }
+    }
+
+    public int getRebuiltCount() {
+        return rebuilt.get();
+    }
+
+    public int getReusedCount() {
+        return reused.get();
+    }
+
+    /**
+     * Deletes PDFs under the root that were neither rebuilt nor reused in
+     * this run (announcement removed, room changed, failed render...)
+     *
+     * @return number of deleted files
+     */
+    public int deleteOrphans() throws IOException {
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        List<Path> orphans = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            files.filter(p -> p.getFileName().toString().endsWith(".pdf"))
+                .filter(p -> !current.containsKey(root.relativize(p).toString()))
+                .forEach(orphans::add);
+        }
+        for (Path orphan : orphans) {
+            Files.deleteIfExists(orphan);
+        }
+        return orphans.size();
+    }
+
+    /**
+     * Writes the entries of this run (temp file + rename)
+     */
+    public void save() throws IOException {
+        Files.createDirectories(root);
+        Path file = root.resolve(FILE_NAME);
+        Path temp = root.resolve(FILE_NAME + ".part");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (Map.Entry<String, String> entry : new TreeMap<>(current).entrySet()) {
+                writer.write(entry.getValue() + "\t" + entry.getKey());
+                writer.newLine();
+            }
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * True if the file exists and its last KB holds the %%EOF trailer
+     */
+    private static boolean isCompletePdf(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer tail = ByteBuffer.allocate((int) Math.min(size, EOF_SEARCH_BYTES));
+            channel.position(size - tail.capacity());
+            while (tail.hasRemaining()) {
+                if (channel.read(tail) < 0) {
+                    break;
+                }
+            }
+            return new String(tail.array(), 0, tail.position(), StandardCharsets.ISO_8859_1).contains("%%EOF");
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private String key(String folder, String file) {
+        Path path = Paths.get(folder, file).toAbsolutePath().normalize();
+        return root.relativize(path).toString();
+    }
+
+    /**
+     * Hash of an image file's bytes, computed once per run unless the file
+     * changes (size or modification time); also used by PrintState
+     */
+    String imageHash(String imagePath) throws IOException {
+        if (imagePath == null) {
+            return "none";
+        }
+        Path path = Paths.get(imagePath);
+        if (!Files.exists(path)) {
+            return "missing";
+        }
+        long size = Files.size(path);
+        long modified = Files.getLastModifiedTime(path).toMillis();
+        ImageHash cached = imageHashes.get(path);
+        if (cached != null && cached.size == size && cached.modified == modified) {
+            return cached.hash;
+        }
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(path)) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        String hash = hex(digest.digest());
+        imageHashes.put(path, new ImageHash(size, modified, hash));
+        return hash;
+    }
+
+    static void update(MessageDigest digest, String... values) {
+        for (String value : values) {
+            // Field separator plus null marker, so ("ab", null) != ("a", "b")
+            digest.update(value == null ? new byte[] { 0 } : value.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0x1f);
+        }
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, String.valueOf(TEMPLATE_VERSION));
+            return digest;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return sb.toString();
+    }
+
+    private static class ImageHash {
+        final long size;
+        final long modified;
+        final String hash;
+
+        ImageHash(long size, long modified, String hash) {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+        }
+    }
+}
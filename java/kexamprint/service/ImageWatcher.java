@@ -0,0 +1,95 @@
+package kexamprint.service;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Watches the question image directory and reports changed file names in
+ * debounced batches
+ *
+ * Events are collected until the directory has been quiet for the debounce
+ * interval (a scan being copied keeps firing modify events), or at most
+ * ten intervals after the first one, and then reported once per file. An
+ * overflow (events lost by the OS) is reported as null: everything may
+ * have changed.
+ */
+public class ImageWatcher {
+
+    private static final Logger log = LogManager.getLogger(ImageWatcher.class);
+
+    /**
+     * Receives each batch of changed file names
+     */
+    public interface Listener {
+        void changed(Set<String> fileNames) throws Exception;
+    }
+
+    private final Path dir;
+    private final long debounceMillis;
+
+    public ImageWatcher(Path dir, long debounceMillis) {
+        this.dir = dir;
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * Watches until the thread is interrupted
+     */
+    public void run(Listener listener) throws IOException, InterruptedException {
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+
+            Set<String> pending = new LinkedHashSet<>();
+            boolean overflow = false;
+            long firstEventMillis = 0;
+            while (true) {
+                WatchKey key;
+                if (pending.isEmpty() && !overflow) {
+                    key = watcher.take();
+                    firstEventMillis = System.currentTimeMillis();
+                } else {
+                    long left = firstEventMillis + 10 * debounceMillis - System.currentTimeMillis();
+                    key = left > 0 ? watcher.poll(Math.min(debounceMillis, left), TimeUnit.MILLISECONDS) : null;
+                }
+
+                if (key == null) {
+                    // Quiet for the debounce interval (or waited long enough)
+                    Set<String> batch = overflow ? null : new LinkedHashSet<>(pending);
+                    pending.clear();
+                    overflow = false;
+                    try {
+                        listener.changed(batch);
+                    } catch (InterruptedException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        log.error("Re-rendering for changed images failed", e);
+                    }
+                    continue;
+                }
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        overflow = true;
+                    } else {
+                        pending.add(((Path) event.context()).getFileName().toString());
+                    }
+                }
+                if (!key.reset()) {
+                    throw new IOException("Image directory is no longer accessible: " + dir);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package kexamprint.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Append-only journal of completed render units for crash-safe print runs
+ *
+ * A render unit is one room session's exam papers or one signature form.
+ * Each completed unit is appended as a DONE record, preceded by a FAIL
+ * record per document that failed to render. Records are forced to disk at
+ * most every fsync interval (and always on close), so after a crash at
+ * most the last interval's units are redone. A restarted run of the same
+ * job skips every unit already in the journal, i.e. resumes from the first
+ * incomplete one; a finished job ends with an END record and the next run
+ * starts a fresh journal.
+ *
+ * Failed documents stay in the retry list until a retry run records them
+ * as FIXED.
+ *
+ * Stored as ".kprint-journal" in the output directory, one tab-separated
+ * record per line.
+ */
+public class PrintJournal implements Closeable {
+
+    static final String FILE_NAME = ".kprint-journal";
+
+    private static final String JOB = "JOB";
+    private static final String DONE = "DONE";
+    private static final String FAIL = "FAIL";
+    private static final String FIXED = "FIXED";
+    private static final String END = "END";
+
+    private final Path file;
+    private final long fsyncIntervalMillis;
+    private final Set<String> completed = new HashSet<>();
+    private final Set<String> failures = new LinkedHashSet<>();
+    private String jobKey;
+    private boolean ended;
+    private boolean resumed;
+    private FileChannel channel;
+    private long lastSync;
+    // Length of the journal up to its last complete record
+    private long validLength;
+
+    private PrintJournal(Path file, long fsyncIntervalMillis) {
+        this.file = file;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+    }
+
+    /**
+     * Reads the journal of an output directory (empty if there is none)
+     */
+    public static PrintJournal open(String outputDir, long fsyncIntervalMillis) throws IOException {
+        PrintJournal journal = new PrintJournal(Paths.get(outputDir, FILE_NAME), fsyncIntervalMillis);
+        journal.read();
+        return journal;
+    }
+
+    private void read() throws IOException {
+        if (!Files.exists(file)) {
+            return;
+        }
+        byte[] content = Files.readAllBytes(file);
+        // Only newline-terminated records count: a torn last line (crash
+        // mid-write) could otherwise read as a different, shorter unit key
+        int end = content.length;
+        while (end > 0 && content[end - 1] != '\n') {
+            end--;
+        }
+        validLength = end;
+        String[] lines = end == 0 ? new String[0]
+            : new String(content, 0, end - 1, StandardCharsets.UTF_8).split("\n");
+        for (String line : lines) {
+            String[] fields = line.split("\t");
+            switch (fields[0]) {
+                case JOB:
+                    if (fields.length == 2) {
+                        jobKey = fields[1];
+                    }
+                    break;
+                case DONE:
+                    if (fields.length == 2) {
+                        completed.add(fields[1]);
+                    }
+                    break;
+                case FAIL:
+                    if (fields.length == 3) {
+                        failures.add(fields[2]);
+                    }
+                    break;
+                case FIXED:
+                    if (fields.length == 3) {
+                        failures.remove(fields[2]);
+                    }
+                    break;
+                case END:
+                    ended = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Starts (or resumes) a print job; an unfinished journal of the same job
+     * is continued, anything else is replaced by a fresh journal
+     */
+    public void begin(String jobKey) throws IOException {
+        resumed = jobKey.equals(this.jobKey) && !ended;
+        if (!resumed) {
+            completed.clear();
+            failures.clear();
+            this.jobKey = jobKey;
+            ended = false;
+            Files.createDirectories(file.getParent());
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+            append(JOB + "\t" + jobKey);
+            sync();
+        } else {
+            openForAppend();
+        }
+    }
+
+    /**
+     * Reopens the journal to record retries of failed documents; whether the
+     * job had ended is kept, see {@link #finishRetry()}
+     */
+    public void beginRetry() throws IOException {
+        openForAppend();
+    }
+
+    private void openForAppend() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        // Drop a torn last line so it is never completed by the next record
+        channel.truncate(validLength);
+        channel.position(validLength);
+    }
+
+    public boolean isResumed() {
+        return resumed;
+    }
+
+    public int getCompletedCount() {
+        return completed.size();
+    }
+
+    public boolean isComplete(String unit) {
+        return completed.contains(unit);
+    }
+
+    /**
+     * Records a finished unit and the documents in it that failed
+     */
+    public void completed(String unit, PrintResult result) throws IOException {
+        for (String failed : result.getFailed()) {
+            append(FAIL + "\t" + unit + "\t" + failed);
+            failures.add(failed);
+        }
+        append(DONE + "\t" + unit);
+        completed.add(unit);
+        maybeSync();
+    }
+
+    /**
+     * Records a previously failed document that has now been rendered
+     */
+    public void fixed(String unit, String path) throws IOException {
+        append(FIXED + "\t" + unit + "\t" + path);
+        failures.remove(path);
+        maybeSync();
+    }
+
+    /**
+     * Output paths that failed and were not fixed yet
+     */
+    public Set<String> getFailures() {
+        return Collections.unmodifiableSet(failures);
+    }
+
+    public boolean isEnded() {
+        return ended;
+    }
+
+    /**
+     * Marks the job as finished
+     */
+    public void finish() throws IOException {
+        append(END);
+        ended = true;
+        sync();
+    }
+
+    /**
+     * Closes a retry: a finished job is marked finished again after the
+     * FIXED records; an interrupted one stays open so the next print run
+     * still resumes it instead of starting over
+     */
+    public void finishRetry() throws IOException {
+        if (ended) {
+            append(END);
+        }
+        sync();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            sync();
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void append(String record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((record + "\n").getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void maybeSync() throws IOException {
+        if (System.currentTimeMillis() - lastSync >= fsyncIntervalMillis) {
+            sync();
+        }
+    }
+
+    private void sync() throws IOException {
+        channel.force(false);
+        lastSync = System.currentTimeMillis();
+    }
+}
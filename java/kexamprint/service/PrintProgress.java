@@ -0,0 +1,82 @@
+package kexamprint.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import kexamprint.util.ResourceLoader;
+
+/**
+ * Periodic one-line progress of a print run, in place of per-document
+ * console output
+ *
+ * Logs at most once per log.progress.interval.ms, plus a final line.
+ */
+public class PrintProgress {
+
+    private static final Logger log = LogManager.getLogger(PrintProgress.class);
+
+    private final String label;
+    private final int total;
+    private final long intervalNanos;
+    private final long startNanos = System.nanoTime();
+    private long nextReportNanos;
+
+    private int printed;
+    private int reused;
+    private int skipped;
+    private int failed;
+
+    public PrintProgress(String label, int total) {
+        this.label = label;
+        this.total = total;
+        this.intervalNanos = ResourceLoader.getConfigInt("log.progress.interval.ms", 5000) * 1_000_000L;
+        this.nextReportNanos = startNanos + intervalNanos;
+    }
+
+    /**
+     * Counts a printed batch
+     */
+    public synchronized void add(PrintResult result) {
+        printed += result.getPrinted();
+        reused += result.getReused();
+        failed += result.getFailedCount();
+        reportIfDue();
+    }
+
+    /**
+     * Counts documents that were not handed to the printer (journaled as
+     * complete, or not part of a retry)
+     */
+    public synchronized void skipped(int count) {
+        skipped += count;
+        reportIfDue();
+    }
+
+    /**
+     * Logs the final line
+     */
+    public synchronized void finish() {
+        report(System.nanoTime());
+    }
+
+    private void reportIfDue() {
+        long now = System.nanoTime();
+        if (now - nextReportNanos >= 0) {
+            nextReportNanos = now + intervalNanos;
+            report(now);
+        }
+    }
+
+    private void report(long now) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        int done = printed + reused + skipped + failed;
+        double seconds = (now - startNanos) / 1e9;
+        double rate = seconds > 0 ? printed / seconds : 0;
+        String eta = done < total && rate > 0 ? String.format(", ETA %.0fs", (total - done) / rate) : "";
+        log.info(String.format("%s: %d/%d (%.0f%%) - %d printed, %d reused, %d skipped, %d failed, %.1f/s%s",
+            label, done, total, total > 0 ? 100.0 * done / total : 100.0, printed, reused, skipped, failed,
+            rate, eta));
+    }
+}
@@ -0,0 +1,46 @@
+package kexamprint.service;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of printing a batch of papers or forms
+ */
+public class PrintResult {
+    private int printed;
+    private int reused;
+    private final List<String> failed = new ArrayList<>();
+
+    void printed() {
+        printed++;
+    }
+
+    void reused() {
+        reused++;
+    }
+
+    void failed(String folder, String file) {
+        failed.add(new File(folder, file).getPath());
+    }
+
+    public int getPrinted() {
+        return printed;
+    }
+
+    public int getReused() {
+        return reused;
+    }
+
+    public int getFailedCount() {
+        return failed.size();
+    }
+
+    /**
+     * Output paths (folder/file) of the documents that failed to render
+     */
+    public List<String> getFailed() {
+        return Collections.unmodifiableList(failed);
+    }
+}
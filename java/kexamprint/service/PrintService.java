@@ -5,12 +5,26 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import kexamprint.RecurringPageDocument;
+import kexamprint.metrics.Metrics;
+import kexamprint.metrics.PrintLocation;
 import kexamprint.model.ExamPaperData;
 import kexamprint.model.SignatureFormData;
 import kexamprint.model.StudentSeatInfo;
+import kexamprint.output.OutputSink;
+import kexamprint.printer.DirectExamPaperPrinter;
+import kexamprint.printer.DirectSignatureFormPrinter;
+import kexamprint.printer.ExamPaperHeaderTemplate;
 import kexamprint.printer.ExamPaperPrinter;
+import kexamprint.printer.QuestionMasterPages;
 import kexamprint.printer.SignatureFormPrinter;
+import kexamprint.render.RenderBackend;
+import kexamprint.util.RenderContext;
 import kexamprint.util.ResourceLoader;
 
 /**
@@ -18,94 +32,246 @@ import kexamprint.util.ResourceLoader;
  */
 public class PrintService {
 
+    private static final Logger log = LogManager.getLogger(PrintService.class);
+
     private final String baseOutputDir;
+    private final RenderContext renderContext;
+    private final boolean useHeaderTemplates;
+
+    // "layout" = iText Document/PdfPTable layout, "direct" = content-stream printers
+    private final String renderEngine;
+
+    // Canvas backend of the direct printers (render.backend: itext or pdfbox)
+    private final RenderBackend renderBackend;
+
+    // Static header per room session, built once and reused for every seat
+    private final Map<String, ExamPaperHeaderTemplate> headerTemplates = new ConcurrentHashMap<>();
+
+    // One master page per distinct question image, or null if disabled
+    private final QuestionMasterPages masterPages;
+
+    // Where rendered PDFs go (output.sink: atomic, file or memory)
+    private final OutputSink outputSink;
+
+    private boolean retainCaches;
+
+    /**
+     * Create PrintService with custom output directory and label language
+     */
+    public PrintService(String baseOutputDir, RenderContext renderContext) {
+        this.baseOutputDir = baseOutputDir;
+        this.renderContext = renderContext;
+        this.useHeaderTemplates = Boolean.parseBoolean(
+            ResourceLoader.getConfig("pdf.header.template", "false"));
+        this.renderEngine = ResourceLoader.getConfig("render.engine", "layout");
+        this.renderBackend = RenderBackend.fromConfig();
+        this.masterPages = Boolean.parseBoolean(ResourceLoader.getConfig("pdf.master.pages", "false"))
+            ? new QuestionMasterPages() : null;
+        this.outputSink = OutputSink.fromConfig();
+    }
 
     /**
      * Create PrintService with custom output directory
      */
     public PrintService(String baseOutputDir) {
-        this.baseOutputDir = baseOutputDir;
+        this(baseOutputDir, RenderContext.current());
     }
 
     /**
      * Create PrintService with default output directory from config
      */
     public PrintService() {
-        this.baseOutputDir = ResourceLoader.getOutputBaseDir();
+        this(ResourceLoader.getOutputBaseDir());
+    }
+
+    public RenderContext getRenderContext() {
+        return renderContext;
+    }
+
+    public OutputSink getOutputSink() {
+        return outputSink;
+    }
+
+    /**
+     * Settings that change the rendered PDFs, for the build manifest hash
+     */
+    public String getRenderSettings() {
+        return renderEngine + "|" + renderBackend.getName() + "|" + renderContext.getLanguage();
     }
 
     /**
      * Print a single exam paper
      */
     public void printExamPaper(ExamPaperData paperData) throws Exception {
+        long start = System.nanoTime();
         // Set output folder if not already set
         if (paperData.getOutputFolder() == null) {
             String folder = buildExamPaperFolder(paperData);
             paperData.setOutputFolder(folder);
         }
 
-        ExamPaperPrinter printer = new ExamPaperPrinter(paperData);
-        printer.render();
+        RecurringPageDocument printer;
+        if ("direct".equals(renderEngine)) {
+            printer = new DirectExamPaperPrinter(paperData, renderContext, renderBackend);
+        } else {
+            printer = new ExamPaperPrinter(paperData, renderContext,
+                getHeaderTemplate(paperData), masterPages);
+        }
+        PrintLocation.set(paperData.getRoomNumber(), paperData.getExamDate() + " " + paperData.getTimeSlot(),
+            paperData.getSeatNumber());
+        try {
+            printer.render(outputSink);
+        } finally {
+            PrintLocation.clear();
+        }
+        Metrics.rendered("exam_paper", renderEngine, start);
+    }
+
+    /**
+     * Get (or build) the shared header template for the paper's session
+     */
+    private ExamPaperHeaderTemplate getHeaderTemplate(ExamPaperData paperData) throws Exception {
+        if (!useHeaderTemplates) {
+            return null;
+        }
+        String key = paperData.getSessionHeaderKey();
+        ExamPaperHeaderTemplate template = headerTemplates.get(key);
+        if (template == null) {
+            template = ExamPaperHeaderTemplate.build(paperData);
+            headerTemplates.put(key, template);
+        }
+        return template;
     }
 
     /**
      * Print multiple exam papers
      */
-    public void printExamPapers(List<ExamPaperData> papers) {
-        int successCount = 0;
-        int failCount = 0;
+    public PrintResult printExamPapers(List<ExamPaperData> papers) {
+        return printExamPapers(papers, null);
+    }
+
+    /**
+     * Print multiple exam papers, skipping those the manifest reports as up to date
+     */
+    public PrintResult printExamPapers(List<ExamPaperData> papers, BuildManifest manifest) {
+        PrintResult result = new PrintResult();
 
         for (ExamPaperData paper : papers) {
             try {
+                if (paper.getOutputFolder() == null) {
+                    paper.setOutputFolder(buildExamPaperFolder(paper));
+                }
+                String hash = manifest != null ? manifest.hash(paper) : null;
+                if (hash != null && manifest.isUpToDate(paper.getOutputFolder(), paper.getFileName(), hash)) {
+                    result.reused();
+                    continue;
+                }
                 printExamPaper(paper);
-                successCount++;
+                if (hash != null) {
+                    manifest.recordBuilt(paper.getOutputFolder(), paper.getFileName(), hash);
+                }
+                result.printed();
             } catch (Exception e) {
-                failCount++;
-                System.err.println("Failed to print exam paper for seat " +
-                    paper.getSeatNumber() + " in room " + paper.getRoomNumber());
-                e.printStackTrace();
+                result.failed(paper.getOutputFolder(), paper.getFileName());
+                log.error("Failed to print exam paper for seat {} in room {}",
+                    paper.getSeatNumber(), paper.getRoomNumber(), e);
             }
         }
 
-        System.out.println(String.format("Exam Papers: %d printed, %d failed",
-            successCount, failCount));
+        log.debug("Exam Papers: {} printed, {} reused, {} failed",
+            result.getPrinted(), result.getReused(), result.getFailedCount());
+        if (masterPages != null) {
+            log.debug("Question master pages: {} for {} papers", masterPages.size(), papers.size());
+        }
+
+        // Templates and master pages are only shared within one batch
+        if (!retainCaches) {
+            clearCaches();
+        }
+        return result;
+    }
+
+    /**
+     * Keep header templates and master pages from one batch to the next
+     * (daemon mode, where the data does not change between requests)
+     */
+    public void setRetainCaches(boolean retainCaches) {
+        this.retainCaches = retainCaches;
+    }
+
+    /**
+     * Drops the header templates and master pages
+     */
+    public void clearCaches() {
+        headerTemplates.clear();
+        if (masterPages != null) {
+            masterPages.clear();
+        }
     }
 
     /**
      * Print a signature form
      */
     public void printSignatureForm(SignatureFormData formData) throws Exception {
+        long start = System.nanoTime();
         // Set output folder if not already set
         if (formData.getOutputFolder() == null) {
             String folder = buildSignatureFormFolder(formData);
             formData.setOutputFolder(folder);
         }
 
-        SignatureFormPrinter printer = new SignatureFormPrinter(formData);
-        printer.render();
+        RecurringPageDocument printer;
+        if ("direct".equals(renderEngine)) {
+            printer = new DirectSignatureFormPrinter(formData, renderContext, renderBackend);
+        } else {
+            printer = new SignatureFormPrinter(formData, renderContext);
+        }
+        PrintLocation.set(formData.getRoomNumber(), formData.getExamDate() + " " + formData.getTimeSlot(), null);
+        try {
+            printer.render(outputSink);
+        } finally {
+            PrintLocation.clear();
+        }
+        Metrics.rendered("signature_form", renderEngine, start);
     }
 
     /**
      * Print multiple signature forms
      */
-    public void printSignatureForms(List<SignatureFormData> forms) {
-        int successCount = 0;
-        int failCount = 0;
+    public PrintResult printSignatureForms(List<SignatureFormData> forms) {
+        return printSignatureForms(forms, null);
+    }
+
+    /**
+     * Print multiple signature forms, skipping those the manifest reports as up to date
+     */
+    public PrintResult printSignatureForms(List<SignatureFormData> forms, BuildManifest manifest) {
+        PrintResult result = new PrintResult();
 
         for (SignatureFormData form : forms) {
             try {
+                if (form.getOutputFolder() == null) {
+                    form.setOutputFolder(buildSignatureFormFolder(form));
+                }
+                String hash = manifest != null ? manifest.hash(form) : null;
+                if (hash != null && manifest.isUpToDate(form.getOutputFolder(), form.getFileName(), hash)) {
+                    result.reused();
+                    continue;
+                }
                 printSignatureForm(form);
-                successCount++;
+                if (hash != null) {
+                    manifest.recordBuilt(form.getOutputFolder(), form.getFileName(), hash);
+                }
+                result.printed();
             } catch (Exception e) {
-                failCount++;
-                System.err.println("Failed to print signature form for room " +
-                    form.getRoomNumber());
-                e.printStackTrace();
+                result.failed(form.getOutputFolder(), form.getFileName());
+                log.error("Failed to print signature form for room {}", form.getRoomNumber(), e);
             }
         }
 
-        System.out.println(String.format("Signature Forms: %d printed, %d failed",
-            successCount, failCount));
+        log.debug("Signature Forms: {} printed, {} reused, {} failed",
+            result.getPrinted(), result.getReused(), result.getFailedCount());
+        return result;
     }
 
     /**
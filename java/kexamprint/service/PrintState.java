@@ -0,0 +1,240 @@
+package kexamprint.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import kexamprint.model.ExamPaperData;
+import kexamprint.model.SignatureFormData;
+import kexamprint.model.StudentSeatInfo;
+import kexamprint.model.WrittenExamAnnouncement;
+
+/**
+ * Fingerprints of what a day's last print run was made from, for delta
+ * printing
+ *
+ * A paper is keyed by its placement id and fingerprinted with its output
+ * hash ({@link BuildManifest#hash(ExamPaperData)}), so announcement columns
+ * the paper does not print (student name, disability flag...) never make it
+ * "changed"; a signature form (one room session group) is fingerprinted from
+ * its header and student set. Both also cover the render settings and
+ * {@link BuildManifest#TEMPLATE_VERSION}. Comparing a new state with the
+ * saved one tells which papers moved or were removed and which forms to
+ * print again.
+ *
+ * Stored as ".kprint-state" in the day directory, one tab-separated line
+ * per paper (placement id) and per form.
+ */
+public class PrintState {
+
+    static final String FILE_NAME = ".kprint-state";
+
+    private final Path root;
+    private final String settings;
+    private final BuildManifest manifest;
+    private final Map<Integer, Paper> papers = new LinkedHashMap<>();
+    private final Map<String, Form> forms = new LinkedHashMap<>();
+
+    /**
+     * A printed exam paper
+     */
+    public static class Paper {
+        private final int placementId;
+        private final String fingerprint;
+        private final String room;
+        private final String time;
+        private final Integer seat;
+        private final Integer studentId;
+        private final String folder;
+        private final String file;
+
+        Paper(int placementId, String fingerprint, String room, String time, Integer seat, Integer studentId,
+              String folder, String file) {
+            this.placementId = placementId;
+            this.fingerprint = fingerprint;
+            this.room = room;
+            this.time = time;
+            this.seat = seat;
+            this.studentId = studentId;
+            this.folder = folder;
+            this.file = file;
+        }
+
+        public int getPlacementId() { return placementId; }
+        public String getFingerprint() { return fingerprint; }
+        public String getRoom() { return room; }
+        /** Session start time, HH:mm */
+        public String getTime() { return time; }
+        public Integer getSeat() { return seat; }
+        public Integer getStudentId() { return studentId; }
+        /** Output folder, relative to the day directory */
+        public String getFolder() { return folder; }
+        public String getFile() { return file; }
+
+        public boolean isSameFile(Paper other) {
+            return folder.equals(other.folder) && file.equals(other.file);
+        }
+    }
+
+    /**
+     * A printed signature form
+     */
+    public static class Form {
+        private final String fingerprint;
+        private final String room;
+        private final String time;
+        private final String folder;
+        private final String file;
+
+        Form(String fingerprint, String room, String time, String folder, String file) {
+            this.fingerprint = fingerprint;
+            this.room = room;
+            this.time = time;
+            this.folder = folder;
+            this.file = file;
+        }
+
+        public String getFingerprint() { return fingerprint; }
+        public String getRoom() { return room; }
+        /** Session start time, HH:mm (empty for oral exams) */
+        public String getTime() { return time; }
+        /** Output folder, relative to the day directory */
+        public String getFolder() { return folder; }
+        public String getFile() { return file; }
+    }
+
+    /**
+     * @param dayDir   day directory the papers and forms are printed into
+     * @param settings render settings that change the output (see
+     *                 PrintService.getRenderSettings)
+     * @param manifest the run's manifest, which hashes the papers' output
+     *                 (null for a state that is only loaded)
+     */
+    public PrintState(String dayDir, String settings, BuildManifest manifest) {
+        this.root = Paths.get(dayDir).toAbsolutePath().normalize();
+        this.settings = settings;
+        this.manifest = manifest;
+    }
+
+    /**
+     * Records a paper of this run
+     */
+    public Paper addPaper(WrittenExamAnnouncement announcement, ExamPaperData paper) throws IOException {
+        Paper entry = new Paper(announcement.getId(), manifest.hash(paper), announcement.getRoom(),
+            String.valueOf(announcement.getStartTime()), announcement.getSeatNo(), announcement.getStudentId(),
+            relative(paper.getOutputFolder()), paper.getFileName());
+        papers.put(entry.placementId, entry);
+        return entry;
+    }
+
+    /**
+     * Records a signature form of this run
+     */
+    public Form addForm(SignatureFormData form) {
+        MessageDigest digest = BuildManifest.newDigest();
+        BuildManifest.update(digest, "form", settings, form.getExamName(), form.getBuilding(),
+            form.getRoomNumber(), String.valueOf(form.getExamDate()), form.getDayOfWeekUz(),
+            form.getTimeSlot(), String.valueOf(form.isOralExam()));
+        for (StudentSeatInfo student : form.getStudents()) {
+            BuildManifest.update(digest, String.valueOf(student.getSeatNumber()), student.getStudentId(),
+                student.getStudentName(), student.getStudentSurname(), student.getGroupCode());
+        }
+        String timeSlot = form.getTimeSlot() != null ? form.getTimeSlot() : "";
+        int dash = timeSlot.indexOf('-');
+        Form entry = new Form(BuildManifest.hex(digest.digest()), form.getRoomNumber(),
+            dash > 0 ? timeSlot.substring(0, dash) : timeSlot, relative(form.getOutputFolder()), form.getFileName());
+        forms.put(entry.folder + "/" + entry.file, entry);
+        return entry;
+    }
+
+    private String relative(String folder) {
+        return root.relativize(Paths.get(folder).toAbsolutePath().normalize()).toString();
+    }
+
+    public boolean isEmpty() {
+        return papers.isEmpty() && forms.isEmpty();
+    }
+
+    public Paper getPaper(int placementId) {
+        return papers.get(placementId);
+    }
+
+    /**
+     * @param folder output folder as the form data has it (not relative)
+     */
+    public Form getForm(String folder, String file) {
+        return forms.get(relative(folder) + "/" + file);
+    }
+
+    /**
+     * True if this state has a form at the other state's form's file
+     */
+    public boolean hasFormFile(Form form) {
+        return forms.containsKey(form.folder + "/" + form.file);
+    }
+
+    public Collection<Paper> getPapers() {
+        return papers.values();
+    }
+
+    public Collection<Form> getForms() {
+        return forms.values();
+    }
+
+    /**
+     * Loads a day directory's state (empty if it was never printed)
+     */
+    public static PrintState load(String dayDir, String settings) throws IOException {
+        PrintState state = new PrintState(dayDir, settings, null);
+        Path file = state.root.resolve(FILE_NAME);
+        if (!Files.exists(file)) {
+            return state;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] f = line.split("\t", -1);
+                if (f.length == 9 && "paper".equals(f[0])) {
+                    Paper paper = new Paper(Integer.parseInt(f[1]), f[2], f[3], f[4], integer(f[5]),
+                        integer(f[6]), f[7], f[8]);
+                    state.papers.put(paper.placementId, paper);
+                } else if (f.length == 6 && "form".equals(f[0])) {
+                    state.forms.put(f[4] + "/" + f[5], new Form(f[1], f[2], f[3], f[4], f[5]));
+                }
+            }
+        }
+        return state;
+    }
+
+    private static Integer integer(String value) {
+        return "null".equals(value) ? null : Integer.valueOf(value);
+    }
+
+    /**
+     * Writes the state into the day directory (temp file + rename)
+     */
+    public void save() throws IOException {
+        Files.createDirectories(root);
+        Path temp = root.resolve(FILE_NAME + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Paper p : papers.values()) {
+                writer.write("paper\t" + p.placementId + "\t" + p.fingerprint + "\t" + p.room + "\t" + p.time
+                    + "\t" + p.seat + "\t" + p.studentId + "\t" + p.folder + "\t" + p.file + "\n");
+            }
+            for (Form f : forms.values()) {
+                writer.write("form\t" + f.fingerprint + "\t" + f.room + "\t" + f.time + "\t" + f.folder
+                    + "\t" + f.file + "\n");
+            }
+        }
+        Files.move(temp, root.resolve(FILE_NAME), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
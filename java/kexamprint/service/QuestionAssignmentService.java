@@ -1,5 +1,7 @@
 package kexamprint.service;
 
+import kexamprint.metrics.AssignSessionEvent;
+import kexamprint.metrics.PrintLocation;
 import kexamprint.model.*;
 import kexamprint.util.ResourceLoader;
 
@@ -37,19 +39,29 @@ public class QuestionAssignmentService {
             throw new IllegalArgumentException("No questions available");
         }
 
-        // Get unique question IDs
-        List<String> uniqueQuestionIds = getUniqueQuestionIds(availableQuestions);
-        int totalQuestions = uniqueQuestionIds.size();
-        int studentCount = announcements.size();
-
-        // Determine how many questions to use (apply reserve logic)
-        int questionsToUse = calculateQuestionsToUse(totalQuestions, studentCount);
-
-        // Select questions to use (first N questions)
-        List<String> questionsPool = uniqueQuestionIds.subList(0, questionsToUse);
-
-        // Assign questions using round-robin
-        return assignQuestionsRoundRobin(announcements, questionsPool);
+        AssignSessionEvent event = new AssignSessionEvent();
+        event.begin();
+        WrittenExamAnnouncement first = announcements.get(0);
+        PrintLocation.set(first.getRoom(), first.getSessionKey(), null);
+        try {
+            // Get unique question IDs
+            List<String> uniqueQuestionIds = getUniqueQuestionIds(availableQuestions);
+            int totalQuestions = uniqueQuestionIds.size();
+            int studentCount = announcements.size();
+
+            // Determine how many questions to use (apply reserve logic)
+            int questionsToUse = calculateQuestionsToUse(totalQuestions, studentCount);
+
+            // Select questions to use (first N questions)
+            List<String> questionsPool = uniqueQuestionIds.subList(0, questionsToUse);
+
+            // Assign questions using round-robin
+            List<QuestionAssignment> assignments = assignQuestionsRoundRobin(announcements, questionsPool);
+            event.end(studentCount, questionsToUse);
+            return assignments;
+        } finally {
+            PrintLocation.clear();
+        }
     }
 
     /**
@@ -0,0 +1,205 @@
+package kexamprint.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import kexamprint.model.ExamPaperData;
+import kexamprint.model.QuestionAssignment;
+import kexamprint.model.WrittenExamAnnouncement;
+
+/**
+ * Lookup from a seat, student or paper code to the inputs and output file
+ * of an exam paper, for reprinting single seats and room sessions
+ *
+ * Print runs write one ".kprint-index" per day directory (one tab-separated
+ * line per paper). An entry holds the keys of the paper's inputs (session
+ * key and placement id, which select the announcement and assignment rows)
+ * and where the PDF is. Every paper is its own PDF, so the page offset
+ * of a paper in its file is always 0.
+ */
+public class ReprintIndex {
+
+    static final String FILE_NAME = ".kprint-index";
+
+    private final Map<String, Entry> bySeat = new HashMap<>();
+    private final Map<String, List<Entry>> bySession = new LinkedHashMap<>();
+    private final Map<Integer, List<Entry>> byStudent = new HashMap<>();
+    private final Map<Long, Entry> byPaperCode = new HashMap<>();
+
+    /**
+     * One exam paper
+     */
+    public static class Entry {
+        private final int day;
+        private final String room;
+        private final String time;
+        private final Integer seat;
+        private final Integer studentId;
+        private final Long paperCode;
+        private final Integer placementId;
+        private final String sessionKey;
+        private final String folder;
+        private final String file;
+
+        Entry(int day, String room, String time, Integer seat, Integer studentId, Long paperCode,
+              Integer placementId, String sessionKey, String folder, String file) {
+            this.day = day;
+            this.room = room;
+            this.time = time;
+            this.seat = seat;
+            this.studentId = studentId;
+            this.paperCode = paperCode;
+            this.placementId = placementId;
+            this.sessionKey = sessionKey;
+            this.folder = folder;
+            this.file = file;
+        }
+
+        public int getDay() { return day; }
+        public String getRoom() { return room; }
+        /** Session start time, HH:mm */
+        public String getTime() { return time; }
+        public Integer getSeat() { return seat; }
+        public Integer getStudentId() { return studentId; }
+        public Long getPaperCode() { return paperCode; }
+        public Integer getPlacementId() { return placementId; }
+        public String getSessionKey() { return sessionKey; }
+        public String getFolder() { return folder; }
+        public String getFile() { return file; }
+
+        /** Page of the paper inside its PDF (0: one paper per file) */
+        public int getPageOffset() { return 0; }
+
+        @Override
+        public String toString() {
+            return "day " + day + ", room " + room + ", " + time + ", seat " + seat + ", student " + studentId
+                + ", paper code " + paperCode + " -> " + Paths.get(folder, file);
+        }
+    }
+
+    /**
+     * Writes the index of a day's papers into the day directory
+     */
+    public static void write(String dayDir, int day, List<ExamPaperData> papers,
+                             Map<Integer, WrittenExamAnnouncement> paperIdToAnnouncement,
+                             Map<Integer, QuestionAssignment> assignmentsByAnnouncementId) throws IOException {
+        Path dir = Paths.get(dayDir);
+        Files.createDirectories(dir);
+        Path temp = dir.resolve(FILE_NAME + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < papers.size(); i++) {
+                ExamPaperData paper = papers.get(i);
+                WrittenExamAnnouncement announcement = paperIdToAnnouncement.get(i);
+                QuestionAssignment assignment = assignmentsByAnnouncementId.get(announcement.getId());
+                writer.write(day + "\t" + announcement.getRoom() + "\t" + announcement.getStartTime()
+                    + "\t" + announcement.getSeatNo() + "\t" + announcement.getStudentId()
+                    + "\t" + (assignment != null ? assignment.getPaperCode() : null)
+                    + "\t" + announcement.getId() + "\t" + announcement.getSessionKey()
+                    + "\t" + paper.getOutputFolder() + "\t" + paper.getFileName() + "\n");
+            }
+        }
+        Files.move(temp, dir.resolve(FILE_NAME), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads the indexes of all day directories in an output directory
+     */
+    public static ReprintIndex load(String outputDir) throws IOException {
+        ReprintIndex index = new ReprintIndex();
+        Path base = Paths.get(outputDir);
+        if (!Files.isDirectory(base)) {
+            return index;
+        }
+        try (DirectoryStream<Path> days = Files.newDirectoryStream(base, "day-*")) {
+            for (Path day : days) {
+                Path file = day.resolve(FILE_NAME);
+                if (Files.exists(file)) {
+                    index.read(file);
+                }
+            }
+        }
+        return index;
+    }
+
+    private void read(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] f = line.split("\t", -1);
+                if (f.length != 10) {
+                    continue;
+                }
+                add(new Entry(Integer.parseInt(f[0]), f[1], f[2], integer(f[3]), integer(f[4]),
+                    "null".equals(f[5]) ? null : Long.valueOf(f[5]), integer(f[6]), f[7], f[8], f[9]));
+            }
+        }
+    }
+
+    private static Integer integer(String value) {
+        return "null".equals(value) ? null : Integer.valueOf(value);
+    }
+
+    private void add(Entry entry) {
+        bySeat.put(seatKey(entry.day, entry.room, entry.time, entry.seat), entry);
+        bySession.computeIfAbsent(sessionKey(entry.day, entry.room, entry.time), k -> new ArrayList<>()).add(entry);
+        if (entry.studentId != null) {
+            byStudent.computeIfAbsent(entry.studentId, k -> new ArrayList<>()).add(entry);
+        }
+        if (entry.paperCode != null) {
+            byPaperCode.put(entry.paperCode, entry);
+        }
+    }
+
+    private static String sessionKey(int day, String room, String time) {
+        return day + "|" + room + "|" + time;
+    }
+
+    private static String seatKey(int day, String room, String time, Integer seat) {
+        return sessionKey(day, room, time) + "|" + seat;
+    }
+
+    public int size() {
+        return bySeat.size();
+    }
+
+    /**
+     * The paper of one seat, or null
+     */
+    public Entry findSeat(int day, String room, String time, int seat) {
+        return bySeat.get(seatKey(day, room, time, seat));
+    }
+
+    /**
+     * All papers of a room session, by seat order of the print run
+     */
+    public List<Entry> findSession(int day, String room, String time) {
+        return bySession.getOrDefault(sessionKey(day, room, time), Collections.emptyList());
+    }
+
+    /**
+     * All papers of a student (one per exam)
+     */
+    public List<Entry> findStudent(int studentId) {
+        return byStudent.getOrDefault(studentId, Collections.emptyList());
+    }
+
+    /**
+     * The paper with a paper code, or null
+     */
+    public Entry findPaperCode(long paperCode) {
+        return byPaperCode.get(paperCode);
+    }
+}
@@ -0,0 +1,20 @@
+package kexamprint.util;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+
+/**
+ * Logging setup (appenders are in log4j2.xml)
+ */
+public final class Logging {
+
+    private Logging() {
+    }
+
+    /**
+     * Applies log.level from config.properties to the kexamprint loggers
+     */
+    public static void configure() {
+        Configurator.setLevel("kexamprint", Level.toLevel(ResourceLoader.getConfig("log.level", "INFO"), Level.INFO));
+    }
+}
@@ -0,0 +1,63 @@
+package kexamprint.util;
+
+/**
+ * Immutable context for a single render: carries the label language explicitly
+ * so that concurrent renders in different languages cannot interfere.
+ */
+public final class RenderContext {
+
+    private final TextResources.Labels labels;
+
+    private RenderContext(TextResources.Labels labels) {
+        this.labels = labels;
+    }
+
+    /**
+     * Context for a specific language (unsupported languages fall back to Uzbek)
+     */
+    public static RenderContext of(String lang) {
+        return new RenderContext(TextResources.labels(lang));
+    }
+
+    /**
+     * Context for the process-wide default language
+     */
+    public static RenderContext current() {
+        return of(TextResources.getLanguage());
+    }
+
+    public String getLanguage() {
+        return labels.getLanguage();
+    }
+
+    /**
+     * Get label for this context's language
+     */
+    public String get(String key) {
+        return labels.get(key);
+    }
+
+    public String getExamEvaluatorLabel() {
+        return get("exam.evaluator.label");
+    }
+
+    public String getRetakePrefix() {
+        return get("exam.retake.prefix");
+    }
+
+    public String getExternalPrefix() {
+        return get("exam.external.prefix");
+    }
+
+    public String getSignatureFormTitle() {
+        return get("signature.form.title");
+    }
+
+    public String getSupervisorLabel() {
+        return get("signature.supervisor.label");
+    }
+
+    public String getRoomLabel() {
+        return get("signature.room.label");
+    }
+}
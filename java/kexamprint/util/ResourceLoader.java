@@ -2,15 +2,20 @@ package kexamprint.util;
 
 import java.io.InputStream;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 /**
  * Utility class for loading resources from the classpath (res directory)
+ *
+ * Configuration is published as an immutable snapshot; reload() swaps the
+ * whole snapshot atomically so readers never see a half-loaded config.
  */
 public class ResourceLoader {
 
     private static final String CONFIG_PATH = "/kexamprint/config.properties";
-    private static Properties config;
+    private static volatile Map<String, String> config;
 
     static {
         loadConfig();
@@ -20,51 +25,57 @@ public class ResourceLoader {
      * Load configuration from resources
      */
     private static void loadConfig() {
-        config = new Properties();
+        Properties props = new Properties();
         try (InputStream is = ResourceLoader.class.getResourceAsStream(CONFIG_PATH)) {
             if (is == null) {
                 System.err.println("WARNING: Configuration file not found: " + CONFIG_PATH);
-                loadDefaults();
+                loadDefaults(props);
             } else {
-                config.load(is);
+                props.load(is);
             }
         } catch (IOException e) {
             System.err.println("ERROR: Failed to load configuration: " + e.getMessage());
-            loadDefaults();
+            loadDefaults(props);
         }
+
+        Map<String, String> snapshot = new HashMap<>();
+        for (String key : props.stringPropertyNames()) {
+            snapshot.put(key, props.getProperty(key));
+        }
+        config = Map.copyOf(snapshot);
     }
 
     /**
      * Load default configuration values
      */
-    private static void loadDefaults() {
-        config.setProperty("output.base.dir", "output");
-        config.setProperty("exam.images.dir", "linked/images");
-        config.setProperty("exam.written.name", "1-Oraliq nazorati");
-        config.setProperty("exam.oral.name", "2-Oraliq nazorati");
-        config.setProperty("exam.type.drawing", "drawing");
-        config.setProperty("exam.type.written", "normal");
+    private static void loadDefaults(Properties props) {
+        props.setProperty("output.base.dir", "output");
+        props.setProperty("exam.images.dir", "linked/images");
+        props.setProperty("exam.written.name", "1-Oraliq nazorati");
+        props.setProperty("exam.oral.name", "2-Oraliq nazorati");
+        props.setProperty("exam.type.drawing", "drawing");
+        props.setProperty("exam.type.written", "normal");
     }
 
     /**
      * Get configuration property
      */
     public static String getConfig(String key) {
-        return config.getProperty(key);
+        return config.get(key);
     }
 
     /**
      * Get configuration property with default value
      */
     public static String getConfig(String key, String defaultValue) {
-        return config.getProperty(key, defaultValue);
+        return config.getOrDefault(key, defaultValue);
     }
 
     /**
      * Get integer configuration property
      */
     public static int getConfigInt(String key, int defaultValue) {
-        String value = config.getProperty(key);
+        String value = config.get(key);
         if (value == null) {
             return defaultValue;
         }
@@ -2,27 +2,35 @@ package kexamprint.util;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 /**
  * Utility class for loading text resources (labels, messages) from properties files
+ *
+ * Labels are loaded once into immutable per-language snapshots, so lookups are
+ * lock-free and can be shared by concurrent renders. Code that renders in a
+ * specific language should pass a {@link RenderContext} instead of relying on
+ * the process-wide default language.
  */
 public class TextResources {
 
-    private static Properties uzbek;
-    private static Properties english;
-    private static String currentLanguage = "uz";
+    public static final String UZBEK = "uz";
+    public static final String ENGLISH = "en";
 
-    static {
-        loadResources();
-    }
+    private static final Map<String, Labels> SNAPSHOTS;
+    private static volatile String currentLanguage = UZBEK;
 
-    private static void loadResources() {
-        uzbek = loadLanguage("uz");
-        english = loadLanguage("en");
+    static {
+        Map<String, Labels> snapshots = new HashMap<>();
+        snapshots.put(UZBEK, loadLanguage(UZBEK));
+        snapshots.put(ENGLISH, loadLanguage(ENGLISH));
+        SNAPSHOTS = Collections.unmodifiableMap(snapshots);
     }
 
-    private static Properties loadLanguage(String lang) {
+    private static Labels loadLanguage(String lang) {
         Properties props = new Properties();
         String path = "/kexamprint/text/labels_" + lang + ".properties";
 
@@ -37,27 +45,41 @@ public class TextResources {
             e.printStackTrace();
         }
 
-        return props;
+        return new Labels(lang, props);
+    }
+
+    /**
+     * Get the immutable label snapshot for a language (falls back to Uzbek)
+     */
+    public static Labels labels(String lang) {
+        return ENGLISH.equals(lang) ? SNAPSHOTS.get(ENGLISH) : SNAPSHOTS.get(UZBEK);
+    }
+
+    /**
+     * Check if a language has its own label file
+     */
+    public static boolean isSupported(String lang) {
+        return SNAPSHOTS.containsKey(lang);
     }
 
     /**
-     * Set current language
+     * Set the default language used when no render context is given
      */
     public static void setLanguage(String lang) {
-        if ("uz".equals(lang) || "en".equals(lang)) {
+        if (isSupported(lang)) {
             currentLanguage = lang;
         }
     }
 
     /**
-     * Get current language
+     * Get the default language
      */
     public static String getLanguage() {
         return currentLanguage;
     }
 
     /**
-     * Get text for current language
+     * Get text for the default language
      */
     public static String get(String key) {
         return get(key, currentLanguage);
@@ -67,16 +89,14 @@ public class TextResources {
      * Get text for specific language
      */
     public static String get(String key, String lang) {
-        Properties props = "en".equals(lang) ? english : uzbek;
-        return props.getProperty(key, key);
+        return labels(lang).get(key);
     }
 
     /**
      * Get text with default value
      */
     public static String get(String key, String defaultValue, String lang) {
-        Properties props = "en".equals(lang) ? english : uzbek;
-        return props.getProperty(key, defaultValue);
+        return labels(lang).get(key, defaultValue);
     }
 
     // Convenience methods for common labels
@@ -104,4 +124,36 @@ public class TextResources {
     public static String getRoomLabel() {
         return get("signature.room.label");
     }
+
+    /**
+     * Immutable label snapshot for one language
+     */
+    public static final class Labels {
+        private final String language;
+        private final Map<String, String> values;
+
+        private Labels(String language, Properties props) {
+            Map<String, String> copy = new HashMap<>();
+            for (String key : props.stringPropertyNames()) {
+                copy.put(key, props.getProperty(key));
+            }
+            this.language = language;
+            this.values = Map.copyOf(copy);
+        }
+
+        public String getLanguage() {
+            return language;
+        }
+
+        /**
+         * Get label, or the key itself if missing
+         */
+        public String get(String key) {
+            return values.getOrDefault(key, key);
+        }
+
+        public String get(String key, String defaultValue) {
+            return values.getOrDefault(key, defaultValue);
+        }
+    }
 }
@@ -0,0 +1,12 @@
+-- Announcement reads: the full written load orders by (day, session_key,
+-- seat_no), reprints read one session ordered by seat, oral exams are
+-- read per day
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS written_exam_announcements_day_session_seat_idx
+    ON kexam.written_exam_announcements (day, session_key, seat_no);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS written_exam_announcements_session_seat_idx
+    ON kexam.written_exam_announcements (session_key, seat_no);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS oral_exam_announcements_day_idx
+    ON kexam.oral_exam_announcements (day);
@@ -0,0 +1,8 @@
+-- Assignment lookups by placement (single and = ANY batches) and by
+-- session ordered by placement
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS question_assignments_placement_idx
+    ON kexamprint.question_assignments (placement_id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS question_assignments_session_placement_idx
+    ON kexamprint.question_assignments (session_key, placement_id);
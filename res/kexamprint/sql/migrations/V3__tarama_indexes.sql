@@ -0,0 +1,5 @@
+-- Question lookups by exam code and curriculum language (single pair and
+-- the unnest join of scheduled pairs); real_id is what assignments keep
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tarama_derskodu_dersdili_real_id_idx
+    ON vg12526.tarama (derskodu, dersdili, real_id);
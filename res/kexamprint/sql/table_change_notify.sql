@@ -0,0 +1,35 @@
+-- Table change notifications for the repository cache (repository.cache=true)
+--
+-- Every statement that changes one of the tables the repositories read
+-- sends NOTIFY kexamprint_table_changed with 'schema.table' as payload;
+-- TableChangeMonitor listens on that channel and invalidates the cached
+-- queries of that table. Tables without the trigger are polled instead.
+
+CREATE SCHEMA IF NOT EXISTS kexamprint;
+
+CREATE OR REPLACE FUNCTION kexamprint.notify_table_changed() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('kexamprint_table_changed', TG_TABLE_SCHEMA || '.' || TG_TABLE_NAME);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS kexamprint_notify_change ON kexam.written_exam_announcements;
+CREATE TRIGGER kexamprint_notify_change
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON kexam.written_exam_announcements
+    FOR EACH STATEMENT EXECUTE FUNCTION kexamprint.notify_table_changed();
+
+DROP TRIGGER IF EXISTS kexamprint_notify_change ON kexam.oral_exam_announcements;
+CREATE TRIGGER kexamprint_notify_change
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON kexam.oral_exam_announcements
+    FOR EACH STATEMENT EXECUTE FUNCTION kexamprint.notify_table_changed();
+
+DROP TRIGGER IF EXISTS kexamprint_notify_change ON vg12526.tarama;
+CREATE TRIGGER kexamprint_notify_change
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON vg12526.tarama
+    FOR EACH STATEMENT EXECUTE FUNCTION kexamprint.notify_table_changed();
+
+DROP TRIGGER IF EXISTS kexamprint_notify_change ON kexamprint.question_assignments;
+CREATE TRIGGER kexamprint_notify_change
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON kexamprint.question_assignments
+    FOR EACH STATEMENT EXECUTE FUNCTION kexamprint.notify_table_changed();